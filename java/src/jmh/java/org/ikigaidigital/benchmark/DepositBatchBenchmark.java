@@ -0,0 +1,63 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-based calculator against the columnar batch kernel on the same book.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DepositBatchBenchmark {
+
+    @Param({"1000000"})
+    private int deposits;
+
+    private List<TimeDeposit> entities;
+    private DepositBatch batch;
+    private TimeDepositCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        entities = DepositFixtures.deposits(deposits);
+        batch = new DepositBatch(deposits);
+        for (TimeDeposit deposit : entities) {
+            batch.add(deposit.getId(), InterestRuleTable.DEFAULT.resolve(deposit.getPlanType()), deposit.getDays(),
+                    deposit.getBalanceCents());
+        }
+        calculator = new TimeDepositCalculator();
+    }
+
+    @Benchmark
+    public List<TimeDeposit> entities() {
+        calculator.updateBalance(entities);
+        return entities;
+    }
+
+    @Benchmark
+    public DepositBatch columnar() {
+        InterestEngine.applyMonthlyInterest(batch, InterestRuleTable.DEFAULT);
+        return batch;
+    }
+}
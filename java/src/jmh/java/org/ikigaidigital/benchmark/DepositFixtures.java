@@ -0,0 +1,58 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.domain.Withdrawal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic benchmark data with a realistic plan mix:
+ * 60% basic, 25% student and 15% premium, ages spread over two years.
+ */
+final class DepositFixtures {
+
+    private static final long SEED = 42L;
+
+    private DepositFixtures() {
+    }
+
+    static List<TimeDeposit> deposits(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<TimeDeposit> deposits = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            deposits.add(new TimeDeposit(id, planType(random), balance(random), 1 + random.nextInt(730)));
+        }
+        return deposits;
+    }
+
+    /**
+     * Zero to three withdrawals for the given deposit.
+     */
+    static List<Withdrawal> withdrawals(int depositId) {
+        SplittableRandom random = new SplittableRandom(SEED + depositId);
+        int count = random.nextInt(4);
+        List<Withdrawal> withdrawals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            withdrawals.add(new Withdrawal(depositId,
+                    BigDecimal.valueOf(1 + random.nextInt(100_000), 2),
+                    LocalDate.of(2024, 1, 1).plusDays(random.nextInt(365))));
+        }
+        return withdrawals;
+    }
+
+    private static String planType(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 60) {
+            return "basic";
+        }
+        return roll < 85 ? "student" : "premium";
+    }
+
+    private static double balance(SplittableRandom random) {
+        return (10_000 + random.nextInt(10_000_000)) / 100.0;
+    }
+}
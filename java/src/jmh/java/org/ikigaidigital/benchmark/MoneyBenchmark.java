@@ -0,0 +1,95 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly interest on boxed {@code Double} balances (the original
+ * {@code BigDecimal} rounding and the primitive double kernel) against long
+ * cent balances, raw and through the {@link TimeDeposit} entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MoneyBenchmark {
+
+    @Param({"1000000"})
+    private int deposits;
+
+    private InterestPlan[] plans;
+    private int[] days;
+    private Double[] boxedBalances;
+    private long[] balanceCents;
+    private List<TimeDeposit> entities;
+    private TimeDepositCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        entities = DepositFixtures.deposits(deposits);
+        plans = new InterestPlan[deposits];
+        days = new int[deposits];
+        boxedBalances = new Double[deposits];
+        balanceCents = new long[deposits];
+        for (int i = 0; i < deposits; i++) {
+            TimeDeposit deposit = entities.get(i);
+            plans[i] = InterestPlan.of(deposit.getPlanType());
+            days[i] = deposit.getDays();
+            boxedBalances[i] = deposit.getBalance();
+            balanceCents[i] = deposit.getBalanceCents();
+        }
+        calculator = new TimeDepositCalculator();
+    }
+
+    @Benchmark
+    public Double[] boxedDoubleBigDecimal() {
+        for (int i = 0; i < boxedBalances.length; i++) {
+            double interest = InterestEngine.monthlyInterest(plans[i], boxedBalances[i], days[i]);
+            boxedBalances[i] = boxedBalances[i]
+                    + new BigDecimal(interest).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+        return boxedBalances;
+    }
+
+    @Benchmark
+    public Double[] boxedDouble() {
+        for (int i = 0; i < boxedBalances.length; i++) {
+            boxedBalances[i] = InterestEngine.applyMonthlyInterest(plans[i], boxedBalances[i], days[i]);
+        }
+        return boxedBalances;
+    }
+
+    @Benchmark
+    public long[] cents() {
+        for (int i = 0; i < balanceCents.length; i++) {
+            balanceCents[i] = InterestEngine.applyMonthlyInterestCents(plans[i], balanceCents[i], days[i]);
+        }
+        return balanceCents;
+    }
+
+    @Benchmark
+    public List<TimeDeposit> entities() {
+        calculator.updateBalance(entities);
+        return entities;
+    }
+}
@@ -0,0 +1,101 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestProjection;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projecting the whole book {@code months} months ahead: one pass with
+ * {@link InterestProjection} against simulating the batch kernel month by
+ * month on an aged copy of the book.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ProjectionBenchmark {
+
+    @Param({"1000000"})
+    private int deposits;
+
+    @Param({"12", "60"})
+    private int months;
+
+    private InterestRuleTable rules;
+    private byte[] planCodes;
+    private int[] days;
+    private long[] balanceCents;
+    private long[] reached;
+    private DepositBatch batch;
+
+    @Setup
+    public void setUp() {
+        rules = InterestRuleTable.DEFAULT;
+        List<TimeDeposit> entities = DepositFixtures.deposits(deposits);
+        planCodes = new byte[deposits];
+        days = new int[deposits];
+        balanceCents = new long[deposits];
+        for (int i = 0; i < deposits; i++) {
+            TimeDeposit deposit = entities.get(i);
+            planCodes[i] = rules.code(deposit.getPlanType());
+            days[i] = deposit.getDays();
+            balanceCents[i] = deposit.getBalanceCents();
+        }
+        reached = new long[deposits];
+        batch = new DepositBatch(deposits);
+    }
+
+    @Benchmark
+    public DepositBatch projection() {
+        fill(0, balanceCents);
+        InterestProjection.project(batch, rules, months);
+        return batch;
+    }
+
+    @Benchmark
+    public DepositBatch monthByMonth() {
+        fill(0, balanceCents);
+        for (int month = 1; month < months; month++) {
+            InterestEngine.applyMonthlyInterest(batch, rules);
+            age(month);
+        }
+        InterestEngine.applyMonthlyInterest(batch, rules);
+        return batch;
+    }
+
+    private void fill(int month, long[] balances) {
+        batch.clear();
+        for (int i = 0; i < deposits; i++) {
+            batch.add(i, rules.plan(planCodes[i]), days[i] + month * InterestProjection.DAYS_PER_MONTH,
+                    balances[i]);
+        }
+    }
+
+    /**
+     * Rebuilds the batch one month older, keeping the balances reached so far.
+     */
+    private void age(int month) {
+        for (int i = 0; i < deposits; i++) {
+            reached[i] = batch.balanceCents(i);
+        }
+        fill(month, reached);
+    }
+}
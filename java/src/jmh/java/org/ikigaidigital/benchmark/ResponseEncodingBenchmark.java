@@ -0,0 +1,95 @@
+package org.ikigaidigital.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.ikigaidigital.adapter.web.TimeDepositResponseSerializer;
+import org.ikigaidigital.application.TimeDepositResponseMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding of a page of {@link TimeDepositResponse}s in every format the API
+ * negotiates: JSON through bean introspection, and JSON, CBOR and Smile
+ * through {@link TimeDepositResponseSerializer}, configured as Spring Boot
+ * configures its mappers. The raw and gzip sizes of each encoding are printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"1000"})
+    private int deposits;
+
+    @Param({"json-reflective", "json", "cbor", "smile"})
+    private String encoding;
+
+    private List<TimeDepositResponse> responses;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        responses = new ArrayList<>(deposits);
+        for (TimeDeposit deposit : DepositFixtures.deposits(deposits)) {
+            responses.add(TimeDepositResponseMapper.toResponse(deposit, DepositFixtures.withdrawals(deposit.getId())));
+        }
+        objectMapper = switch (encoding) {
+            case "json-reflective" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+            case "json" -> mapper(new JsonFactory());
+            case "cbor" -> mapper(new CBORFactory());
+            case "smile" -> mapper(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        };
+        byte[] encoded = serialize();
+        System.out.printf("%n%s: %d bytes, %d bytes gzipped%n", encoding, encoded.length, gzip(encoded).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(TimeDepositResponse.class, new TimeDepositResponseSerializer());
+        return Jackson2ObjectMapperBuilder.json().factory(factory).modulesToInstall(module)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
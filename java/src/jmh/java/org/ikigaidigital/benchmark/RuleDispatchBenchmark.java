@@ -0,0 +1,115 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of dispatching deposits to their plan rules as the number of plans grows.
+ *
+ * {@code ifChain} compares the plan type against each plan in turn, which is
+ * what the original nested {@code if}s become with more plans. The compiled
+ * rule table resolves a plan type with one hash lookup ({@code entities}) or
+ * not at all once codes are stored in a batch ({@code columnar}), so both
+ * should stay flat across {@code plans}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class RuleDispatchBenchmark {
+
+    @Param({"1000000"})
+    private int deposits;
+
+    @Param({"3", "16", "64", "127"})
+    private int plans;
+
+    private InterestRuleTable.Definition[] definitions;
+    private InterestRuleTable rules;
+    private List<TimeDeposit> entities;
+    private TimeDepositCalculator calculator;
+    private DepositBatch batch;
+    private String[] planTypes;
+    private int[] days;
+    private long[] balanceCents;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<InterestRuleTable.Definition> defined = new ArrayList<>(plans);
+        for (int i = 0; i < plans; i++) {
+            defined.add(new InterestRuleTable.Definition("plan-" + i, 0.005 + random.nextInt(100) / 1000.0,
+                    random.nextInt(60), 365 + random.nextInt(730),
+                    i % 3 == 0 ? InterestPlan.MONTHLY : 4));
+        }
+        definitions = defined.toArray(new InterestRuleTable.Definition[0]);
+        rules = InterestRuleTable.compile(1, defined);
+        calculator = new TimeDepositCalculator(rules);
+
+        entities = new ArrayList<>(deposits);
+        batch = new DepositBatch(deposits);
+        planTypes = new String[deposits];
+        days = new int[deposits];
+        balanceCents = new long[deposits];
+        for (int i = 0; i < deposits; i++) {
+            TimeDeposit deposit = new TimeDeposit(i + 1, "plan-" + random.nextInt(plans),
+                    (10_000 + random.nextInt(10_000_000)) / 100.0, 1 + random.nextInt(730));
+            entities.add(deposit);
+            batch.add(deposit.getId(), rules.resolve(deposit.getPlanType()), deposit.getDays(),
+                    deposit.getBalanceCents());
+            planTypes[i] = deposit.getPlanType();
+            days[i] = deposit.getDays();
+            balanceCents[i] = deposit.getBalanceCents();
+        }
+    }
+
+    @Benchmark
+    public long[] ifChain() {
+        for (int i = 0; i < balanceCents.length; i++) {
+            for (InterestRuleTable.Definition definition : definitions) {
+                if (planTypes[i].equals(definition.planType())) {
+                    if (days[i] > definition.minDays() && days[i] <= definition.maxDays()) {
+                        balanceCents[i] += InterestEngine.toCents(
+                                balanceCents[i] / 100.0 * definition.annualRate() / 12);
+                    }
+                    break;
+                }
+            }
+        }
+        return balanceCents;
+    }
+
+    @Benchmark
+    public List<TimeDeposit> entities() {
+        calculator.updateBalance(entities);
+        return entities;
+    }
+
+    @Benchmark
+    public DepositBatch columnar() {
+        InterestEngine.applyMonthlyInterest(batch, rules);
+        return batch;
+    }
+}
@@ -0,0 +1,49 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly interest over a whole book with {@link TimeDepositCalculator#updateBalance(List)}.
+ * Balances keep compounding across invocations, which does not change the work done.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TimeDepositCalculatorBenchmark {
+
+    @Param({"10000", "1000000", "10000000"})
+    private int deposits;
+
+    private List<TimeDeposit> book;
+    private TimeDepositCalculator calculator;
+
+    @Setup
+    public void setUp() {
+        book = DepositFixtures.deposits(deposits);
+        calculator = new TimeDepositCalculator();
+    }
+
+    @Benchmark
+    public List<TimeDeposit> updateBalance() {
+        calculator.updateBalance(book);
+        return book;
+    }
+}
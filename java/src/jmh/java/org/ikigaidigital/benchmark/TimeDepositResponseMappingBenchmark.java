@@ -0,0 +1,57 @@
+package org.ikigaidigital.benchmark;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.ikigaidigital.application.TimeDepositResponseMapper;
+import org.ikigaidigital.domain.Withdrawal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping as done by the listing endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeDepositResponseMappingBenchmark {
+
+    @Param({"1000"})
+    private int deposits;
+
+    private List<TimeDeposit> book;
+    private List<List<Withdrawal>> withdrawals;
+
+    @Setup
+    public void setUp() {
+        book = DepositFixtures.deposits(deposits);
+        withdrawals = new ArrayList<>(deposits);
+        for (TimeDeposit deposit : book) {
+            withdrawals.add(DepositFixtures.withdrawals(deposit.getId()));
+        }
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (int i = 0; i < book.size(); i++) {
+            TimeDepositResponse response = TimeDepositResponseMapper.toResponse(book.get(i), withdrawals.get(i));
+            blackhole.consume(response);
+        }
+    }
+}
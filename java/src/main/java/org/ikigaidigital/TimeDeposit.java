@@ -1,6 +1,9 @@
 package org.ikigaidigital;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.ikigaidigital.domain.Money;
+import org.ikigaidigital.domain.MoneyConverter;
 
 /**
  * Time deposit entity representing a customer's time deposit account.
@@ -9,9 +12,22 @@ import jakarta.persistence.*;
  * constructor was added as required by JPA specification. This is an additive
  * change that does not break existing consumers of this class - the original
  * constructor, fields, and methods remain unchanged.
+ *
+ * The balance is held as exact {@link Money} in whole cents and stored as
+ * {@code numeric(19,2)}. The {@code Double} constructor and accessors convert
+ * at the edge, rounding HALF_UP to cents; the calculator works on the cent
+ * accessors.
+ *
+ * The {@code version} column guards updates made through JPA against
+ * concurrent changes; interest runs and withdrawals apply atomic deltas to
+ * the balance in SQL and increment it.
+ *
+ * Filtered listings select ids by plan type and days range in id order; the
+ * {@code (planType, days, id)} index answers them from the index alone.
  */
 @Entity
-@Table(name = "timeDeposits")
+@Table(name = "timeDeposits",
+       indexes = @Index(name = "idx_time_deposits_plan_type_days", columnList = "planType, days, id"))
 public class TimeDeposit {
 
     @Id
@@ -20,12 +36,18 @@ public class TimeDeposit {
     @Column(nullable = false)
     private String planType;
 
-    @Column(nullable = false)
-    private Double balance;
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MoneyConverter.class)
+    private Money balance;
 
     @Column(nullable = false)
     private int days;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     /**
      * No-arg constructor required by JPA.
      */
@@ -35,7 +57,7 @@ public class TimeDeposit {
     public TimeDeposit(int id, String planType, Double balance, int days) {
         this.id = id;
         this.planType = planType;
-        this.balance = balance;
+        this.balance = balance == null ? null : Money.of(balance);
         this.days = days;
     }
 
@@ -46,7 +68,14 @@ public class TimeDeposit {
     }
 
     public Double getBalance() {
-        return balance;
+        return balance == null ? null : balance.toDouble();
+    }
+
+    /**
+     * Balance in whole cents.
+     */
+    public long getBalanceCents() {
+        return balance.cents();
     }
 
     public int getDays() {
@@ -54,6 +83,15 @@ public class TimeDeposit {
     }
 
     public void setBalance(Double balance) {
-        this.balance = balance;
+        this.balance = balance == null ? null : Money.of(balance);
+    }
+
+    /**
+     * Sets the balance in whole cents; an unchanged balance is left as is.
+     */
+    public void setBalanceCents(long cents) {
+        if (balance == null || balance.cents() != cents) {
+            balance = Money.ofCents(cents);
+        }
     }
 }
@@ -2,8 +2,12 @@ package org.ikigaidigital;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class TimeDepositApplication {
     public static void main(String[] args) {
         SpringApplication.run(TimeDepositApplication.class, args);
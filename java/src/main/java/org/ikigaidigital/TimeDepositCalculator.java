@@ -1,30 +1,31 @@
 package org.ikigaidigital;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+
 import java.util.List;
 
 public class TimeDepositCalculator {
-    public void updateBalance(List<TimeDeposit> xs) {
-        for (int i = 0; i < xs.size(); i++) {
-            double interest = 0;
 
-            if (xs.get(i).getDays() > 30) {
-                if (xs.get(i).getPlanType().equals("student")) {
-                    if (xs.get(i).getDays() < 366) {
-                        interest += xs.get(i).getBalance() * 0.03 / 12;
-                    }
-                } else if (xs.get(i).getPlanType().equals("premium")) {
-                    if (xs.get(i).getDays() > 45) {
-                        interest += xs.get(i).getBalance() * 0.05 / 12;
-                    }
-                } else if (xs.get(i).getPlanType().equals("basic")) {
-                    interest += xs.get(i).getBalance() * 0.01 / 12;
-                }
-            }
+    private final InterestRuleTable rules;
+
+    public TimeDepositCalculator() {
+        this(InterestRuleTable.DEFAULT);
+    }
 
-            double a2d = xs.get(i).getBalance() + (new BigDecimal(interest).setScale(2, RoundingMode.HALF_UP)).doubleValue();
-            xs.get(i).setBalance(a2d);
+    /**
+     * Calculates with a fixed rule table instead of {@link InterestRuleTable#DEFAULT}.
+     */
+    public TimeDepositCalculator(InterestRuleTable rules) {
+        this.rules = rules;
+    }
+
+    public void updateBalance(List<TimeDeposit> xs) {
+        for (TimeDeposit deposit : xs) {
+            InterestPlan plan = rules.resolve(deposit.getPlanType());
+            deposit.setBalanceCents(
+                    InterestEngine.applyMonthlyInterestCents(plan, deposit.getBalanceCents(), deposit.getDays()));
         }
     }
 }
@@ -0,0 +1,27 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+
+import java.time.Instant;
+
+/**
+ * A published entry of the balance change feed.
+ *
+ * @param position position in the feed; consecutive, starting at 1
+ * @param runId    interest run that credited the interest, null for other causes
+ * @param amount   the change applied to the balance, null for imports
+ * @param balance  the deposit's balance after the change
+ */
+public record BalanceChange(long position, int depositId, Cause cause, Long runId, Money amount, Money balance,
+                            Instant changedAt) {
+
+    public enum Cause {
+        INTEREST,
+        WITHDRAWAL,
+        /**
+         * The deposit was restored from a snapshot; deposits absent from the
+         * snapshot were removed.
+         */
+        IMPORT
+    }
+}
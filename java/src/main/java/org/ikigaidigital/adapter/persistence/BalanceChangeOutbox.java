@@ -0,0 +1,209 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The transactional outbox of balance changes in {@code balance_changes},
+ * created by the V8 migration, and the feed it is published to.
+ *
+ * Changes are recorded in the transaction that changes the balance, after the
+ * balance has been written, so each row carries the balance it produced and
+ * changes of the same deposit are inserted in the order they commit. Row ids
+ * of different transactions do not follow commit order, so a recorded change
+ * only becomes part of the feed once {@link #publish(int)} gives it the next
+ * position. Publishing and pruning must run in a transaction; concurrent
+ * relays skip a round instead of waiting for each other.
+ */
+@Repository
+public class BalanceChangeOutbox {
+
+    private static final String RECORD_INTEREST = """
+            INSERT INTO balance_changes (time_deposit_id, cause, run_id, amount, balance, changed_at)
+            SELECT t.id, 'INTEREST', ?, v.interest_cents / 100.0, t.balance, ?
+              FROM unnest(?::int[], ?::bigint[]) AS v(id, interest_cents)
+              JOIN time_deposits t ON t.id = v.id
+             WHERE v.interest_cents <> 0
+             ORDER BY t.id""";
+
+    private static final String RECORD_WITHDRAWAL = """
+            INSERT INTO balance_changes (time_deposit_id, cause, amount, balance, changed_at)
+            SELECT id, 'WITHDRAWAL', -?::bigint / 100.0, balance, ?
+              FROM time_deposits
+             WHERE id = ?""";
+
+    private static final String RECORD_IMPORT = """
+            INSERT INTO balance_changes (time_deposit_id, cause, balance, changed_at)
+            SELECT id, 'IMPORT', balance, ?
+              FROM time_deposits
+             ORDER BY id""";
+
+    private static final String LOCK_FEED = """
+            SELECT last_position, pruned_through
+              FROM balance_change_feed
+               FOR UPDATE SKIP LOCKED""";
+
+    /**
+     * Numbers the oldest unpublished changes visible to the statement, in id
+     * order, with the positions after the one bound first.
+     */
+    private static final String PUBLISH = """
+            UPDATE balance_changes c
+               SET position = u.position
+              FROM (SELECT id, ? + row_number() OVER (ORDER BY id) AS position
+                      FROM balance_changes
+                     WHERE position IS NULL
+                     ORDER BY id
+                     LIMIT ?) u
+             WHERE c.id = u.id""";
+
+    private static final String FIND_AFTER = """
+            SELECT position, time_deposit_id, cause, run_id, amount, balance, changed_at
+              FROM balance_changes
+             WHERE position > ?
+             ORDER BY position
+             LIMIT ?""";
+
+    private static final String ACKNOWLEDGE = """
+            INSERT INTO balance_change_consumers (consumer, acked_position, acked_at)
+            VALUES (?, ?, ?)
+                ON CONFLICT (consumer) DO UPDATE
+               SET acked_position = greatest(balance_change_consumers.acked_position, EXCLUDED.acked_position),
+                   acked_at = EXCLUDED.acked_at""";
+
+    private static final RowMapper<BalanceChange> ROW_MAPPER = (rs, rowNum) -> {
+        BigDecimal amount = rs.getBigDecimal("amount");
+        return new BalanceChange(
+                rs.getLong("position"),
+                rs.getInt("time_deposit_id"),
+                BalanceChange.Cause.valueOf(rs.getString("cause")),
+                rs.getObject("run_id", Long.class),
+                amount == null ? null : Money.of(amount),
+                Money.of(rs.getBigDecimal("balance")),
+                rs.getTimestamp("changed_at").toInstant());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceChangeOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records the interest (in cents) credited to the given deposits by a
+     * chunk whose balances have been written. Deposits credited nothing are
+     * left out.
+     */
+    public void recordInterest(Long runId, Instant changedAt, Integer[] depositIds, Long[] interestCents) {
+        if (depositIds.length == 0) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RECORD_INTEREST);
+            Array idArray = connection.createArrayOf("int4", depositIds);
+            Array interestArray = connection.createArrayOf("int8", interestCents);
+            statement.setLong(1, runId);
+            statement.setTimestamp(2, Timestamp.from(changedAt));
+            statement.setArray(3, idArray);
+            statement.setArray(4, interestArray);
+            return statement;
+        });
+    }
+
+    /**
+     * Records a withdrawal whose amount has been debited from the deposit.
+     */
+    public void recordWithdrawal(int depositId, long amountCents, Instant changedAt) {
+        jdbcTemplate.update(RECORD_WITHDRAWAL, amountCents, Timestamp.from(changedAt), depositId);
+    }
+
+    /**
+     * Records the balance of every deposit after the book has been replaced.
+     */
+    public void recordImport(Instant changedAt) {
+        jdbcTemplate.update(RECORD_IMPORT, Timestamp.from(changedAt));
+    }
+
+    /**
+     * Gives up to {@code limit} of the oldest committed, unpublished changes
+     * the next positions of the feed.
+     *
+     * @return the number of changes published, 0 if another relay holds the feed
+     */
+    public int publish(int limit) {
+        List<FeedState> locked = jdbcTemplate.query(LOCK_FEED, FeedState.ROW_MAPPER);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        int published = jdbcTemplate.update(PUBLISH, locked.get(0).lastPosition(), limit);
+        if (published > 0) {
+            jdbcTemplate.update("UPDATE balance_change_feed SET last_position = last_position + ?", published);
+        }
+        return published;
+    }
+
+    /**
+     * Deletes up to {@code limit} published changes that every consumer
+     * acknowledging since {@code activeSince} has acknowledged.
+     *
+     * @return the number of changes deleted, 0 if another relay holds the feed
+     */
+    public int prune(Instant activeSince, int limit) {
+        List<FeedState> locked = jdbcTemplate.query(LOCK_FEED, FeedState.ROW_MAPPER);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        Long acknowledged = jdbcTemplate.queryForObject(
+                "SELECT min(acked_position) FROM balance_change_consumers WHERE acked_at > ?",
+                Long.class, Timestamp.from(activeSince));
+        long from = locked.get(0).prunedThrough();
+        if (acknowledged == null || acknowledged <= from) {
+            return 0;
+        }
+        long through = Math.min(acknowledged, from + limit);
+        int pruned = jdbcTemplate.update(
+                "DELETE FROM balance_changes WHERE position > ? AND position <= ?", from, through);
+        jdbcTemplate.update("UPDATE balance_change_feed SET pruned_through = ?", through);
+        return pruned;
+    }
+
+    /**
+     * Published changes after {@code position}, by position.
+     */
+    public List<BalanceChange> findAfter(long position, int limit) {
+        return jdbcTemplate.query(FIND_AFTER, ROW_MAPPER, position, limit);
+    }
+
+    public FeedState findFeedState() {
+        return jdbcTemplate.queryForObject(
+                "SELECT last_position, pruned_through FROM balance_change_feed", FeedState.ROW_MAPPER);
+    }
+
+    /**
+     * Records that the consumer has processed the feed up to
+     * {@code position}. Positions lower than an earlier acknowledgement are
+     * ignored.
+     */
+    public void acknowledge(String consumer, long position, Instant acknowledgedAt) {
+        jdbcTemplate.update(ACKNOWLEDGE, consumer, position, Timestamp.from(acknowledgedAt));
+    }
+
+    /**
+     * Position of the latest published change, and the position up to which
+     * changes have been pruned.
+     */
+    public record FeedState(long lastPosition, long prunedThrough) {
+
+        private static final RowMapper<FeedState> ROW_MAPPER = (rs, rowNum) ->
+                new FeedState(rs.getLong("last_position"), rs.getLong("pruned_through"));
+    }
+}
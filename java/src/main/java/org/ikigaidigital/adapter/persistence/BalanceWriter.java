@@ -0,0 +1,25 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.TimeDeposit;
+
+import java.util.List;
+
+/**
+ * Persists the interest credited to a chunk of time deposits.
+ *
+ * The deposits are entities managed by the current persistence context, with
+ * their new balances set; {@code interestCents} holds the interest credited to
+ * each, by index. Writers must not lose a balance change committed by another
+ * transaction, such as a withdrawal, after the chunk was loaded: the SQL
+ * writers add the interest to the stored balance, and the JPA writer relies on
+ * the entity version. Implementations that write outside JPA detach the
+ * deposits, so Hibernate does not issue a second UPDATE for each one when the
+ * transaction flushes. Balances are written by the time {@code write} returns,
+ * so the chunk locks its deposits before the plan aggregates the accrual
+ * ledger updates, in the same order as withdrawals. The implementation is
+ * selected with {@code interest-run.balance-writer}.
+ */
+public interface BalanceWriter {
+
+    void write(List<TimeDeposit> deposits, Long[] interestCents);
+}
@@ -0,0 +1,115 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+
+/**
+ * Loads and writes time deposits as columnar {@link DepositBatch}es with plain
+ * JDBC, without creating entities.
+ */
+@Repository
+public class DepositBatchRepository {
+
+    private static final String SELECT_AFTER = """
+            SELECT t.id, t.plan_type, t.days, round(t.balance * 100)::bigint AS balance_cents
+              FROM time_deposits t
+             WHERE t.id > ? AND t.id <= ?
+               AND NOT EXISTS (SELECT 1
+                                 FROM interest_accruals a
+                                WHERE a.time_deposit_id = t.id AND a.period = ?)
+             ORDER BY t.id
+             LIMIT ?""";
+
+    private static final String SELECT_PAGE = """
+            SELECT t.id, t.plan_type, t.days, round(t.balance * 100)::bigint AS balance_cents
+              FROM time_deposits t
+             WHERE t.id > ?
+             ORDER BY t.id
+             LIMIT ?""";
+
+    /**
+     * The SET clause of every SQL balance writer: adds {@code v.interest_cents}
+     * to the balance of deposit {@code t} and increments its version, which
+     * the JPA writer and entity updates check.
+     */
+    static final String SET_INTEREST = "SET balance = t.balance + v.interest_cents / 100.0, version = t.version + 1";
+
+    private static final String ADD_INTEREST = """
+            UPDATE time_deposits t
+               %s
+              FROM unnest(?::int[], ?::bigint[]) AS v(id, interest_cents)
+             WHERE t.id = v.id AND v.interest_cents <> 0""".formatted(SET_INTEREST);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DepositBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Fills the batch with the next deposits ordered by id, starting after
+     * {@code afterId} and ending at {@code endId} inclusive, that have not
+     * accrued interest for {@code period} yet, up to the batch capacity. Plan
+     * types are resolved to codes of {@code rules}. The batch is cleared first.
+     */
+    public DepositBatch loadRange(int afterId, int endId, String period, InterestRuleTable rules,
+                                  DepositBatch batch) {
+        batch.clear();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_AFTER);
+            statement.setFetchSize(batch.capacity());
+            statement.setInt(1, afterId);
+            statement.setInt(2, endId);
+            statement.setString(3, period);
+            statement.setInt(4, batch.capacity());
+            return statement;
+        }, rs -> {
+            batch.add(rs.getInt(1), rules.resolve(rs.getString(2)), rs.getInt(3), rs.getLong(4));
+        });
+        return batch;
+    }
+
+    /**
+     * Fills the batch with the next deposits ordered by id, starting after
+     * {@code afterId}, up to the batch capacity. Plan types are resolved to
+     * codes of {@code rules}. The batch is cleared first.
+     */
+    public DepositBatch loadPage(int afterId, InterestRuleTable rules, DepositBatch batch) {
+        batch.clear();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_PAGE);
+            statement.setFetchSize(batch.capacity());
+            statement.setInt(1, afterId);
+            statement.setInt(2, batch.capacity());
+            return statement;
+        }, rs -> {
+            batch.add(rs.getInt(1), rules.resolve(rs.getString(2)), rs.getInt(3), rs.getLong(4));
+        });
+        return batch;
+    }
+
+    /**
+     * Adds the interest (in cents, by index) to the stored balances of the
+     * given deposits with a single UPDATE. Adding instead of overwriting keeps
+     * balance changes committed since the deposits were loaded. Deposits
+     * credited nothing are not written.
+     */
+    public void addInterest(Integer[] ids, Long[] interestCents) {
+        if (ids.length == 0) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(ADD_INTEREST);
+            Array idArray = connection.createArrayOf("int4", ids);
+            Array interestArray = connection.createArrayOf("int8", interestCents);
+            statement.setArray(1, idArray);
+            statement.setArray(2, interestArray);
+            return statement;
+        });
+    }
+}
@@ -0,0 +1,406 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestRuleTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped binary snapshot of the deposit book.
+ *
+ * A snapshot is a 64-byte header followed by a body of fixed-width columns,
+ * little-endian and each aligned to 8 bytes:
+ * <pre>
+ * header     magic "TDSNAP01", format version, plan type count, deposit count,
+ *            withdrawal count, creation time, body length, CRC32C of the body
+ * plan types length-prefixed UTF-8 strings; deposits refer to them by index
+ * deposits   id int[n], plan type index byte[n], days int[n], balance cents long[n]
+ * withdrawals id int[m], deposit id int[m], amount cents long[m], date (epoch day) int[m]
+ * </pre>
+ * Row {@code i} of a table is read at a fixed offset in every column, so a
+ * snapshot is read straight from the mapping without parsing. {@link #open}
+ * verifies the header and checksum before any row is read.
+ *
+ * A snapshot is written to a temporary file next to its path and moved over
+ * it atomically once complete, so a failed export leaves any previous
+ * snapshot of that name intact, and snapshots mapped by readers are never
+ * truncated under them.
+ */
+public final class DepositSnapshot {
+
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    /**
+     * Plan type indexes are stored in a byte.
+     */
+    static final int MAX_PLAN_TYPES = 256;
+
+    private static final byte[] MAGIC = "TDSNAP01".getBytes(StandardCharsets.US_ASCII);
+
+    private final MappedByteBuffer buffer;
+    private final Layout layout;
+    private final Instant createdAt;
+    private final long checksum;
+
+    private DepositSnapshot(MappedByteBuffer buffer, Layout layout, Instant createdAt, long checksum) {
+        this.buffer = buffer;
+        this.layout = layout;
+        this.createdAt = createdAt;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Maps a snapshot file read-only and verifies its header and checksum.
+     *
+     * @throws IllegalArgumentException if the file is not a valid snapshot
+     */
+    public static DepositSnapshot open(Path path) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a deposit snapshot: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + path, e);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IllegalArgumentException("Not a deposit snapshot: " + path);
+        }
+        int version = buffer.getInt(8);
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot format version " + version + ": " + path);
+        }
+        int planTypeCount = buffer.getInt(12);
+        long depositCount = buffer.getLong(16);
+        long withdrawalCount = buffer.getLong(24);
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong(32));
+        long bodyLength = buffer.getLong(40);
+        long checksum = buffer.getLong(48);
+        if (planTypeCount < 0 || planTypeCount > MAX_PLAN_TYPES
+                || depositCount < 0 || depositCount > Integer.MAX_VALUE
+                || withdrawalCount < 0 || withdrawalCount > Integer.MAX_VALUE
+                || bodyLength != buffer.capacity() - HEADER_SIZE) {
+            throw new IllegalArgumentException("Corrupt snapshot header: " + path);
+        }
+        if (crc(buffer, bodyLength) != checksum) {
+            throw new IllegalArgumentException("Snapshot checksum mismatch: " + path);
+        }
+
+        List<String> planTypes = new ArrayList<>(planTypeCount);
+        int offset = HEADER_SIZE;
+        for (int i = 0; i < planTypeCount; i++) {
+            byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort(offset))];
+            buffer.get(offset + 2, bytes);
+            planTypes.add(new String(bytes, StandardCharsets.UTF_8));
+            offset += 2 + bytes.length;
+        }
+        Layout layout = new Layout(planTypes, (int) depositCount, (int) withdrawalCount);
+        if (layout.size != buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupt snapshot layout: " + path);
+        }
+        return new DepositSnapshot(buffer, layout, createdAt, checksum);
+    }
+
+    /**
+     * Creates a temporary snapshot file of the given shape next to
+     * {@code path}, mapped read-write, to be filled row by row and moved to
+     * {@code path} by {@link Writer#finish()}. Closing the writer without
+     * finishing deletes the temporary file.
+     */
+    public static Writer create(Path path, List<String> planTypes, long depositCount, long withdrawalCount,
+                                Instant createdAt) {
+        if (planTypes.size() > MAX_PLAN_TYPES) {
+            throw new IllegalArgumentException("A snapshot holds at most " + MAX_PLAN_TYPES + " plan types");
+        }
+        Layout layout = new Layout(planTypes, Math.toIntExact(depositCount), Math.toIntExact(withdrawalCount));
+        if (layout.size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Snapshot would exceed 2 GiB: " + depositCount + " deposits, "
+                    + withdrawalCount + " withdrawals");
+        }
+        Path temporary = null;
+        MappedByteBuffer buffer;
+        try {
+            temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName() + ".", ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, layout.size);
+            }
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+            throw new UncheckedIOException("Cannot create snapshot " + path, e);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return new Writer(path, temporary, buffer, layout, createdAt);
+    }
+
+    public List<String> planTypes() {
+        return layout.planTypes;
+    }
+
+    public int depositCount() {
+        return layout.depositCount;
+    }
+
+    public int withdrawalCount() {
+        return layout.withdrawalCount;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    public long checksum() {
+        return checksum;
+    }
+
+    /**
+     * Size of the snapshot file in bytes.
+     */
+    public long size() {
+        return layout.size;
+    }
+
+    public int depositId(int row) {
+        return buffer.getInt(layout.depositIds + row * 4);
+    }
+
+    public int planTypeIndex(int row) {
+        return Byte.toUnsignedInt(buffer.get(layout.depositPlanTypes + row));
+    }
+
+    public int days(int row) {
+        return buffer.getInt(layout.depositDays + row * 4);
+    }
+
+    public long balanceCents(int row) {
+        return buffer.getLong(layout.depositBalances + row * 8);
+    }
+
+    public int withdrawalId(int row) {
+        return buffer.getInt(layout.withdrawalIds + row * 4);
+    }
+
+    public int withdrawalDepositId(int row) {
+        return buffer.getInt(layout.withdrawalDepositIds + row * 4);
+    }
+
+    public long withdrawalAmountCents(int row) {
+        return buffer.getLong(layout.withdrawalAmounts + row * 8);
+    }
+
+    public int withdrawalEpochDay(int row) {
+        return buffer.getInt(layout.withdrawalDates + row * 4);
+    }
+
+    /**
+     * Fills the batch with deposits starting at row {@code from}, up to the
+     * batch capacity, with plan types resolved against {@code rules} once per
+     * snapshot plan type. The batch is cleared first.
+     *
+     * @return the row after the last one added
+     */
+    public int fill(int from, InterestRuleTable rules, DepositBatch batch) {
+        byte[] codes = new byte[layout.planTypes.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = rules.code(layout.planTypes.get(i));
+        }
+        batch.clear();
+        int to = Math.min(layout.depositCount, from + batch.capacity());
+        for (int row = from; row < to; row++) {
+            batch.add(depositId(row), rules.plan(codes[planTypeIndex(row)]), days(row), balanceCents(row));
+        }
+        return to;
+    }
+
+    private static long crc(MappedByteBuffer buffer, long bodyLength) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_SIZE, (int) bodyLength));
+        return crc.getValue();
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // left behind; the next export of the same name does not reuse it
+            }
+        }
+    }
+
+    /**
+     * Fills a newly created snapshot. Rows must be written in order.
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path path;
+        private final Path temporary;
+        private final MappedByteBuffer buffer;
+        private final Layout layout;
+        private final Instant createdAt;
+        private int deposits;
+        private int withdrawals;
+        private boolean finished;
+
+        private Writer(Path path, Path temporary, MappedByteBuffer buffer, Layout layout, Instant createdAt) {
+            this.path = path;
+            this.temporary = temporary;
+            this.buffer = buffer;
+            this.layout = layout;
+            this.createdAt = createdAt;
+        }
+
+        public void addDeposit(int id, int planTypeIndex, int days, long balanceCents) {
+            if (deposits == layout.depositCount) {
+                throw new IllegalStateException("Snapshot already holds " + layout.depositCount + " deposits");
+            }
+            buffer.putInt(layout.depositIds + deposits * 4, id);
+            buffer.put(layout.depositPlanTypes + deposits, (byte) planTypeIndex);
+            buffer.putInt(layout.depositDays + deposits * 4, days);
+            buffer.putLong(layout.depositBalances + deposits * 8, balanceCents);
+            deposits++;
+        }
+
+        public void addWithdrawal(int id, int depositId, long amountCents, int epochDay) {
+            if (withdrawals == layout.withdrawalCount) {
+                throw new IllegalStateException("Snapshot already holds " + layout.withdrawalCount + " withdrawals");
+            }
+            buffer.putInt(layout.withdrawalIds + withdrawals * 4, id);
+            buffer.putInt(layout.withdrawalDepositIds + withdrawals * 4, depositId);
+            buffer.putLong(layout.withdrawalAmounts + withdrawals * 8, amountCents);
+            buffer.putInt(layout.withdrawalDates + withdrawals * 4, epochDay);
+            withdrawals++;
+        }
+
+        /**
+         * Writes the plan types and header, including the checksum, flushes
+         * the mapping to disk and moves the file to the snapshot's path,
+         * replacing any snapshot there.
+         *
+         * @return the checksum of the body
+         */
+        public long finish() {
+            if (deposits != layout.depositCount || withdrawals != layout.withdrawalCount) {
+                throw new IllegalStateException("Snapshot incomplete: " + deposits + "/" + layout.depositCount
+                        + " deposits, " + withdrawals + "/" + layout.withdrawalCount + " withdrawals");
+            }
+            int offset = HEADER_SIZE;
+            for (String planType : layout.planTypes) {
+                byte[] bytes = planType.getBytes(StandardCharsets.UTF_8);
+                buffer.putShort(offset, (short) bytes.length);
+                buffer.put(offset + 2, bytes);
+                offset += 2 + bytes.length;
+            }
+            long bodyLength = layout.size - HEADER_SIZE;
+            long checksum = crc(buffer, bodyLength);
+            buffer.put(0, MAGIC);
+            buffer.putInt(8, FORMAT_VERSION);
+            buffer.putInt(12, layout.planTypes.size());
+            buffer.putLong(16, layout.depositCount);
+            buffer.putLong(24, layout.withdrawalCount);
+            buffer.putLong(32, createdAt.toEpochMilli());
+            buffer.putLong(40, bodyLength);
+            buffer.putLong(48, checksum);
+            buffer.putLong(56, 0);
+            buffer.force();
+            try {
+                Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot replace snapshot " + path, e);
+            }
+            finished = true;
+            return checksum;
+        }
+
+        /**
+         * Deletes the temporary file unless the snapshot was finished.
+         */
+        @Override
+        public void close() {
+            if (!finished) {
+                deleteQuietly(temporary);
+            }
+        }
+    }
+
+    /**
+     * Column offsets of a snapshot with the given plan types and row counts.
+     */
+    private static final class Layout {
+
+        final List<String> planTypes;
+        final int depositCount;
+        final int withdrawalCount;
+        final int depositIds;
+        final int depositPlanTypes;
+        final int depositDays;
+        final int depositBalances;
+        final int withdrawalIds;
+        final int withdrawalDepositIds;
+        final int withdrawalAmounts;
+        final int withdrawalDates;
+        final long size;
+
+        Layout(List<String> planTypes, int depositCount, int withdrawalCount) {
+            this.planTypes = Collections.unmodifiableList(new ArrayList<>(planTypes));
+            this.depositCount = depositCount;
+            this.withdrawalCount = withdrawalCount;
+            long offset = HEADER_SIZE;
+            for (String planType : planTypes) {
+                int length = planType.getBytes(StandardCharsets.UTF_8).length;
+                if (length > 0xFFFF) {
+                    throw new IllegalArgumentException("Plan type too long: " + planType.substring(0, 32) + "...");
+                }
+                offset += 2 + length;
+            }
+            long next = align(offset);
+            this.depositIds = checked(next);
+            next = align(next + 4L * depositCount);
+            this.depositPlanTypes = checked(next);
+            next = align(next + depositCount);
+            this.depositDays = checked(next);
+            next = align(next + 4L * depositCount);
+            this.depositBalances = checked(next);
+            next = align(next + 8L * depositCount);
+            this.withdrawalIds = checked(next);
+            next = align(next + 4L * withdrawalCount);
+            this.withdrawalDepositIds = checked(next);
+            next = align(next + 4L * withdrawalCount);
+            this.withdrawalAmounts = checked(next);
+            next = align(next + 8L * withdrawalCount);
+            this.withdrawalDates = checked(next);
+            this.size = align(next + 4L * withdrawalCount);
+        }
+
+        private static long align(long offset) {
+            return (offset + 7) & ~7L;
+        }
+
+        /**
+         * Offsets past 2 GiB only occur for snapshots that {@link #create} rejects.
+         */
+        private static int checked(long offset) {
+            return (int) Math.min(offset, Integer.MAX_VALUE);
+        }
+    }
+}
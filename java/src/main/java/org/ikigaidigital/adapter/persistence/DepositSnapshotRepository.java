@@ -0,0 +1,348 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.CopyOut;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exports the deposit book to a {@link DepositSnapshot} and loads it back,
+ * streaming rows through PostgreSQL {@code COPY} in text format.
+ *
+ * Both directions must run inside a transaction: the export in a read-only,
+ * repeatable-read one, so counts and rows come from the same database
+ * snapshot, and the import in the transaction that replaces the book.
+ */
+@Repository
+public class DepositSnapshotRepository {
+
+    private static final String COPY_DEPOSITS_OUT = """
+            COPY (SELECT id, plan_type, days, round(balance * 100)::bigint
+                    FROM time_deposits ORDER BY id) TO STDOUT""";
+
+    private static final String COPY_WITHDRAWALS_OUT = """
+            COPY (SELECT id, time_deposit_id, round(amount * 100)::bigint, date - DATE '1970-01-01'
+                    FROM withdrawals ORDER BY id) TO STDOUT""";
+
+    private static final String COPY_DEPOSITS_IN = "COPY time_deposits (id, plan_type, days, balance) FROM STDIN";
+
+    private static final String COPY_WITHDRAWALS_IN =
+            "COPY withdrawals (id, time_deposit_id, amount, date) FROM STDIN";
+
+    /**
+     * Bytes of COPY data sent to the server per message.
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DepositSnapshotRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes every deposit and withdrawal to a new snapshot file, which
+     * replaces the file at {@code path} only once complete.
+     *
+     * @return the exported snapshot, mapped read-only
+     */
+    public DepositSnapshot export(Path path, Instant createdAt) {
+        List<String> planTypes = jdbcTemplate.queryForList(
+                "SELECT DISTINCT plan_type FROM time_deposits ORDER BY plan_type", String.class);
+        long deposits = jdbcTemplate.queryForObject("SELECT count(*) FROM time_deposits", Long.class);
+        long withdrawals = jdbcTemplate.queryForObject("SELECT count(*) FROM withdrawals", Long.class);
+
+        byte[][] planTypeBytes = new byte[planTypes.size()][];
+        for (int i = 0; i < planTypeBytes.length; i++) {
+            planTypeBytes[i] = CopyText.escape(planTypes.get(i));
+        }
+
+        try (DepositSnapshot.Writer writer = DepositSnapshot.create(path, planTypes, deposits, withdrawals,
+                createdAt)) {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                CopyManager copyManager = copyManager(connection);
+                copyOut(copyManager, COPY_DEPOSITS_OUT, row -> writer.addDeposit(
+                        row.intField(0), row.indexOf(1, planTypeBytes), row.intField(2), row.longField(3)));
+                copyOut(copyManager, COPY_WITHDRAWALS_OUT, row -> writer.addWithdrawal(
+                        row.intField(0), row.intField(1), row.longField(2), row.intField(3)));
+                return null;
+            });
+            writer.finish();
+        }
+        return DepositSnapshot.open(path);
+    }
+
+    /**
+     * Replaces every deposit and withdrawal with the contents of the snapshot.
+     * The accrual ledger and interest runs are kept.
+     */
+    public void importFrom(DepositSnapshot snapshot) {
+        jdbcTemplate.execute("TRUNCATE TABLE withdrawals, time_deposits");
+        byte[][] planTypeBytes = snapshot.planTypes().stream().map(CopyText::escape).toArray(byte[][]::new);
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            CopyManager copyManager = copyManager(connection);
+            copyIn(copyManager, COPY_DEPOSITS_IN, snapshot.depositCount(), (row, out) -> {
+                out.appendInt(snapshot.depositId(row)).tab()
+                        .append(planTypeBytes[snapshot.planTypeIndex(row)]).tab()
+                        .appendInt(snapshot.days(row)).tab()
+                        .appendCents(snapshot.balanceCents(row)).newline();
+            });
+            copyIn(copyManager, COPY_WITHDRAWALS_IN, snapshot.withdrawalCount(), (row, out) -> {
+                out.appendInt(snapshot.withdrawalId(row)).tab()
+                        .appendInt(snapshot.withdrawalDepositId(row)).tab()
+                        .appendCents(snapshot.withdrawalAmountCents(row)).tab()
+                        .appendDate(snapshot.withdrawalEpochDay(row)).newline();
+            });
+            return null;
+        });
+        // Rows were inserted with their ids, so move the identity past them
+        jdbcTemplate.execute("""
+                SELECT setval(pg_get_serial_sequence('withdrawals', 'id'), coalesce(max(id), 0) + 1, false)
+                  FROM withdrawals""");
+    }
+
+    private static CopyManager copyManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class).getCopyAPI();
+    }
+
+    private static void copyOut(CopyManager copyManager, String sql, RowHandler handler) throws SQLException {
+        CopyOut copy = copyManager.copyOut(sql);
+        try {
+            CopyText.Row row = new CopyText.Row();
+            byte[] data;
+            // The driver returns one row per call
+            while ((data = copy.readFromCopy()) != null) {
+                handler.handle(row.parse(data));
+            }
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private static void copyIn(CopyManager copyManager, String sql, int rows, RowWriter writer) throws SQLException {
+        CopyIn copy = copyManager.copyIn(sql);
+        try {
+            CopyText.Buffer out = new CopyText.Buffer(COPY_BUFFER_SIZE);
+            for (int row = 0; row < rows; row++) {
+                writer.write(row, out);
+                if (out.length() > COPY_BUFFER_SIZE - 256) {
+                    copy.writeToCopy(out.bytes(), 0, out.length());
+                    out.clear();
+                }
+            }
+            copy.writeToCopy(out.bytes(), 0, out.length());
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(CopyText.Row row);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(int row, CopyText.Buffer out);
+    }
+
+    /**
+     * Minimal reader and writer of PostgreSQL COPY text rows: tab-separated
+     * fields, one row per line, with backslash escapes in strings.
+     */
+    static final class CopyText {
+
+        private CopyText() {
+        }
+
+        static byte[] escape(String value) {
+            StringBuilder escaped = new StringBuilder(value.length());
+            for (char c : value.toCharArray()) {
+                switch (c) {
+                    case '\\' -> escaped.append("\\\\");
+                    case '\t' -> escaped.append("\\t");
+                    case '\n' -> escaped.append("\\n");
+                    case '\r' -> escaped.append("\\r");
+                    case '\b' -> escaped.append("\\b");
+                    case '\f' -> escaped.append("\\f");
+                    case '\u000B' -> escaped.append("\\v");
+                    default -> escaped.append(c);
+                }
+            }
+            return escaped.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * One parsed row; field boundaries are recorded without copying.
+         */
+        static final class Row {
+
+            private final List<int[]> fields = new ArrayList<>();
+            private byte[] data;
+            private int count;
+
+            Row parse(byte[] data) {
+                this.data = data;
+                this.count = 0;
+                int end = data.length > 0 && data[data.length - 1] == '\n' ? data.length - 1 : data.length;
+                int start = 0;
+                for (int i = 0; i <= end; i++) {
+                    if (i == end || data[i] == '\t') {
+                        if (count == fields.size()) {
+                            fields.add(new int[2]);
+                        }
+                        fields.get(count)[0] = start;
+                        fields.get(count)[1] = i;
+                        count++;
+                        start = i + 1;
+                    }
+                }
+                return this;
+            }
+
+            long longField(int field) {
+                int[] bounds = fields.get(field);
+                int i = bounds[0];
+                boolean negative = data[i] == '-';
+                if (negative) {
+                    i++;
+                }
+                long value = 0;
+                for (; i < bounds[1]; i++) {
+                    value = value * 10 + (data[i] - '0');
+                }
+                return negative ? -value : value;
+            }
+
+            int intField(int field) {
+                return Math.toIntExact(longField(field));
+            }
+
+            /**
+             * Index of the field's raw bytes in {@code candidates}.
+             */
+            int indexOf(int field, byte[][] candidates) {
+                int[] bounds = fields.get(field);
+                for (int i = 0; i < candidates.length; i++) {
+                    if (Arrays.equals(data, bounds[0], bounds[1], candidates[i], 0, candidates[i].length)) {
+                        return i;
+                    }
+                }
+                throw new IllegalStateException("Plan type changed during export");
+            }
+        }
+
+        /**
+         * Growable byte buffer of COPY rows.
+         */
+        static final class Buffer {
+
+            private byte[] bytes;
+            private int length;
+
+            Buffer(int capacity) {
+                this.bytes = new byte[capacity];
+            }
+
+            byte[] bytes() {
+                return bytes;
+            }
+
+            int length() {
+                return length;
+            }
+
+            void clear() {
+                length = 0;
+            }
+
+            Buffer append(byte[] value) {
+                ensure(value.length);
+                System.arraycopy(value, 0, bytes, length, value.length);
+                length += value.length;
+                return this;
+            }
+
+            Buffer appendInt(long value) {
+                ensure(20);
+                if (value < 0) {
+                    bytes[length++] = '-';
+                    value = -value;
+                }
+                int start = length;
+                do {
+                    bytes[length++] = (byte) ('0' + value % 10);
+                    value /= 10;
+                } while (value > 0);
+                reverse(start, length - 1);
+                return this;
+            }
+
+            /**
+             * Appends an amount in cents as a decimal with two places, e.g. {@code -12.05}.
+             */
+            Buffer appendCents(long cents) {
+                if (cents < 0) {
+                    ensure(1);
+                    bytes[length++] = '-';
+                    cents = -cents;
+                }
+                appendInt(cents / 100);
+                ensure(3);
+                bytes[length++] = '.';
+                bytes[length++] = (byte) ('0' + cents % 100 / 10);
+                bytes[length++] = (byte) ('0' + cents % 10);
+                return this;
+            }
+
+            Buffer appendDate(int epochDay) {
+                return append(LocalDate.ofEpochDay(epochDay).toString().getBytes(StandardCharsets.US_ASCII));
+            }
+
+            Buffer tab() {
+                ensure(1);
+                bytes[length++] = '\t';
+                return this;
+            }
+
+            Buffer newline() {
+                ensure(1);
+                bytes[length++] = '\n';
+                return this;
+            }
+
+            private void ensure(int extra) {
+                if (length + extra > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+                }
+            }
+
+            private void reverse(int from, int to) {
+                while (from < to) {
+                    byte b = bytes[from];
+                    bytes[from++] = bytes[to];
+                    bytes[to--] = b;
+                }
+            }
+        }
+    }
+}
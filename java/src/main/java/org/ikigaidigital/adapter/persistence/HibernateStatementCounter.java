@@ -0,0 +1,37 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Statements issued through JdbcTemplate are not seen.
+ */
+@Component
+public class HibernateStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public int count() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,95 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Appends interest accruals for a chunk of deposits with a single INSERT,
+ * which also adds the newly accrued interest to the balance and accrued
+ * interest of each plan in {@code plan_aggregates}. Plans are updated in
+ * plan type order, so chunks of parallel partitions never deadlock on them.
+ *
+ * The ledger allows one accrual per deposit and period. The chunk's balances
+ * are already credited when it is recorded, so a deposit that accrued in the
+ * meantime fails the INSERT, and with it the chunk's transaction, instead of
+ * being credited twice.
+ *
+ * A plan without an aggregate row yet gets one with its totals scanned from
+ * its deposits, whose balances already include the chunk's interest, and
+ * its earlier accruals plus the chunk's; the scan only runs for such plans.
+ * The chunk's own accruals are not visible to the rest of the statement, so
+ * its interest is always added from {@code credited}.
+ */
+@Repository
+public class InterestAccrualLedger {
+
+    private static final String INSERT_ACCRUALS = """
+            WITH accrued AS (
+                INSERT INTO interest_accruals (run_id, time_deposit_id, period, interest, accrued_at)
+                SELECT ?, v.id, ?, v.interest_cents / 100.0, ?
+                  FROM unnest(?::int[], ?::bigint[]) AS v(id, interest_cents)
+                RETURNING time_deposit_id, interest
+            ), credited AS (
+                SELECT d.plan_type, sum(a.interest) AS interest
+                  FROM accrued a
+                  JOIN time_deposits d ON d.id = a.time_deposit_id
+                 GROUP BY d.plan_type
+            ), scanned AS (
+                SELECT c.plan_type, s.deposit_count, s.balance, s.accrued_interest
+                  FROM credited c
+                 CROSS JOIN LATERAL (
+                       SELECT count(*) AS deposit_count, sum(d.balance) AS balance,
+                              (SELECT coalesce(sum(i.interest), 0)
+                                 FROM interest_accruals i
+                                 JOIN time_deposits t ON t.id = i.time_deposit_id
+                                WHERE t.plan_type = c.plan_type) AS accrued_interest
+                         FROM time_deposits d
+                        WHERE d.plan_type = c.plan_type) s
+                 WHERE NOT EXISTS (SELECT 1 FROM plan_aggregates p WHERE p.plan_type = c.plan_type)
+            )
+            INSERT INTO plan_aggregates AS p (plan_type, deposit_count, balance, accrued_interest)
+            SELECT c.plan_type, coalesce(s.deposit_count, 0), coalesce(s.balance, 0),
+                   coalesce(s.accrued_interest, 0) + c.interest
+              FROM credited c
+              LEFT JOIN scanned s ON s.plan_type = c.plan_type
+             ORDER BY c.plan_type
+                ON CONFLICT (plan_type) DO UPDATE
+               SET balance = p.balance + (SELECT c.interest FROM credited c WHERE c.plan_type = p.plan_type),
+                   accrued_interest = p.accrued_interest
+                                      + (SELECT c.interest FROM credited c WHERE c.plan_type = p.plan_type)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public InterestAccrualLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records that the given deposits accrued the given interest (in cents)
+     * for the period, and adds it to their plans' aggregates.
+     *
+     * @throws DuplicateKeyException if a deposit already accrued for the period
+     */
+    public void record(Long runId, String period, Instant accruedAt, Integer[] depositIds, Long[] interestCents) {
+        if (depositIds.length == 0) {
+            return;
+        }
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_ACCRUALS);
+            Array idArray = connection.createArrayOf("int4", depositIds);
+            Array interestArray = connection.createArrayOf("int8", interestCents);
+            statement.setLong(1, runId);
+            statement.setString(2, period);
+            statement.setTimestamp(3, Timestamp.from(accruedAt));
+            statement.setArray(4, idArray);
+            statement.setArray(5, interestArray);
+            return statement;
+        });
+    }
+}
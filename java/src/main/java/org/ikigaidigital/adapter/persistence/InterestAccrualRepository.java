@@ -0,0 +1,15 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.InterestAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, Long> {
+
+    List<InterestAccrual> findByTimeDepositIdOrderByPeriod(Integer timeDepositId);
+
+    long countByRunId(Long runId);
+}
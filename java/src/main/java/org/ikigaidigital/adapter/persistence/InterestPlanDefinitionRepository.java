@@ -0,0 +1,13 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.InterestPlanDefinition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InterestPlanDefinitionRepository extends JpaRepository<InterestPlanDefinition, String> {
+
+    List<InterestPlanDefinition> findAllByOrderByPlanType();
+}
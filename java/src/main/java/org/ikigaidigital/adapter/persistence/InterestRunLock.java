@@ -0,0 +1,112 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+
+/**
+ * Book-wide mutual exclusion for interest runs based on a PostgreSQL
+ * session-level advisory lock.
+ *
+ * The lock is held on a dedicated connection for as long as the returned
+ * {@link Lease} is open, so it also excludes runs started by other application
+ * instances, and it is released by the database if the holder dies.
+ */
+@Repository
+public class InterestRunLock {
+
+    /**
+     * Advisory lock key shared by every instance working on the same book.
+     */
+    static final long LOCK_KEY = 0x696E_7465_7265_7374L;
+
+    private final DataSource dataSource;
+
+    public InterestRunLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Acquires the lock without waiting.
+     *
+     * @return the held lock, or empty if another session holds it
+     */
+    public Optional<Lease> tryAcquire() {
+        Connection connection = null;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            if (execute(connection, "SELECT pg_try_advisory_lock(?)")) {
+                return Optional.of(new Lease(connection));
+            }
+            connection.close();
+            return Optional.empty();
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new DataAccessResourceFailureException("Could not acquire interest run lock", e);
+        }
+    }
+
+    private static boolean execute(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // the lock, if any, is released with the session
+        }
+    }
+
+    private static void abortQuietly(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException ignored) {
+            // nothing else can be done with a broken connection
+        }
+    }
+
+    /**
+     * A held interest run lock; closing it unlocks and returns the connection.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+        private boolean released;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            try {
+                execute(connection, "SELECT pg_advisory_unlock(?)");
+            } catch (SQLException e) {
+                // end the session so that the pool does not hand out a connection still holding the lock
+                abortQuietly(connection);
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+    }
+}
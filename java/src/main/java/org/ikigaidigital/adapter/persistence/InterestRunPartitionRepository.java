@@ -0,0 +1,20 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.InterestRun;
+import org.ikigaidigital.domain.InterestRunPartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InterestRunPartitionRepository extends JpaRepository<InterestRunPartition, Long> {
+
+    List<InterestRunPartition> findByRunIdOrderByPartitionIndex(Long runId);
+
+    List<InterestRunPartition> findByRunIdAndStatusOrderByPartitionIndex(Long runId, InterestRun.Status status);
+
+    @Query("select coalesce(sum(p.processedCount), 0) from InterestRunPartition p where p.runId = :runId")
+    long sumProcessedCountByRunId(Long runId);
+}
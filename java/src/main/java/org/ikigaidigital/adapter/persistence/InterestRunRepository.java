@@ -0,0 +1,13 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.InterestRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface InterestRunRepository extends JpaRepository<InterestRun, Long> {
+
+    Optional<InterestRun> findFirstByStatusOrderByIdDesc(InterestRun.Status status);
+}
@@ -0,0 +1,49 @@
+package org.ikigaidigital.adapter.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.ikigaidigital.TimeDeposit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the interest to the stored balances with a single JDBC batch of
+ * parameterised UPDATE statements. Interest is bound as whole cents, and
+ * deposits credited nothing are not written. This is the default writer.
+ */
+@Component
+@ConditionalOnProperty(name = "interest-run.balance-writer", havingValue = "jdbc-batch", matchIfMissing = true)
+public class JdbcBatchBalanceWriter implements BalanceWriter {
+
+    private static final String ADD_INTEREST = """
+            UPDATE time_deposits t
+               %s
+              FROM (VALUES (?::int, ?::bigint)) AS v(id, interest_cents)
+             WHERE t.id = v.id""".formatted(DepositBatchRepository.SET_INTEREST);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public JdbcBatchBalanceWriter(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void write(List<TimeDeposit> deposits, Long[] interestCents) {
+        deposits.forEach(entityManager::detach);
+        List<Integer> credited = new ArrayList<>(deposits.size());
+        for (int i = 0; i < interestCents.length; i++) {
+            if (interestCents[i] != 0) {
+                credited.add(i);
+            }
+        }
+        jdbcTemplate.batchUpdate(ADD_INTEREST, credited, credited.size(), (ps, index) -> {
+            ps.setInt(1, deposits.get(index).getId());
+            ps.setLong(2, interestCents[index]);
+        });
+    }
+}
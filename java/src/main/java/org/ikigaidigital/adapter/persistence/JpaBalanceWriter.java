@@ -0,0 +1,31 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.TimeDeposit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes balances through Hibernate dirty checking, one UPDATE per deposit
+ * (grouped into JDBC batches by {@code hibernate.jdbc.batch_size}). Each UPDATE
+ * checks the entity version, so a deposit changed concurrently fails the chunk
+ * with an optimistic locking exception and the runner retries it. The
+ * UPDATEs are flushed before {@code write} returns, like those of the SQL
+ * writers.
+ */
+@Component
+@ConditionalOnProperty(name = "interest-run.balance-writer", havingValue = "jpa")
+public class JpaBalanceWriter implements BalanceWriter {
+
+    private final TimeDepositRepository timeDepositRepository;
+
+    public JpaBalanceWriter(TimeDepositRepository timeDepositRepository) {
+        this.timeDepositRepository = timeDepositRepository;
+    }
+
+    @Override
+    public void write(List<TimeDeposit> deposits, Long[] interestCents) {
+        timeDepositRepository.saveAllAndFlush(deposits);
+    }
+}
@@ -0,0 +1,9 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+
+/**
+ * Deposit count, balance and accrued interest of all deposits of one plan type.
+ */
+public record PlanAggregate(String planType, long depositCount, Money balance, Money accruedInterest) {
+}
@@ -0,0 +1,104 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads and maintains the per-plan totals in {@code plan_aggregates}, created
+ * by the V7 migration.
+ *
+ * Interest is added by {@link InterestAccrualLedger} in the statement that
+ * records it, and withdrawals are subtracted by {@link #debit(int, long)}, each
+ * in the transaction of the change. {@link #scan()} computes the same totals
+ * from every deposit, to rebuild or reconcile the table.
+ */
+@Repository
+public class PlanAggregateRepository {
+
+    private static final String FIND_ALL = """
+            SELECT plan_type, deposit_count, balance, accrued_interest
+              FROM plan_aggregates
+             ORDER BY plan_type""";
+
+    private static final String SCAN = """
+            SELECT d.plan_type, d.deposit_count, d.balance, coalesce(i.interest, 0) AS accrued_interest
+              FROM (SELECT plan_type, count(*) AS deposit_count, sum(balance) AS balance
+                      FROM time_deposits
+                     GROUP BY plan_type) d
+              LEFT JOIN (SELECT t.plan_type, sum(a.interest) AS interest
+                           FROM interest_accruals a
+                           JOIN time_deposits t ON t.id = a.time_deposit_id
+                          GROUP BY t.plan_type) i ON i.plan_type = d.plan_type
+             ORDER BY d.plan_type""";
+
+    private static final String DEBIT = """
+            UPDATE plan_aggregates a
+               SET balance = a.balance - ?::bigint / 100.0
+              FROM time_deposits d
+             WHERE d.id = ? AND a.plan_type = d.plan_type""";
+
+    private static final String SAVE = """
+            INSERT INTO plan_aggregates (plan_type, deposit_count, balance, accrued_interest)
+            VALUES (?, ?, ?, ?)
+                ON CONFLICT (plan_type) DO UPDATE
+               SET deposit_count = EXCLUDED.deposit_count,
+                   balance = EXCLUDED.balance,
+                   accrued_interest = EXCLUDED.accrued_interest""";
+
+    private static final RowMapper<PlanAggregate> ROW_MAPPER = (rs, rowNum) -> new PlanAggregate(
+            rs.getString("plan_type"),
+            rs.getLong("deposit_count"),
+            Money.of(rs.getBigDecimal("balance")),
+            Money.of(rs.getBigDecimal("accrued_interest")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlanAggregateRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The stored totals, by plan type.
+     */
+    public List<PlanAggregate> findAll() {
+        return jdbcTemplate.query(FIND_ALL, ROW_MAPPER);
+    }
+
+    /**
+     * Computes the totals from every deposit and accrual, by plan type.
+     */
+    public List<PlanAggregate> scan() {
+        return jdbcTemplate.query(SCAN, ROW_MAPPER);
+    }
+
+    /**
+     * Subtracts a withdrawal from the balance of the deposit's plan.
+     */
+    public void debit(int depositId, long amountCents) {
+        jdbcTemplate.update(DEBIT, amountCents, depositId);
+    }
+
+    /**
+     * Stores the totals of a plan, replacing any stored ones.
+     */
+    public void save(PlanAggregate aggregate) {
+        jdbcTemplate.update(SAVE, aggregate.planType(), aggregate.depositCount(),
+                aggregate.balance().toBigDecimal(), aggregate.accruedInterest().toBigDecimal());
+    }
+
+    public void delete(String planType) {
+        jdbcTemplate.update("DELETE FROM plan_aggregates WHERE plan_type = ?", planType);
+    }
+
+    /**
+     * Replaces every stored total with the result of {@link #scan()}.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM plan_aggregates");
+        scan().forEach(this::save);
+    }
+}
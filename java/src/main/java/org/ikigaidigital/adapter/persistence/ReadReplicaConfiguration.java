@@ -0,0 +1,88 @@
+package org.ikigaidigital.adapter.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source once {@code read-replicas.urls}
+ * lists at least one replica (as a comma-separated value).
+ *
+ * The primary keeps the {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*} settings, and every replica gets a pool
+ * with the same settings, read-only, for its own URL. Pools are named
+ * {@code primary} and {@code replica-1}, {@code replica-2}, ... in the
+ * {@code hikaricp.*} meters, and the number of replicas in rotation is
+ * published as {@code datasource.replicas.healthy}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "read-replicas", name = "urls")
+public class ReadReplicaConfiguration {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReadReplicaProperties properties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             TaskScheduler taskScheduler) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        meterRegistry.ifAvailable(registry ->
+                primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : properties.getUrls()) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url);
+            if (properties.getUsername() != null) {
+                replica.setUsername(properties.getUsername());
+            }
+            if (properties.getPassword() != null) {
+                replica.setPassword(properties.getPassword());
+            }
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, properties.getMaxLag(),
+                properties.getPrimaryPin());
+        meterRegistry.ifAvailable(registry ->
+                Gauge.builder("datasource.replicas.healthy", routing, ReplicaRoutingDataSource::healthyReplicaCount)
+                        .description("Read replicas in rotation")
+                        .register(registry));
+        taskScheduler.scheduleWithFixedDelay(routing::checkHealth, properties.getHealthCheckInterval());
+        return routing;
+    }
+
+    /**
+     * The data source of JPA, JDBC and Flyway: connections are obtained from
+     * the routing data source only when their first statement runs, once the
+     * transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,96 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PostgreSQL read replicas that serve read-only transactions, bound from
+ * {@code read-replicas.*}. Without {@code urls} every transaction uses the
+ * primary configured under {@code spring.datasource.*}.
+ */
+@ConfigurationProperties(prefix = "read-replicas")
+public class ReadReplicaProperties {
+
+    /**
+     * JDBC URLs of the replicas, used in turn.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica login; defaults to the primary's.
+     */
+    private String username;
+
+    /**
+     * Replica password; defaults to the primary's.
+     */
+    private String password;
+
+    /**
+     * Interval between checks of each replica's connectivity and replay lag.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+    /**
+     * Replicas whose replay lags the primary by more than this are not used
+     * until they catch up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How long read-only transactions stay on the primary after an interest
+     * run, a withdrawal or a snapshot import commits; zero disables the pin.
+     */
+    private Duration primaryPin = Duration.ofSeconds(10);
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        this.healthCheckInterval = healthCheckInterval;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public Duration getPrimaryPin() {
+        return primaryPin;
+    }
+
+    public void setPrimaryPin(Duration primaryPin) {
+        this.primaryPin = primaryPin;
+    }
+}
@@ -0,0 +1,213 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections of read-only transactions from PostgreSQL streaming
+ * replicas and every other connection from the primary.
+ *
+ * Replicas are used round-robin. A replica that fails to hand out a
+ * connection is skipped from then on, as is one that {@link #checkHealth()}
+ * finds unreachable, not streaming or replaying more than {@code maxLag}
+ * behind; the next check that finds it healthy puts it back. Without a
+ * healthy replica, reads fall back to the primary.
+ *
+ * After {@link #pinToPrimary()}, read-only transactions use the primary for
+ * {@code primaryPin}, so reads right after a write never see a replica that
+ * has not replayed it yet, and cannot put stale balances into the listing
+ * cache. Spring Data's CRUD methods such as {@code findById} run in a
+ * read-only transaction of their own when called outside one; code that must
+ * read a row it has just committed does so in a read-write transaction.
+ *
+ * Routing follows the read-only flag of the current Spring transaction, which
+ * transaction managers set only after obtaining their connection. This data
+ * source must therefore be used behind a {@link LazyConnectionDataSourceProxy},
+ * which obtains the connection when the first statement runs.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    /**
+     * Whether the server streams from its primary, and its replay lag in
+     * seconds: zero once it has replayed all WAL it received, however old the
+     * last replayed transaction. A server out of recovery, such as a promoted
+     * replica, counts as streaming without lag.
+     */
+    static final String HEALTH_QUERY = """
+            SELECT NOT pg_is_in_recovery()
+                       OR EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming'),
+                   CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private static final int HEALTH_QUERY_TIMEOUT_SECONDS = 5;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final long primaryPinNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile long pinnedUntil = System.nanoTime();
+
+    /**
+     * @param maxLag     largest replay lag of a replica that is used
+     * @param primaryPin how long {@link #pinToPrimary()} keeps reads on the primary
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag,
+                                    Duration primaryPin) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        }
+        this.maxLag = maxLag;
+        this.primaryPinNanos = primaryPin.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || isPinnedToPrimary()) {
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.healthy) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException | RuntimeException e) {
+                    replica.markDown(String.valueOf(e.getMessage()));
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing only uses the configured credentials");
+    }
+
+    /**
+     * Sends read-only transactions that start within the configured pin
+     * duration to the primary.
+     */
+    public void pinToPrimary() {
+        if (primaryPinNanos > 0) {
+            pinnedUntil = System.nanoTime() + primaryPinNanos;
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        return pinnedUntil - System.nanoTime() > 0;
+    }
+
+    /**
+     * Probes every replica's connectivity, streaming state and replay lag,
+     * and marks it healthy or not accordingly.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica.dataSource);
+            if (problem == null) {
+                replica.markUp();
+            } else {
+                replica.markDown(problem);
+            }
+        }
+    }
+
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /**
+     * Whether the replica at {@code index}, in configuration order, is used.
+     */
+    public boolean isHealthy(int index) {
+        return replicas.get(index).healthy;
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    /**
+     * @return why the replica must not be used, or null if it is healthy
+     */
+    private String probe(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(HEALTH_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet rs = statement.executeQuery(HEALTH_QUERY)) {
+                rs.next();
+                if (!rs.getBoolean(1)) {
+                    return "not streaming from the primary";
+                }
+                Duration lag = Duration.ofMillis(Math.round(rs.getDouble(2) * 1000));
+                return lag.compareTo(maxLag) > 0 ? "replay lags by " + lag : null;
+            }
+        } catch (SQLException | RuntimeException e) {
+            return String.valueOf(e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close data source {}", dataSource, e);
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is healthy again", name);
+            }
+        }
+
+        void markDown(String problem) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} taken out of rotation: {}", name, problem);
+            }
+        }
+    }
+}
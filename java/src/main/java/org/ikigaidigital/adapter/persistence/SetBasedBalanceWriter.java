@@ -0,0 +1,40 @@
+package org.ikigaidigital.adapter.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.ikigaidigital.TimeDeposit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adds the interest of a whole chunk to the stored balances with one UPDATE
+ * joined against the ids and interest (in cents) passed as two PostgreSQL
+ * arrays, i.e. one round trip per chunk, through
+ * {@link DepositBatchRepository#addInterest(Integer[], Long[])}. Deposits
+ * credited nothing are not written.
+ */
+@Component
+@ConditionalOnProperty(name = "interest-run.balance-writer", havingValue = "set-based")
+public class SetBasedBalanceWriter implements BalanceWriter {
+
+    private final DepositBatchRepository depositBatchRepository;
+    private final EntityManager entityManager;
+
+    public SetBasedBalanceWriter(DepositBatchRepository depositBatchRepository, EntityManager entityManager) {
+        this.depositBatchRepository = depositBatchRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void write(List<TimeDeposit> deposits, Long[] interestCents) {
+        deposits.forEach(entityManager::detach);
+
+        Integer[] ids = new Integer[deposits.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = deposits.get(i).getId();
+        }
+
+        depositBatchRepository.addInterest(ids, interestCents);
+    }
+}
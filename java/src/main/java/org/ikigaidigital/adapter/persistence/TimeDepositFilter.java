@@ -0,0 +1,27 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+
+/**
+ * Criteria of a filtered time deposit listing. Null criteria do not filter;
+ * ranges are inclusive.
+ */
+public record TimeDepositFilter(String planType,
+                                Integer minDays,
+                                Integer maxDays,
+                                Money minBalance,
+                                Money maxBalance,
+                                Boolean hasWithdrawals) {
+
+    /**
+     * @throws IllegalArgumentException if a range is empty
+     */
+    public TimeDepositFilter {
+        if (minDays != null && maxDays != null && minDays > maxDays) {
+            throw new IllegalArgumentException("minDays must not be greater than maxDays");
+        }
+        if (minBalance != null && maxBalance != null && minBalance.compareTo(maxBalance) > 0) {
+            throw new IllegalArgumentException("minBalance must not be greater than maxBalance");
+        }
+    }
+}
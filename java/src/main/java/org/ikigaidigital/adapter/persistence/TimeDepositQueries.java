@@ -0,0 +1,15 @@
+package org.ikigaidigital.adapter.persistence;
+
+import java.util.List;
+
+/**
+ * Queries of {@link TimeDepositRepository} built from optional criteria.
+ */
+public interface TimeDepositQueries {
+
+    /**
+     * Keyset page of the ids of deposits matching the filter, ordered by id,
+     * starting after the given id.
+     */
+    List<Integer> findIds(TimeDepositFilter filter, int afterId, int limit);
+}
@@ -0,0 +1,60 @@
+package org.ikigaidigital.adapter.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the JPQL of {@link TimeDepositQueries} with a condition per given
+ * criterion only, so the planner sees plain predicates it can match against
+ * the {@code (plan_type, days, id)} index instead of {@code :x is null or ...}
+ * disjunctions.
+ */
+class TimeDepositQueriesImpl implements TimeDepositQueries {
+
+    private final EntityManager entityManager;
+
+    TimeDepositQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Integer> findIds(TimeDepositFilter filter, int afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("select t.id from TimeDeposit t where t.id > :afterId");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("afterId", afterId);
+        if (filter.planType() != null) {
+            jpql.append(" and t.planType = :planType");
+            parameters.put("planType", filter.planType());
+        }
+        if (filter.minDays() != null) {
+            jpql.append(" and t.days >= :minDays");
+            parameters.put("minDays", filter.minDays());
+        }
+        if (filter.maxDays() != null) {
+            jpql.append(" and t.days <= :maxDays");
+            parameters.put("maxDays", filter.maxDays());
+        }
+        if (filter.minBalance() != null) {
+            jpql.append(" and t.balance >= :minBalance");
+            parameters.put("minBalance", filter.minBalance());
+        }
+        if (filter.maxBalance() != null) {
+            jpql.append(" and t.balance <= :maxBalance");
+            parameters.put("maxBalance", filter.maxBalance());
+        }
+        if (filter.hasWithdrawals() != null) {
+            jpql.append(filter.hasWithdrawals() ? " and exists" : " and not exists")
+                    .append(" (select 1 from Withdrawal w where w.timeDepositId = t.id)");
+        }
+        jpql.append(" order by t.id");
+
+        TypedQuery<Integer> query = entityManager.createQuery(jpql.toString(), Integer.class)
+                .setMaxResults(limit);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
+    }
+}
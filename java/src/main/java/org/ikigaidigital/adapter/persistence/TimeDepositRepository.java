@@ -1,9 +1,93 @@
 package org.ikigaidigital.adapter.persistence;
 
+import jakarta.persistence.QueryHint;
 import org.ikigaidigital.TimeDeposit;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
-public interface TimeDepositRepository extends JpaRepository<TimeDeposit, Integer> {
-}
\ No newline at end of file
+public interface TimeDepositRepository extends JpaRepository<TimeDeposit, Integer>, TimeDepositQueries {
+
+    /**
+     * Ids of a keyset page of deposits ordered by id, starting after the given id.
+     */
+    @Query("select t.id from TimeDeposit t where t.id > :afterId order by t.id")
+    List<Integer> findIdsAfter(int afterId, Limit limit);
+
+    /**
+     * Keyset page of deposits ordered by id, starting after {@code afterId} and
+     * ending at {@code endId} inclusive.
+     */
+    List<TimeDeposit> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(int afterId, int endId, Limit limit);
+
+    /**
+     * Keyset page like {@link #findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc},
+     * skipping deposits that already accrued interest for the given period.
+     */
+    @Query("""
+            select t from TimeDeposit t
+             where t.id > :afterId and t.id <= :endId
+               and not exists (select 1 from InterestAccrual a
+                                where a.timeDepositId = t.id and a.period = :period)
+             order by t.id""")
+    List<TimeDeposit> findNotAccruedInRange(int afterId, int endId, String period, Limit limit);
+
+    @Query("""
+            select count(t) from TimeDeposit t
+             where not exists (select 1 from InterestAccrual a
+                                where a.timeDepositId = t.id and a.period = :period)""")
+    long countNotAccrued(String period);
+
+    /**
+     * Subtracts the amount from the deposit's balance in one statement if the
+     * balance covers it, and increments its version.
+     *
+     * @return 1 if the deposit was debited, 0 if it does not exist or its balance is too low
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE time_deposits
+               SET balance = balance - :amountCents / 100.0, version = version + 1
+             WHERE id = :id AND balance >= :amountCents / 100.0""", nativeQuery = true)
+    int debit(int id, long amountCents);
+
+    /**
+     * Loads the given deposits as read-only views, in no particular order.
+     */
+    @Query("""
+            select new org.ikigaidigital.adapter.persistence.TimeDepositView(t.id, t.planType, t.balance, t.days)
+              from TimeDeposit t
+             where t.id in :ids""")
+    List<TimeDepositView> findViewsByIdIn(Collection<Integer> ids);
+
+    @Query("select t.id from TimeDeposit t order by t.id")
+    List<Integer> findAllIds();
+
+    @Query("select min(t.id) from TimeDeposit t")
+    Integer findMinId();
+
+    @Query("select max(t.id) from TimeDeposit t")
+    Integer findMaxId();
+
+    /**
+     * Streams every deposit in id order through a server-side cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @Query("select t from TimeDeposit t order by t.id")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<TimeDeposit> streamAllOrderedById();
+}
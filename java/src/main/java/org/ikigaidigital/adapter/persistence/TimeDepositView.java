@@ -0,0 +1,10 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+
+/**
+ * Read-only projection of a time deposit row, selected without creating a
+ * managed entity.
+ */
+public record TimeDepositView(int id, String planType, Money balance, int days) {
+}
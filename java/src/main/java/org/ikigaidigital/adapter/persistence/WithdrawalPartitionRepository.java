@@ -0,0 +1,66 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Creates, lists and detaches the monthly partitions of {@code withdrawals},
+ * named {@code withdrawals_yyyy_mm}. The table and the
+ * {@code create_withdrawal_partition} function are created by the V5 migration.
+ */
+@Repository
+public class WithdrawalPartitionRepository {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final String FIND_PARTITIONS = """
+            SELECT c.relname
+              FROM pg_inherits i
+              JOIN pg_class c ON c.oid = i.inhrelid
+             WHERE i.inhparent = 'withdrawals'::regclass
+               AND c.relname ~ '^withdrawals_[0-9]{4}_[0-9]{2}$'
+             ORDER BY c.relname""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WithdrawalPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Months of the attached monthly partitions, oldest first.
+     */
+    public List<YearMonth> findPartitionMonths() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class).stream()
+                .map(name -> YearMonth.parse(name.substring("withdrawals_".length()), SUFFIX))
+                .toList();
+    }
+
+    /**
+     * Creates the partition of the month unless a table of that name exists,
+     * moving the month's rows out of the default partition.
+     *
+     * @return whether the partition was created
+     */
+    public boolean createPartition(YearMonth month) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT create_withdrawal_partition(?)", Boolean.class, month.atDay(1)));
+    }
+
+    /**
+     * Detaches the partition of the month. Its rows are no longer part of
+     * {@code withdrawals} but stay in the standalone table of the same name
+     * until it is archived or dropped.
+     */
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE withdrawals DETACH PARTITION " + partitionName(month));
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "withdrawals_" + month.format(SUFFIX);
+    }
+}
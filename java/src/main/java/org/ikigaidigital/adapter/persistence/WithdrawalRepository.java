@@ -4,10 +4,16 @@ import org.ikigaidigital.domain.Withdrawal;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface WithdrawalRepository extends JpaRepository<Withdrawal, Integer> {
 
     List<Withdrawal> findByTimeDepositId(Integer timeDepositId);
+
+    /**
+     * Loads the withdrawals of several deposits in one query.
+     */
+    List<Withdrawal> findByTimeDepositIdIn(Collection<Integer> timeDepositIds);
 }
@@ -0,0 +1,32 @@
+package org.ikigaidigital.adapter.web;
+
+/**
+ * DTO for a consumer's acknowledgement of the balance change feed.
+ */
+public class BalanceChangeAckRequest {
+
+    private String consumer;
+    private Long offset;
+
+    /**
+     * Name the consumer acknowledges under, the same on every acknowledgement.
+     */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Offset of the last change the consumer has processed.
+     */
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+}
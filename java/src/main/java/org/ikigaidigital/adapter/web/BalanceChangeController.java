@@ -0,0 +1,134 @@
+package org.ikigaidigital.adapter.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.ikigaidigital.application.BalanceChangeFeed;
+import org.ikigaidigital.application.ChangeFeedBusyException;
+import org.ikigaidigital.application.ChangeFeedPrunedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@RestController
+@RequestMapping("/time-deposits/changes")
+@Tag(name = "Balance Changes", description = "Feed of balance changes made by interest runs, withdrawals and imports")
+public class BalanceChangeController {
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final BalanceChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    public BalanceChangeController(BalanceChangeFeed changeFeed, ObjectMapper objectMapper) {
+        this.changeFeed = changeFeed;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream balance changes",
+               description = "Streams the balance changes after offset 'since' (default 0) as server-sent "
+                       + "'changes' events, each a JSON array of changes with the offset of its last change as "
+                       + "event id: first the backlog in batches, then new changes as they are published. "
+                       + "A Last-Event-ID header takes precedence over 'since'. Returns 410 if the changes "
+                       + "have been pruned and 503 while the maximum number of streams is served")
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            WebRequest request) {
+        BalanceChangeFeed.Subscription subscription = changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+        // the body may never run or never notice that the client is gone; the request's completion,
+        // at the latest its async timeout, gives the place back either way
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(BalanceChangeFeed.Subscription.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest completed, Callable<T> task) {
+                        subscription.close();
+                    }
+                });
+        StreamingResponseBody body = outputStream -> {
+            try (subscription) {
+                subscription.stream(new BalanceChangeFeed.Listener() {
+                    @Override
+                    public void onChanges(long lastOffset, List<BalanceChangeResponse> changes) {
+                        writeEvent(outputStream, lastOffset, changes);
+                    }
+
+                    @Override
+                    public void onIdle() {
+                        write(outputStream, HEARTBEAT);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    @PostMapping("/acks")
+    @Operation(summary = "Acknowledge balance changes",
+               description = "Records that the consumer has processed every change up to the offset; changes "
+                       + "acknowledged by every consumer are pruned")
+    public ResponseEntity<Void> acknowledge(@RequestBody BalanceChangeAckRequest request) {
+        changeFeed.acknowledge(request.getConsumer(), request.getOffset());
+        return ResponseEntity.noContent().build();
+    }
+
+    private void writeEvent(OutputStream outputStream, long id, Object data) {
+        try {
+            outputStream.write(("id: " + id + "\nevent: changes\ndata: ").getBytes(StandardCharsets.UTF_8));
+            outputStream.write(objectMapper.writeValueAsBytes(data));
+            write(outputStream, "\n\n".getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(OutputStream outputStream, byte[] bytes) {
+        try {
+            outputStream.write(bytes);
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @ExceptionHandler(ChangeFeedPrunedException.class)
+    public ResponseEntity<String> handlePruned(ChangeFeedPrunedException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(ChangeFeedBusyException.class)
+    public ResponseEntity<String> handleBusy(ChangeFeedBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for one entry of the balance change feed.
+ */
+public class BalanceChangeResponse {
+
+    private long offset;
+    private Integer depositId;
+    private String cause;
+    private Long runId;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private Instant changedAt;
+
+    public BalanceChangeResponse(long offset, Integer depositId, String cause, Long runId, BigDecimal amount,
+                                 BigDecimal balance, Instant changedAt) {
+        this.offset = offset;
+        this.depositId = depositId;
+        this.cause = cause;
+        this.runId = runId;
+        this.amount = amount;
+        this.balance = balance;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Position in the feed; consecutive, so a gap means changes were missed.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public Integer getDepositId() {
+        return depositId;
+    }
+
+    /**
+     * INTEREST, WITHDRAWAL or IMPORT.
+     */
+    public String getCause() {
+        return cause;
+    }
+
+    /**
+     * Interest run that credited the interest, or null.
+     */
+    public Long getRunId() {
+        return runId;
+    }
+
+    /**
+     * Amount added to the balance (negative for withdrawals), or null for imports.
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Balance of the deposit after the change.
+     */
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+}
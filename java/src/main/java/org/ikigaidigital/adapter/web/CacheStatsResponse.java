@@ -0,0 +1,44 @@
+package org.ikigaidigital.adapter.web;
+
+/**
+ * DTO for the counters of the deposit listing cache since startup.
+ */
+public class CacheStatsResponse {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+
+    public CacheStatsResponse(long size, long hitCount, long missCount, long evictionCount, double hitRate) {
+        this.size = size;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.hitRate = hitRate;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Entries removed because the cache was full; invalidations are not counted.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+}
@@ -0,0 +1,53 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the balance change a simulated interest run makes to one deposit.
+ */
+public class DepositChangeResponse {
+
+    private Integer id;
+    private String planType;
+    private Integer days;
+    private BigDecimal balance;
+    private BigDecimal newBalance;
+    private BigDecimal interest;
+
+    public DepositChangeResponse(Integer id, String planType, Integer days, BigDecimal balance,
+                                 BigDecimal newBalance) {
+        this.id = id;
+        this.planType = planType;
+        this.days = days;
+        this.balance = balance;
+        this.newBalance = newBalance;
+        this.interest = newBalance.subtract(balance);
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    /**
+     * Plan type, or null for deposits whose plan type is unknown.
+     */
+    public String getPlanType() {
+        return planType;
+    }
+
+    public Integer getDays() {
+        return days;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getNewBalance() {
+        return newBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+}
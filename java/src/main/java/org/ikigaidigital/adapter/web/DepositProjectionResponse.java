@@ -0,0 +1,64 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the projected balance of one time deposit.
+ * {@code schedule} holds the balance at the end of each projected month.
+ */
+public class DepositProjectionResponse {
+
+    private int id;
+    private String planType;
+    private int days;
+    private int months;
+    private BigDecimal balance;
+    private BigDecimal projectedBalance;
+    private BigDecimal interest;
+    private List<BigDecimal> schedule;
+
+    public DepositProjectionResponse(int id, String planType, int days, int months, BigDecimal balance,
+                                     BigDecimal projectedBalance, List<BigDecimal> schedule) {
+        this.id = id;
+        this.planType = planType;
+        this.days = days;
+        this.months = months;
+        this.balance = balance;
+        this.projectedBalance = projectedBalance;
+        this.interest = projectedBalance.subtract(balance);
+        this.schedule = schedule;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getProjectedBalance() {
+        return projectedBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+
+    public List<BigDecimal> getSchedule() {
+        return schedule;
+    }
+}
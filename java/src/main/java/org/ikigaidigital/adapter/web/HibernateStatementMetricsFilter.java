@@ -0,0 +1,49 @@
+package org.ikigaidigital.adapter.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ikigaidigital.adapter.persistence.HibernateStatementCounter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of Hibernate statements executed per request as the
+ * {@code http.server.requests.hibernate.statements} summary, tagged like
+ * {@code http.server.requests}. Work done on async threads (NDJSON streams)
+ * is not included.
+ */
+@Component
+public class HibernateStatementMetricsFilter extends OncePerRequestFilter {
+
+    private final HibernateStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    public HibernateStatementMetricsFilter(HibernateStatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        statementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.requests.hibernate.statements")
+                    .description("Hibernate statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .register(meterRegistry)
+                    .record(statementCounter.count());
+        }
+    }
+}
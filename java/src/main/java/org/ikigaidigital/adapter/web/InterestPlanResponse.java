@@ -0,0 +1,52 @@
+package org.ikigaidigital.adapter.web;
+
+import org.ikigaidigital.domain.InterestPlan;
+
+/**
+ * DTO for one compiled interest plan.
+ */
+public class InterestPlanResponse {
+
+    private String planType;
+    private int code;
+    private double annualRate;
+    private int minDays;
+    private Integer maxDays;
+    private int compoundingPerYear;
+
+    public InterestPlanResponse(InterestPlan plan) {
+        this.planType = plan.getPlanType();
+        this.code = plan.code();
+        this.annualRate = plan.getAnnualRate();
+        this.minDays = plan.getMinDays();
+        this.maxDays = plan.getMaxDays() == Integer.MAX_VALUE ? null : plan.getMaxDays();
+        this.compoundingPerYear = plan.getCompoundingPerYear();
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public double getAnnualRate() {
+        return annualRate;
+    }
+
+    public int getMinDays() {
+        return minDays;
+    }
+
+    /**
+     * Oldest age that still accrues, null when unlimited.
+     */
+    public Integer getMaxDays() {
+        return maxDays;
+    }
+
+    public int getCompoundingPerYear() {
+        return compoundingPerYear;
+    }
+}
@@ -0,0 +1,43 @@
+package org.ikigaidigital.adapter.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.ikigaidigital.application.InterestRuleService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/interest-rules")
+@Tag(name = "Interest Rules", description = "Interest plan configuration endpoints")
+public class InterestRuleController {
+
+    private final InterestRuleService interestRuleService;
+
+    public InterestRuleController(InterestRuleService interestRuleService) {
+        this.interestRuleService = interestRuleService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get interest rules",
+               description = "Returns the installed interest plans and the version of the rule table")
+    public ResponseEntity<InterestRulesResponse> getInterestRules() {
+        return ResponseEntity.ok(new InterestRulesResponse(interestRuleService.current()));
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Reload interest rules",
+               description = "Recompiles the interest plans from the database or configuration and installs them; "
+                       + "runs in progress keep the rules they started with")
+    public ResponseEntity<InterestRulesResponse> reloadInterestRules() {
+        return ResponseEntity.ok(new InterestRulesResponse(interestRuleService.reload()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
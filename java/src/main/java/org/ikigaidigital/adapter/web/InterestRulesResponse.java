@@ -0,0 +1,27 @@
+package org.ikigaidigital.adapter.web;
+
+import org.ikigaidigital.domain.InterestRuleTable;
+
+import java.util.List;
+
+/**
+ * DTO for the installed interest rule table.
+ */
+public class InterestRulesResponse {
+
+    private long version;
+    private List<InterestPlanResponse> plans;
+
+    public InterestRulesResponse(InterestRuleTable table) {
+        this.version = table.version();
+        this.plans = table.plans().stream().map(InterestPlanResponse::new).toList();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<InterestPlanResponse> getPlans() {
+        return plans;
+    }
+}
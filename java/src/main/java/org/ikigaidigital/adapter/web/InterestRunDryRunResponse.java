@@ -0,0 +1,92 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the effect the next interest run would have on the deposit book.
+ */
+public class InterestRunDryRunResponse {
+
+    private String period;
+    private long rulesVersion;
+    private long depositCount;
+    private long creditedCount;
+    private BigDecimal balance;
+    private BigDecimal newBalance;
+    private BigDecimal interest;
+    private List<PlanDryRunResponse> plans;
+    private List<DepositChangeResponse> largestChanges;
+    private List<ThresholdCrossingResponse> thresholds;
+
+    public InterestRunDryRunResponse(String period, long rulesVersion, long depositCount, long creditedCount,
+                                     BigDecimal balance, BigDecimal interest, List<PlanDryRunResponse> plans,
+                                     List<DepositChangeResponse> largestChanges,
+                                     List<ThresholdCrossingResponse> thresholds) {
+        this.period = period;
+        this.rulesVersion = rulesVersion;
+        this.depositCount = depositCount;
+        this.creditedCount = creditedCount;
+        this.balance = balance;
+        this.newBalance = balance.add(interest);
+        this.interest = interest;
+        this.plans = plans;
+        this.largestChanges = largestChanges;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Period (yyyy-MM) the run would accrue.
+     */
+    public String getPeriod() {
+        return period;
+    }
+
+    /**
+     * Version of the interest rule table the run was simulated with.
+     */
+    public long getRulesVersion() {
+        return rulesVersion;
+    }
+
+    /**
+     * Deposits that have not accrued interest for the period yet.
+     */
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    /**
+     * Deposits whose balance the run would change.
+     */
+    public long getCreditedCount() {
+        return creditedCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getNewBalance() {
+        return newBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+
+    public List<PlanDryRunResponse> getPlans() {
+        return plans;
+    }
+
+    /**
+     * Deposits with the largest interest, largest first.
+     */
+    public List<DepositChangeResponse> getLargestChanges() {
+        return largestChanges;
+    }
+
+    public List<ThresholdCrossingResponse> getThresholds() {
+        return thresholds;
+    }
+}
@@ -0,0 +1,77 @@
+package org.ikigaidigital.adapter.web;
+
+import java.time.Instant;
+
+/**
+ * DTO for the state and progress of an interest run job.
+ * {@code throughput} is in deposits per second since the run started;
+ * {@code etaSeconds} is null while no throughput has been measured.
+ */
+public class InterestRunStatusResponse {
+
+    private Long jobId;
+    private String status;
+    private String period;
+    private long processedCount;
+    private Long totalCount;
+    private double throughput;
+    private Long etaSeconds;
+    private Instant startedAt;
+    private Instant completedAt;
+    private String failureMessage;
+
+    public InterestRunStatusResponse(Long jobId, String status, String period, long processedCount, Long totalCount,
+                                     double throughput, Long etaSeconds, Instant startedAt, Instant completedAt,
+                                     String failureMessage) {
+        this.jobId = jobId;
+        this.status = status;
+        this.period = period;
+        this.processedCount = processedCount;
+        this.totalCount = totalCount;
+        this.throughput = throughput;
+        this.etaSeconds = etaSeconds;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+        this.failureMessage = failureMessage;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+}
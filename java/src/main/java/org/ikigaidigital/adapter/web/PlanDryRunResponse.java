@@ -0,0 +1,59 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the effect of a simulated interest run on all deposits of one plan type.
+ */
+public class PlanDryRunResponse {
+
+    private String planType;
+    private long depositCount;
+    private long creditedCount;
+    private BigDecimal balance;
+    private BigDecimal interest;
+    private BigDecimal largestInterest;
+
+    public PlanDryRunResponse(String planType, long depositCount, long creditedCount, BigDecimal balance,
+                              BigDecimal interest, BigDecimal largestInterest) {
+        this.planType = planType;
+        this.depositCount = depositCount;
+        this.creditedCount = creditedCount;
+        this.balance = balance;
+        this.interest = interest;
+        this.largestInterest = largestInterest;
+    }
+
+    /**
+     * Plan type, or null for deposits whose plan type is unknown.
+     */
+    public String getPlanType() {
+        return planType;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    /**
+     * Deposits whose balance the run would change.
+     */
+    public long getCreditedCount() {
+        return creditedCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+
+    /**
+     * Largest interest the run would credit to a single deposit.
+     */
+    public BigDecimal getLargestInterest() {
+        return largestInterest;
+    }
+}
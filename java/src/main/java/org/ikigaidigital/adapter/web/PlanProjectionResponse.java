@@ -0,0 +1,47 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the current and projected balance of all deposits of one plan type.
+ */
+public class PlanProjectionResponse {
+
+    private String planType;
+    private long depositCount;
+    private BigDecimal balance;
+    private BigDecimal projectedBalance;
+    private BigDecimal interest;
+
+    public PlanProjectionResponse(String planType, long depositCount, BigDecimal balance,
+                                  BigDecimal projectedBalance) {
+        this.planType = planType;
+        this.depositCount = depositCount;
+        this.balance = balance;
+        this.projectedBalance = projectedBalance;
+        this.interest = projectedBalance.subtract(balance);
+    }
+
+    /**
+     * Plan type, or null for deposits whose plan type is unknown.
+     */
+    public String getPlanType() {
+        return planType;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getProjectedBalance() {
+        return projectedBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+}
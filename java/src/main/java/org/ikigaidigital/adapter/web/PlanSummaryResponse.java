@@ -0,0 +1,40 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the deposit count, balance and accrued interest of all deposits of one plan type.
+ */
+public class PlanSummaryResponse {
+
+    private String planType;
+    private long depositCount;
+    private BigDecimal balance;
+    private BigDecimal accruedInterest;
+
+    public PlanSummaryResponse(String planType, long depositCount, BigDecimal balance, BigDecimal accruedInterest) {
+        this.planType = planType;
+        this.depositCount = depositCount;
+        this.balance = balance;
+        this.accruedInterest = accruedInterest;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Interest recorded in the accrual ledger for the plan's deposits.
+     */
+    public BigDecimal getAccruedInterest() {
+        return accruedInterest;
+    }
+}
@@ -0,0 +1,51 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the projected balance of the whole book, in total and per plan type.
+ */
+public class PortfolioProjectionResponse {
+
+    private int months;
+    private long depositCount;
+    private BigDecimal balance;
+    private BigDecimal projectedBalance;
+    private BigDecimal interest;
+    private List<PlanProjectionResponse> plans;
+
+    public PortfolioProjectionResponse(int months, long depositCount, BigDecimal balance,
+                                       BigDecimal projectedBalance, List<PlanProjectionResponse> plans) {
+        this.months = months;
+        this.depositCount = depositCount;
+        this.balance = balance;
+        this.projectedBalance = projectedBalance;
+        this.interest = projectedBalance.subtract(balance);
+        this.plans = plans;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getProjectedBalance() {
+        return projectedBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+
+    public List<PlanProjectionResponse> getPlans() {
+        return plans;
+    }
+}
@@ -0,0 +1,40 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the deposit count, balance and accrued interest of the whole book,
+ * in total and per plan type.
+ */
+public class PortfolioSummaryResponse {
+
+    private long depositCount;
+    private BigDecimal balance;
+    private BigDecimal accruedInterest;
+    private List<PlanSummaryResponse> plans;
+
+    public PortfolioSummaryResponse(long depositCount, BigDecimal balance, BigDecimal accruedInterest,
+                                    List<PlanSummaryResponse> plans) {
+        this.depositCount = depositCount;
+        this.balance = balance;
+        this.accruedInterest = accruedInterest;
+        this.plans = plans;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getAccruedInterest() {
+        return accruedInterest;
+    }
+
+    public List<PlanSummaryResponse> getPlans() {
+        return plans;
+    }
+}
@@ -0,0 +1,32 @@
+package org.ikigaidigital.adapter.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary response encodings, chosen with the {@code Accept} header:
+ * {@code application/cbor} and {@code application/x-jackson-smile}. JSON stays
+ * the default for clients that accept anything.
+ *
+ * The converters replace the ones Spring MVC registers for these formats in
+ * place (after JSON), with mappers from Spring Boot's builder so they share
+ * the JSON configuration and {@link TimeDepositResponseSerializer}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ResponseEncodingConfiguration {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
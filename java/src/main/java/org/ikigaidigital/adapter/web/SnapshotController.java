@@ -0,0 +1,68 @@
+package org.ikigaidigital.adapter.web;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.ikigaidigital.application.InterestRunInProgressException;
+import org.ikigaidigital.application.SnapshotService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/snapshots")
+@Tag(name = "Snapshots", description = "Binary snapshots of the deposit book")
+public class SnapshotController {
+
+    private final SnapshotService snapshotService;
+
+    public SnapshotController(SnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @PostMapping("/{name}")
+    @Operation(summary = "Export a snapshot",
+               description = "Writes every deposit and withdrawal to the named snapshot file on the server")
+    public ResponseEntity<SnapshotResponse> exportSnapshot(@PathVariable String name) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(snapshotService.export(name));
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Describe a snapshot",
+               description = "Verifies the checksum of the named snapshot and returns its counts")
+    public ResponseEntity<SnapshotResponse> getSnapshot(@PathVariable String name) {
+        return ResponseEntity.of(snapshotService.describe(name));
+    }
+
+    @PostMapping("/{name}/import")
+    @Operation(summary = "Import a snapshot",
+               description = "Replaces every deposit and withdrawal with the contents of the named snapshot")
+    public ResponseEntity<SnapshotResponse> importSnapshot(@PathVariable String name) {
+        return ResponseEntity.of(snapshotService.importSnapshot(name));
+    }
+
+    @PostMapping("/{name}/dry-run")
+    @Operation(summary = "Simulate interest runs against a snapshot",
+               description = "Applies 'months' monthly interest runs (default 1) to the named snapshot with the "
+                       + "current interest rules, without touching the database")
+    public ResponseEntity<SnapshotDryRunResponse> dryRun(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "1") int months) {
+        return ResponseEntity.of(snapshotService.dryRun(name, months));
+    }
+
+    @ExceptionHandler(InterestRunInProgressException.class)
+    public ResponseEntity<String> handleRunInProgress(InterestRunInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -0,0 +1,68 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for an interest run simulated against a snapshot.
+ */
+public class SnapshotDryRunResponse {
+
+    private String name;
+    private int months;
+    private long rulesVersion;
+    private int depositCount;
+    private int creditedCount;
+    private BigDecimal balance;
+    private BigDecimal projectedBalance;
+    private BigDecimal interest;
+
+    public SnapshotDryRunResponse(String name, int months, long rulesVersion, int depositCount, int creditedCount,
+                                  BigDecimal balance, BigDecimal projectedBalance) {
+        this.name = name;
+        this.months = months;
+        this.rulesVersion = rulesVersion;
+        this.depositCount = depositCount;
+        this.creditedCount = creditedCount;
+        this.balance = balance;
+        this.projectedBalance = projectedBalance;
+        this.interest = projectedBalance.subtract(balance);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    /**
+     * Version of the interest rule table the run was simulated with.
+     */
+    public long getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public int getDepositCount() {
+        return depositCount;
+    }
+
+    /**
+     * Deposits whose balance the run would change.
+     */
+    public int getCreditedCount() {
+        return creditedCount;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public BigDecimal getProjectedBalance() {
+        return projectedBalance;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+}
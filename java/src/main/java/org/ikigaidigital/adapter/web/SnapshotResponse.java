@@ -0,0 +1,53 @@
+package org.ikigaidigital.adapter.web;
+
+import java.time.Instant;
+
+/**
+ * DTO describing a deposit book snapshot file.
+ */
+public class SnapshotResponse {
+
+    private String name;
+    private int depositCount;
+    private int withdrawalCount;
+    private long sizeBytes;
+    private String checksum;
+    private Instant createdAt;
+
+    public SnapshotResponse(String name, int depositCount, int withdrawalCount, long sizeBytes, String checksum,
+                            Instant createdAt) {
+        this.name = name;
+        this.depositCount = depositCount;
+        this.withdrawalCount = withdrawalCount;
+        this.sizeBytes = sizeBytes;
+        this.checksum = checksum;
+        this.createdAt = createdAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getDepositCount() {
+        return depositCount;
+    }
+
+    public int getWithdrawalCount() {
+        return withdrawalCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * CRC32C of the snapshot body, in hex.
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the number of deposits whose balance a simulated interest run
+ * moves across a threshold.
+ */
+public class ThresholdCrossingResponse {
+
+    private BigDecimal threshold;
+    private long depositCount;
+
+    public ThresholdCrossingResponse(BigDecimal threshold, long depositCount) {
+        this.threshold = threshold;
+        this.depositCount = depositCount;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public long getDepositCount() {
+        return depositCount;
+    }
+}
@@ -1,14 +1,36 @@
 package org.ikigaidigital.adapter.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.ikigaidigital.adapter.persistence.TimeDepositFilter;
+import org.ikigaidigital.application.InsufficientBalanceException;
+import org.ikigaidigital.application.InterestRunDryRunService;
+import org.ikigaidigital.application.InterestRunInProgressException;
+import org.ikigaidigital.application.PortfolioSummaryService;
+import org.ikigaidigital.application.TimeDepositProjectionService;
 import org.ikigaidigital.application.TimeDepositService;
+import org.ikigaidigital.domain.InterestRunDiff;
+import org.ikigaidigital.domain.Money;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -16,10 +38,24 @@ import java.util.List;
 @Tag(name = "Time Deposits", description = "Time deposit management endpoints")
 public class TimeDepositController {
 
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final TimeDepositService timeDepositService;
+    private final TimeDepositProjectionService projectionService;
+    private final InterestRunDryRunService dryRunService;
+    private final PortfolioSummaryService summaryService;
+    private final ObjectMapper objectMapper;
 
-    public TimeDepositController(TimeDepositService timeDepositService) {
+    public TimeDepositController(TimeDepositService timeDepositService,
+                                 TimeDepositProjectionService projectionService,
+                                 InterestRunDryRunService dryRunService,
+                                 PortfolioSummaryService summaryService,
+                                 ObjectMapper objectMapper) {
         this.timeDepositService = timeDepositService;
+        this.projectionService = projectionService;
+        this.dryRunService = dryRunService;
+        this.summaryService = summaryService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
@@ -29,11 +65,162 @@ public class TimeDepositController {
         return ResponseEntity.ok(timeDepositService.getAllTimeDeposits());
     }
 
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get a page of time deposits",
+               description = "Retrieves up to 'limit' time deposits ordered by id, starting after the id given in 'after'")
+    public ResponseEntity<TimeDepositPageResponse> getTimeDepositPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) Integer after) {
+        return ResponseEntity.ok(timeDepositService.getTimeDepositPage(after, limit));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search time deposits",
+               description = "Retrieves up to 'limit' (default 100) time deposits matching every given filter, "
+                       + "ordered by id and starting after the id given in 'after'. Day and balance ranges are "
+                       + "inclusive")
+    public ResponseEntity<TimeDepositPageResponse> searchTimeDeposits(
+            @RequestParam(required = false) String planType,
+            @RequestParam(required = false) Integer minDays,
+            @RequestParam(required = false) Integer maxDays,
+            @RequestParam(required = false) BigDecimal minBalance,
+            @RequestParam(required = false) BigDecimal maxBalance,
+            @RequestParam(required = false) Boolean hasWithdrawals,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Integer after) {
+        TimeDepositFilter filter = new TimeDepositFilter(planType, minDays, maxDays,
+                minBalance == null ? null : Money.of(minBalance),
+                maxBalance == null ? null : Money.of(maxBalance),
+                hasWithdrawals);
+        return ResponseEntity.ok(timeDepositService.searchTimeDeposits(filter, after, limit));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a time deposit",
+               description = "Retrieves one time deposit with its withdrawals")
+    public ResponseEntity<TimeDepositResponse> getTimeDeposit(@PathVariable int id) {
+        return ResponseEntity.of(timeDepositService.getTimeDeposit(id));
+    }
+
+    @GetMapping(path = "/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream all time deposits",
+               description = "Streams all time deposits with their withdrawals as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllTimeDeposits() {
+        StreamingResponseBody body = outputStream -> timeDepositService.streamAllTimeDeposits(
+                deposit -> writeLine(outputStream, deposit));
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping("/{id}/withdrawals")
+    @Operation(summary = "Withdraw from a time deposit",
+               description = "Debits the amount from the balance atomically and records the withdrawal; fails "
+                       + "with 409 if the balance does not cover it. Safe to call while balances are being updated")
+    public ResponseEntity<TimeDepositResponse> withdraw(@PathVariable int id,
+                                                        @RequestBody WithdrawalRequest request) {
+        return ResponseEntity.of(timeDepositService.withdraw(id, request.getAmount(), request.getDate()));
+    }
+
+    @GetMapping("/{id}/projection")
+    @Operation(summary = "Project a time deposit",
+               description = "Projects the balance of a time deposit 'months' months ahead under the current "
+                       + "interest rules, with its balance at the end of every month")
+    public ResponseEntity<DepositProjectionResponse> getProjection(
+            @PathVariable int id,
+            @RequestParam int months) {
+        return ResponseEntity.of(projectionService.getProjection(id, months));
+    }
+
+    @GetMapping("/projection")
+    @Operation(summary = "Project all time deposits",
+               description = "Projects the balance of every time deposit 'months' months ahead and returns the "
+                       + "totals per plan type")
+    public ResponseEntity<PortfolioProjectionResponse> getPortfolioProjection(@RequestParam int months) {
+        return ResponseEntity.ok(projectionService.getPortfolioProjection(months));
+    }
+
+    @GetMapping("/summary")
+    @Operation(summary = "Summarize all time deposits",
+               description = "Returns the deposit count, balance and accrued interest per plan type and in total, "
+                       + "from aggregates kept up to date by interest runs and withdrawals")
+    public ResponseEntity<PortfolioSummaryResponse> getSummary() {
+        return ResponseEntity.ok(summaryService.getSummary());
+    }
+
+    @GetMapping("/cache-stats")
+    @Operation(summary = "Get listing cache statistics",
+               description = "Returns the size and hit, miss and eviction counts of the time deposit listing cache")
+    public ResponseEntity<CacheStatsResponse> getCacheStats() {
+        return ResponseEntity.ok(timeDepositService.getCacheStats());
+    }
+
     @PostMapping("/update-balances")
     @Operation(summary = "Update all balances",
-               description = "Applies monthly interest to all time deposits based on their plan type")
-    public ResponseEntity<Void> updateBalances() {
-        timeDepositService.updateAllBalances();
-        return ResponseEntity.ok().build();
+               description = "Starts a background job applying monthly interest to all time deposits based on "
+                       + "their plan type, and returns its id")
+    public ResponseEntity<InterestRunStatusResponse> updateBalances() {
+        InterestRunStatusResponse job = timeDepositService.startBalanceUpdate();
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(job.getJobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+
+    @GetMapping(path = "/update-balances/dry-run", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Simulate the next balance update",
+               description = "Applies this month's interest to copies of the deposits that have not accrued it "
+                       + "yet, without writing anything, and returns the totals per plan type, the 'top' largest "
+                       + "changes and the number of balances crossing each 'threshold'")
+    public ResponseEntity<InterestRunDryRunResponse> dryRunBalanceUpdate(
+            @RequestParam(defaultValue = "10") int top,
+            @RequestParam(name = "threshold", defaultValue = "") List<BigDecimal> thresholds) {
+        return ResponseEntity.ok(dryRunService.dryRun(top, thresholds));
+    }
+
+    @GetMapping(path = "/update-balances/dry-run", produces = "application/x-ndjson")
+    @Operation(summary = "Stream a simulated balance update",
+               description = "Streams every balance change the next balance update would make as "
+                       + "newline-delimited JSON, followed by the statistics of the whole run as the last line")
+    public ResponseEntity<StreamingResponseBody> streamDryRunBalanceUpdate(
+            @RequestParam(defaultValue = "10") int top,
+            @RequestParam(name = "threshold", defaultValue = "") List<BigDecimal> thresholds) {
+        InterestRunDiff.checkLimits(top, thresholds.size());
+        StreamingResponseBody body = outputStream -> {
+            InterestRunDryRunResponse report = dryRunService.streamDryRun(top, thresholds,
+                    change -> writeLine(outputStream, change));
+            writeLine(outputStream, report);
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/update-balances/{jobId}")
+    @Operation(summary = "Get balance update status",
+               description = "Returns the state, processed count, throughput and ETA of a balance update job")
+    public ResponseEntity<InterestRunStatusResponse> getBalanceUpdateStatus(@PathVariable Long jobId) {
+        return ResponseEntity.of(timeDepositService.getBalanceUpdateStatus(jobId));
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @ExceptionHandler(InterestRunInProgressException.class)
+    public ResponseEntity<String> handleRunInProgress(InterestRunInProgressException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<String> handleInsufficientBalance(InsufficientBalanceException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidArgument(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package org.ikigaidigital.adapter.web;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset page of time deposits.
+ * {@code nextCursor} is passed as {@code after} to fetch the following page,
+ * and is null on the last page.
+ */
+public class TimeDepositPageResponse {
+
+    private List<TimeDepositResponse> items;
+    private Integer nextCursor;
+
+    public TimeDepositPageResponse(List<TimeDepositResponse> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TimeDepositResponse> getItems() {
+        return items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,71 @@
+package org.ikigaidigital.adapter.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes {@link TimeDepositResponse}s and their withdrawals field by field
+ * instead of through Jackson's bean introspection and reflective getter
+ * calls. Registered with every {@code ObjectMapper} Spring Boot builds, so it
+ * serves JSON, NDJSON, CBOR and Smile alike.
+ *
+ * The output is the same as the default bean serialization: properties in
+ * declaration order, nulls included, dates as ISO {@code yyyy-MM-dd} strings.
+ */
+@JsonComponent
+public class TimeDepositResponseSerializer extends StdSerializer<TimeDepositResponse> {
+
+    public TimeDepositResponseSerializer() {
+        super(TimeDepositResponse.class);
+    }
+
+    @Override
+    public void serialize(TimeDepositResponse deposit, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject(deposit, 5);
+        generator.writeNumberField("id", deposit.getId());
+        generator.writeStringField("planType", deposit.getPlanType());
+        generator.writeFieldName("balance");
+        if (deposit.getBalance() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(deposit.getBalance());
+        }
+        generator.writeNumberField("days", deposit.getDays());
+        generator.writeFieldName("withdrawals");
+        writeWithdrawals(deposit.getWithdrawals(), generator);
+        generator.writeEndObject();
+    }
+
+    private static void writeWithdrawals(List<WithdrawalResponse> withdrawals, JsonGenerator generator)
+            throws IOException {
+        if (withdrawals == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray(withdrawals, withdrawals.size());
+        for (WithdrawalResponse withdrawal : withdrawals) {
+            generator.writeStartObject(withdrawal, 3);
+            generator.writeFieldName("id");
+            if (withdrawal.getId() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(withdrawal.getId());
+            }
+            generator.writeNumberField("amount", withdrawal.getAmount());
+            generator.writeFieldName("date");
+            if (withdrawal.getDate() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(withdrawal.getDate().toString());
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,32 @@
+package org.ikigaidigital.adapter.web;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for a withdrawal to be made from a time deposit.
+ */
+public class WithdrawalRequest {
+
+    private BigDecimal amount;
+    private LocalDate date;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    /**
+     * Value date of the withdrawal, or null for today (UTC).
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+}
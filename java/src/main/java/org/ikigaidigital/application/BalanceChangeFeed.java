@@ -0,0 +1,207 @@
+package org.ikigaidigital.application;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ikigaidigital.adapter.persistence.BalanceChange;
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.web.BalanceChangeResponse;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the published balance changes to streaming clients, and records
+ * the acknowledgements that let the {@link BalanceChangeRelay} prune them.
+ *
+ * A stream first reads the backlog after the client's offset in batches of
+ * {@code change-feed.batch-size}, then waits for the relay to publish more.
+ * The next batch is only read once the previous one has been written to the
+ * client, so a slow client slows down its own stream rather than buffering
+ * changes in memory, and no stream holds a connection while it waits.
+ * Streams wake up when this instance publishes changes, and at least every
+ * {@code change-feed.relay-interval} for changes published by other
+ * instances. At most {@code change-feed.max-subscribers} streams are served
+ * at once (published as {@code change.feed.subscribers}).
+ */
+@Service
+public class BalanceChangeFeed {
+
+    private static final Pattern CONSUMER = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+
+    private final BalanceChangeOutbox changeOutbox;
+    private final ChangeFeedProperties properties;
+    private final Semaphore subscribers;
+    private final Clock clock;
+    private final Object publication = new Object();
+    private long publications;
+
+    public BalanceChangeFeed(BalanceChangeOutbox changeOutbox,
+                             ChangeFeedProperties properties,
+                             MeterRegistry registry) {
+        this.changeOutbox = changeOutbox;
+        this.properties = properties;
+        this.subscribers = new Semaphore(properties.getMaxSubscribers());
+        this.clock = Clock.systemUTC();
+        Gauge.builder("change.feed.subscribers", this,
+                        feed -> properties.getMaxSubscribers() - feed.subscribers.availablePermits())
+                .description("Balance change streams being served")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream of the changes after offset {@code since}.
+     *
+     * @throws IllegalArgumentException if {@code since} is negative or after the latest published change
+     * @throws ChangeFeedPrunedException if changes after {@code since} have been pruned
+     * @throws ChangeFeedBusyException if the maximum number of streams is being served
+     */
+    public Subscription subscribe(long since) {
+        BalanceChangeOutbox.FeedState state = changeOutbox.findFeedState();
+        if (since < 0 || since > state.lastPosition()) {
+            throw new IllegalArgumentException("since must be between 0 and the latest offset, "
+                    + state.lastPosition());
+        }
+        if (since < state.prunedThrough()) {
+            throw new ChangeFeedPrunedException(since, state.prunedThrough());
+        }
+        if (!subscribers.tryAcquire()) {
+            throw new ChangeFeedBusyException(properties.getMaxSubscribers());
+        }
+        return new Subscription(since);
+    }
+
+    /**
+     * Records that the consumer has processed every change up to {@code offset}.
+     *
+     * @throws IllegalArgumentException if the consumer name or offset is invalid
+     */
+    public void acknowledge(String consumer, Long offset) {
+        if (consumer == null || !CONSUMER.matcher(consumer).matches()) {
+            throw new IllegalArgumentException(
+                    "Consumer names may only contain letters, digits, '.', '_' and '-'");
+        }
+        long lastPosition = changeOutbox.findFeedState().lastPosition();
+        if (offset == null || offset < 0 || offset > lastPosition) {
+            throw new IllegalArgumentException("offset must be between 0 and the latest offset, " + lastPosition);
+        }
+        changeOutbox.acknowledge(consumer, offset, clock.instant());
+    }
+
+    /**
+     * Wakes up the streams waiting for changes.
+     */
+    void published() {
+        synchronized (publication) {
+            publications++;
+            publication.notifyAll();
+        }
+    }
+
+    private void awaitPublication(long seen, long timeoutNanos) throws InterruptedException {
+        synchronized (publication) {
+            long deadline = System.nanoTime() + timeoutNanos;
+            long remaining = timeoutNanos;
+            while (publications == seen && remaining > 0) {
+                TimeUnit.NANOSECONDS.timedWait(publication, remaining);
+                remaining = deadline - System.nanoTime();
+            }
+        }
+    }
+
+    private long publications() {
+        synchronized (publication) {
+            return publications;
+        }
+    }
+
+    /**
+     * Receives the batches of a stream, and a call when it has been idle for
+     * {@code change-feed.heartbeat-interval}. Both block while the client is
+     * not accepting data.
+     */
+    public interface Listener {
+
+        void onChanges(long lastOffset, List<BalanceChangeResponse> changes);
+
+        void onIdle();
+    }
+
+    /**
+     * One client's stream; holds its place among the served streams until
+     * closed. Closing it also ends {@link #stream(Listener)}, and callers
+     * close it once the request has completed, whether or not it streamed.
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long offset;
+
+        private Subscription(long since) {
+            this.offset = since;
+        }
+
+        /**
+         * Sends the changes after the offset subscribed at until
+         * {@code change-feed.stream-duration} has passed, the listener
+         * throws or the subscription is closed.
+         *
+         * @throws ChangeFeedPrunedException if the stream falls behind pruning
+         */
+        public void stream(Listener listener) {
+            long start = System.nanoTime();
+            long streamNanos = properties.getStreamDuration().toNanos();
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            long pollNanos = properties.getRelayInterval().toNanos();
+            long lastSent = start;
+            try {
+                while (!closed.get() && System.nanoTime() - start < streamNanos) {
+                    long seen = publications();
+                    List<BalanceChange> batch = changeOutbox.findAfter(offset, properties.getBatchSize());
+                    if (!batch.isEmpty()) {
+                        if (batch.get(0).position() != offset + 1) {
+                            throw new ChangeFeedPrunedException(offset, batch.get(0).position() - 1);
+                        }
+                        offset = batch.get(batch.size() - 1).position();
+                        listener.onChanges(offset, batch.stream().map(BalanceChangeFeed::toResponse).toList());
+                        lastSent = System.nanoTime();
+                        continue;
+                    }
+                    if (System.nanoTime() - lastSent >= heartbeatNanos) {
+                        listener.onIdle();
+                        lastSent = System.nanoTime();
+                    }
+                    long untilHeartbeat = heartbeatNanos - (System.nanoTime() - lastSent);
+                    long untilEnd = streamNanos - (System.nanoTime() - start);
+                    awaitPublication(seen, Math.min(pollNanos, Math.min(untilHeartbeat, untilEnd)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Offset of the last change sent.
+         */
+        public long offset() {
+            return offset;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.release();
+            }
+        }
+    }
+
+    private static BalanceChangeResponse toResponse(BalanceChange change) {
+        return new BalanceChangeResponse(change.position(), change.depositId(), change.cause().name(),
+                change.runId(), change.amount() == null ? null : change.amount().toBigDecimal(),
+                change.balance().toBigDecimal(), change.changedAt());
+    }
+}
@@ -0,0 +1,98 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+/**
+ * Moves balance changes from the outbox into the feed and prunes them once
+ * consumed, every {@code change-feed.relay-interval} from startup.
+ *
+ * Publishing gives committed changes consecutive positions in id order, in
+ * transactions of {@code change-feed.relay-batch-size} changes, until none
+ * are left; a change committed late is published after those committed
+ * before it. Streams on this instance are woken up after each transaction.
+ * Pruning deletes the changes that every consumer has acknowledged, ignoring
+ * consumers that have not acknowledged for {@code change-feed.consumer-expiry};
+ * without consumers, nothing is pruned. Instances share the work: a relay
+ * that finds the feed locked by another skips its round.
+ */
+@Component
+public class BalanceChangeRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceChangeRelay.class);
+
+    private final BalanceChangeOutbox changeOutbox;
+    private final BalanceChangeFeed changeFeed;
+    private final ChangeFeedProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    public BalanceChangeRelay(BalanceChangeOutbox changeOutbox,
+                              BalanceChangeFeed changeFeed,
+                              ChangeFeedProperties properties,
+                              TaskScheduler taskScheduler,
+                              PlatformTransactionManager transactionManager) {
+        this.changeOutbox = changeOutbox;
+        this.changeFeed = changeFeed;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        taskScheduler.scheduleWithFixedDelay(this::relay, properties.getRelayInterval());
+    }
+
+    /**
+     * Publishes every committed change, then prunes acknowledged ones.
+     */
+    public void relay() {
+        publish();
+        prune();
+    }
+
+    /**
+     * @return the number of changes published
+     */
+    public long publish() {
+        long total = 0;
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> changeOutbox.publish(properties.getRelayBatchSize()));
+            if (published > 0) {
+                changeFeed.published();
+                total += published;
+            }
+        } while (published == properties.getRelayBatchSize());
+        return total;
+    }
+
+    /**
+     * @return the number of changes pruned
+     */
+    public long prune() {
+        long total = 0;
+        int pruned;
+        do {
+            pruned = transactionTemplate.execute(status -> changeOutbox.prune(
+                    clock.instant().minus(properties.getConsumerExpiry()), properties.getRelayBatchSize()));
+            total += pruned;
+        } while (pruned == properties.getRelayBatchSize());
+        if (total > 0) {
+            log.debug("Pruned {} acknowledged balance changes", total);
+        }
+        return total;
+    }
+}
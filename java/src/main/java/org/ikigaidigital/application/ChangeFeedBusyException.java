@@ -0,0 +1,12 @@
+package org.ikigaidigital.application;
+
+/**
+ * Thrown when a stream of the balance change feed is requested while the
+ * maximum number of streams is being served.
+ */
+public class ChangeFeedBusyException extends RuntimeException {
+
+    public ChangeFeedBusyException(int maxSubscribers) {
+        super("The change feed is serving its maximum of " + maxSubscribers + " streams; retry later");
+    }
+}
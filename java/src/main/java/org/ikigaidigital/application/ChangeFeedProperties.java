@@ -0,0 +1,108 @@
+package org.ikigaidigital.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Relay and delivery of the balance change feed, bound from
+ * {@code change-feed.*}.
+ */
+@ConfigurationProperties(prefix = "change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Delay between relay rounds, each of which publishes every committed
+     * change and prunes acknowledged ones.
+     */
+    private Duration relayInterval = Duration.ofMillis(500);
+
+    /**
+     * Changes published or pruned per relay transaction.
+     */
+    private int relayBatchSize = 10_000;
+
+    /**
+     * Most changes sent in one event of a stream.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Most streams served at the same time.
+     */
+    private int maxSubscribers = 16;
+
+    /**
+     * Idle time after which a stream sends a comment, so dead connections
+     * are detected.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * How long a stream is served before it ends and the client reconnects
+     * with its last event id; below {@code spring.mvc.async.request-timeout}.
+     */
+    private Duration streamDuration = Duration.ofMinutes(10);
+
+    /**
+     * Consumers that have not acknowledged for this long stop holding back
+     * the pruning of changes.
+     */
+    private Duration consumerExpiry = Duration.ofDays(7);
+
+    public Duration getRelayInterval() {
+        return relayInterval;
+    }
+
+    public void setRelayInterval(Duration relayInterval) {
+        this.relayInterval = relayInterval;
+    }
+
+    public int getRelayBatchSize() {
+        return relayBatchSize;
+    }
+
+    public void setRelayBatchSize(int relayBatchSize) {
+        this.relayBatchSize = relayBatchSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getStreamDuration() {
+        return streamDuration;
+    }
+
+    public void setStreamDuration(Duration streamDuration) {
+        this.streamDuration = streamDuration;
+    }
+
+    public Duration getConsumerExpiry() {
+        return consumerExpiry;
+    }
+
+    public void setConsumerExpiry(Duration consumerExpiry) {
+        this.consumerExpiry = consumerExpiry;
+    }
+}
@@ -0,0 +1,13 @@
+package org.ikigaidigital.application;
+
+/**
+ * Thrown when changes a client asks for have already been pruned from the
+ * balance change feed.
+ */
+public class ChangeFeedPrunedException extends RuntimeException {
+
+    public ChangeFeedPrunedException(long since, long prunedThrough) {
+        super("Changes after offset " + since + " have been pruned through offset " + prunedThrough
+                + "; reload the deposits and continue from offset " + prunedThrough);
+    }
+}
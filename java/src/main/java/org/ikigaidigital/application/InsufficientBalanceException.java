@@ -0,0 +1,18 @@
+package org.ikigaidigital.application;
+
+/**
+ * Thrown when a withdrawal exceeds the balance of its time deposit.
+ */
+public class InsufficientBalanceException extends RuntimeException {
+
+    private final int depositId;
+
+    public InsufficientBalanceException(int depositId) {
+        super("Time deposit " + depositId + " has insufficient balance for this withdrawal");
+        this.depositId = depositId;
+    }
+
+    public int getDepositId() {
+        return depositId;
+    }
+}
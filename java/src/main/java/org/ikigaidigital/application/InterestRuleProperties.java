@@ -0,0 +1,105 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interest plans bound from {@code interest-rules.plans[n].*}, used when the
+ * {@code interest_plans} table is empty. Defaults to the basic, student and
+ * premium plans.
+ */
+@ConfigurationProperties(prefix = "interest-rules")
+public class InterestRuleProperties {
+
+    private List<Plan> plans = new ArrayList<>(List.of(
+            Plan.of(InterestPlan.BASIC), Plan.of(InterestPlan.STUDENT), Plan.of(InterestPlan.PREMIUM)));
+
+    public List<Plan> getPlans() {
+        return plans;
+    }
+
+    public void setPlans(List<Plan> plans) {
+        this.plans = plans;
+    }
+
+    public static class Plan {
+
+        private String planType;
+
+        private double annualRate;
+
+        /**
+         * Deposits accrue once they are older than this many days.
+         */
+        private int minDays;
+
+        /**
+         * Deposits stop accruing once they are older than this many days.
+         */
+        private int maxDays = Integer.MAX_VALUE;
+
+        /**
+         * Compounding periods per year; interest is credited monthly at the
+         * equivalent effective rate.
+         */
+        private int compoundingPerYear = InterestPlan.MONTHLY;
+
+        static Plan of(InterestPlan plan) {
+            Plan properties = new Plan();
+            properties.setPlanType(plan.getPlanType());
+            properties.setAnnualRate(plan.getAnnualRate());
+            properties.setMinDays(plan.getMinDays());
+            properties.setMaxDays(plan.getMaxDays());
+            properties.setCompoundingPerYear(plan.getCompoundingPerYear());
+            return properties;
+        }
+
+        InterestRuleTable.Definition toDefinition() {
+            return new InterestRuleTable.Definition(planType, annualRate, minDays, maxDays, compoundingPerYear);
+        }
+
+        public String getPlanType() {
+            return planType;
+        }
+
+        public void setPlanType(String planType) {
+            this.planType = planType;
+        }
+
+        public double getAnnualRate() {
+            return annualRate;
+        }
+
+        public void setAnnualRate(double annualRate) {
+            this.annualRate = annualRate;
+        }
+
+        public int getMinDays() {
+            return minDays;
+        }
+
+        public void setMinDays(int minDays) {
+            this.minDays = minDays;
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        public void setMaxDays(int maxDays) {
+            this.maxDays = maxDays;
+        }
+
+        public int getCompoundingPerYear() {
+            return compoundingPerYear;
+        }
+
+        public void setCompoundingPerYear(int compoundingPerYear) {
+            this.compoundingPerYear = compoundingPerYear;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.ikigaidigital.application;
+
+import jakarta.annotation.PostConstruct;
+import org.ikigaidigital.adapter.persistence.InterestPlanDefinitionRepository;
+import org.ikigaidigital.domain.InterestPlanDefinition;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Loads interest plans, compiles them into an {@link InterestRuleTable} and
+ * installs it in {@link InterestRules}, once at startup and again on every
+ * {@link #reload()}.
+ *
+ * Plans come from the {@code interest_plans} table, or from
+ * {@link InterestRuleProperties} while that table is empty. Installing a table
+ * is a single reference swap: runs already in flight keep the snapshot they
+ * started with, and the next run picks up the new rules. Invalid plans are
+ * rejected and leave the current table in place.
+ */
+@Service
+public class InterestRuleService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestRuleService.class);
+
+    private final InterestPlanDefinitionRepository definitionRepository;
+    private final InterestRuleProperties properties;
+    private final InterestRules rules;
+
+    public InterestRuleService(InterestPlanDefinitionRepository definitionRepository,
+                               InterestRuleProperties properties,
+                               InterestRules rules) {
+        this.definitionRepository = definitionRepository;
+        this.properties = properties;
+        this.rules = rules;
+    }
+
+    @PostConstruct
+    void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Recompiles the plans and installs them as the current rule table.
+     *
+     * @throws IllegalArgumentException if the plans are invalid
+     */
+    public synchronized InterestRuleTable reload() {
+        List<InterestPlanDefinition> stored = definitionRepository.findAllByOrderByPlanType();
+        List<InterestRuleTable.Definition> definitions = stored.isEmpty()
+                ? properties.getPlans().stream().map(InterestRuleProperties.Plan::toDefinition).toList()
+                : stored.stream().map(InterestPlanDefinition::toDefinition).toList();
+
+        InterestRuleTable table = InterestRuleTable.compile(rules.current().version() + 1, definitions);
+        rules.install(table);
+        log.info("Installed interest rules version {} from {}: {}", table.version(),
+                stored.isEmpty() ? "configuration" : "database", table.plans());
+        return table;
+    }
+
+    public InterestRuleTable current() {
+        return rules.current();
+    }
+}
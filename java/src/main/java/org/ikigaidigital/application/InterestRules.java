@@ -0,0 +1,33 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link InterestRuleTable} in use by this application context.
+ *
+ * The table is swapped atomically by {@link #install}, which only
+ * {@link InterestRuleService} calls. Callers take a snapshot with
+ * {@link #current()} and keep using it, so a reload never changes the rules
+ * under a run that is already in flight. Until the first install the table is
+ * {@link InterestRuleTable#DEFAULT}.
+ */
+@Component
+public class InterestRules {
+
+    private volatile InterestRuleTable current = InterestRuleTable.DEFAULT;
+
+    /**
+     * The table currently in use.
+     */
+    public InterestRuleTable current() {
+        return current;
+    }
+
+    /**
+     * Makes {@code table} the current table. Snapshots taken earlier are unaffected.
+     */
+    void install(InterestRuleTable table) {
+        current = table;
+    }
+}
@@ -0,0 +1,139 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.adapter.persistence.DepositBatchRepository;
+import org.ikigaidigital.adapter.web.DepositChangeResponse;
+import org.ikigaidigital.adapter.web.InterestRunDryRunResponse;
+import org.ikigaidigital.adapter.web.PlanDryRunResponse;
+import org.ikigaidigital.adapter.web.ThresholdCrossingResponse;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.ikigaidigital.domain.InterestRunDiff;
+import org.ikigaidigital.domain.Money;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Simulates the next interest run without writing anything.
+ *
+ * The deposits the run would select, those without an accrual for the current
+ * period, are read in columnar batches in one read-only, repeatable-read
+ * transaction, credited in memory with {@link InterestEngine} and aggregated
+ * into an {@link InterestRunDiff}. Every batch thus reads the same snapshot,
+ * so withdrawals and interest chunks committing meanwhile never show up in
+ * part of a report. Neither the run lock nor any row lock is taken, and
+ * memory stays constant whatever the size of the book.
+ */
+@Service
+public class InterestRunDryRunService {
+
+    /**
+     * Deposits simulated per batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    private final DepositBatchRepository depositBatchRepository;
+    private final InterestRules interestRules;
+    private final Clock clock;
+
+    public InterestRunDryRunService(DepositBatchRepository depositBatchRepository, InterestRules interestRules) {
+        this.depositBatchRepository = depositBatchRepository;
+        this.interestRules = interestRules;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Simulates the next interest run and returns its statistics.
+     *
+     * @param top        number of largest changes to report
+     * @param thresholds balances to count crossings of
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public InterestRunDryRunResponse dryRun(int top, List<BigDecimal> thresholds) {
+        return toResponse(simulate(top, thresholds, null));
+    }
+
+    /**
+     * Simulates the next interest run, passing every deposit it would credit
+     * to {@code changes} in id order, and returns its statistics.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public InterestRunDryRunResponse streamDryRun(int top, List<BigDecimal> thresholds,
+                                                 Consumer<DepositChangeResponse> changes) {
+        return toResponse(simulate(top, thresholds, changes));
+    }
+
+    private Simulation simulate(int top, List<BigDecimal> thresholds, Consumer<DepositChangeResponse> changes) {
+        long[] thresholdCents = thresholds.stream().mapToLong(threshold -> Money.of(threshold).cents()).toArray();
+        InterestRunDiff diff = new InterestRunDiff(interestRules.current(), top, thresholdCents);
+        InterestRuleTable rules = diff.rules();
+        String period = YearMonth.now(clock).toString();
+
+        DepositBatch batch = new DepositBatch(BATCH_SIZE);
+        long[] before = new long[BATCH_SIZE];
+        int afterId = Integer.MIN_VALUE;
+        do {
+            depositBatchRepository.loadRange(afterId, Integer.MAX_VALUE, period, rules, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                before[i] = batch.balanceCents(i);
+            }
+            InterestEngine.applyMonthlyInterest(batch, rules);
+            diff.add(batch, before);
+            if (changes != null) {
+                for (int i = 0; i < batch.size(); i++) {
+                    if (batch.balanceCents(i) != before[i]) {
+                        changes.accept(new DepositChangeResponse(batch.id(i),
+                                rules.plan(batch.planCode(i)).getPlanType(), batch.days(i),
+                                toAmount(before[i]), toAmount(batch.balanceCents(i))));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.lastId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return new Simulation(period, diff);
+    }
+
+    private static InterestRunDryRunResponse toResponse(Simulation simulation) {
+        InterestRunDiff diff = simulation.diff();
+        InterestRuleTable rules = diff.rules();
+
+        List<PlanDryRunResponse> plans = new ArrayList<>();
+        for (int code = 0; code < rules.size(); code++) {
+            if (diff.depositCount(code) > 0) {
+                plans.add(new PlanDryRunResponse(rules.plan(code).getPlanType(), diff.depositCount(code),
+                        diff.creditedCount(code), toAmount(diff.balanceCents(code)),
+                        toAmount(diff.interestCents(code)), toAmount(diff.largestInterestCents(code))));
+            }
+        }
+        List<DepositChangeResponse> largestChanges = diff.largestChanges().stream()
+                .map(change -> new DepositChangeResponse(change.id(),
+                        rules.plan(change.planCode()).getPlanType(), change.days(),
+                        toAmount(change.beforeCents()), toAmount(change.afterCents())))
+                .toList();
+        long[] thresholdCents = diff.thresholdCents();
+        List<ThresholdCrossingResponse> crossings = new ArrayList<>(thresholdCents.length);
+        for (int i = 0; i < thresholdCents.length; i++) {
+            crossings.add(new ThresholdCrossingResponse(toAmount(thresholdCents[i]), diff.crossings(i)));
+        }
+        return new InterestRunDryRunResponse(simulation.period(), rules.version(), diff.depositCount(),
+                diff.creditedCount(), toAmount(diff.balanceCents()), toAmount(diff.interestCents()),
+                plans, largestChanges, crossings);
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return Money.ofCents(cents).toBigDecimal();
+    }
+
+    private record Simulation(String period, InterestRunDiff diff) {
+    }
+}
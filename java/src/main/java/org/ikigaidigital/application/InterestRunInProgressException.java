@@ -0,0 +1,23 @@
+package org.ikigaidigital.application;
+
+/**
+ * Thrown when an interest run is requested while another one holds the run lock.
+ */
+public class InterestRunInProgressException extends RuntimeException {
+
+    private final Long activeRunId;
+
+    public InterestRunInProgressException(Long activeRunId) {
+        super(activeRunId == null
+                ? "An interest run is already in progress"
+                : "Interest run " + activeRunId + " is already in progress");
+        this.activeRunId = activeRunId;
+    }
+
+    /**
+     * Id of the unfinished run, or null if it is not known yet.
+     */
+    public Long getActiveRunId() {
+        return activeRunId;
+    }
+}
@@ -0,0 +1,155 @@
+package org.ikigaidigital.application;
+
+import jakarta.annotation.PreDestroy;
+import org.ikigaidigital.adapter.persistence.InterestRunLock;
+import org.ikigaidigital.adapter.persistence.InterestRunPartitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.web.InterestRunStatusResponse;
+import org.ikigaidigital.domain.InterestRun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Runs interest runs as background jobs.
+ *
+ * The run row doubles as the job record, so job state survives a restart and
+ * an unfinished run is resumed on startup. At most one run is active per book:
+ * a job holds the {@link InterestRunLock} from submission until its run ends,
+ * and a submission that cannot take the lock is rejected. Jobs execute on a
+ * dedicated single-threaded executor.
+ */
+@Component
+public class InterestRunJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestRunJobs.class);
+
+    private final InterestRunner interestRunner;
+    private final InterestRunLock runLock;
+    private final InterestRunRepository interestRunRepository;
+    private final InterestRunPartitionRepository partitionRepository;
+    private final InterestRunProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+    private final Clock clock;
+
+    public InterestRunJobs(InterestRunner interestRunner,
+                           InterestRunLock runLock,
+                           InterestRunRepository interestRunRepository,
+                           InterestRunPartitionRepository partitionRepository,
+                           InterestRunProperties properties) {
+        this.interestRunner = interestRunner;
+        this.runLock = runLock;
+        this.interestRunRepository = interestRunRepository;
+        this.partitionRepository = partitionRepository;
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+
+        // one worker plus one queued job covers a lock released just before its worker returns
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("interest-run-job-");
+        executor.initialize();
+    }
+
+    /**
+     * Starts a new run, or resumes the unfinished one, in the background.
+     *
+     * @return the status of the submitted run
+     * @throws InterestRunInProgressException if a run is already active
+     */
+    public InterestRunStatusResponse submit() {
+        InterestRunLock.Lease lease = runLock.tryAcquire()
+                .orElseThrow(() -> new InterestRunInProgressException(activeRunId()));
+        try {
+            InterestRun run = interestRunner.startOrResume();
+            executor.execute(() -> execute(run.getId(), lease));
+            return toStatus(run);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs (or resumes) an interest run on the calling thread.
+     *
+     * @return the id of the completed run
+     * @throws InterestRunInProgressException if a run is already active
+     */
+    public Long runNow() {
+        try (InterestRunLock.Lease lease = runLock.tryAcquire()
+                .orElseThrow(() -> new InterestRunInProgressException(activeRunId()))) {
+            return interestRunner.run();
+        }
+    }
+
+    /**
+     * Read-write rather than read-only, so a job polled right after its
+     * submission is read from the primary and not from a replica.
+     */
+    @Transactional
+    public Optional<InterestRunStatusResponse> status(Long runId) {
+        return interestRunRepository.findById(runId).map(this::toStatus);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedRun() {
+        if (!properties.isResumeOnStartup() || activeRunId() == null) {
+            return;
+        }
+        try {
+            InterestRunStatusResponse resumed = submit();
+            log.info("Resuming interest run {} of period {}", resumed.getJobId(), resumed.getPeriod());
+        } catch (InterestRunInProgressException e) {
+            log.info("Not resuming interest run: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void execute(Long runId, InterestRunLock.Lease lease) {
+        try (lease) {
+            interestRunner.execute(runId);
+        } catch (RuntimeException e) {
+            log.error("Interest run {} failed", runId, e);
+        }
+    }
+
+    private Long activeRunId() {
+        return interestRunRepository.findFirstByStatusOrderByIdDesc(InterestRun.Status.RUNNING)
+                .map(InterestRun::getId)
+                .orElse(null);
+    }
+
+    private InterestRunStatusResponse toStatus(InterestRun run) {
+        boolean running = run.getStatus() == InterestRun.Status.RUNNING;
+        long processed = running ? partitionRepository.sumProcessedCountByRunId(run.getId()) : run.getProcessedCount();
+        Instant end = running ? clock.instant() : run.getCompletedAt();
+        double seconds = Duration.between(run.getStartedAt(), end).toNanos() / 1e9;
+        double throughput = seconds > 0 ? processed / seconds : 0;
+
+        Long etaSeconds = null;
+        if (!running) {
+            etaSeconds = 0L;
+        } else if (throughput > 0 && run.getTotalCount() != null) {
+            etaSeconds = (long) Math.ceil(Math.max(0, run.getTotalCount() - processed) / throughput);
+        }
+        return new InterestRunStatusResponse(run.getId(), run.getStatus().name(), run.getPeriod(), processed,
+                run.getTotalCount(), throughput, etaSeconds, run.getStartedAt(), run.getCompletedAt(),
+                run.getFailureMessage());
+    }
+}
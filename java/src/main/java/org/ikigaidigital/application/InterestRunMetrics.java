@@ -0,0 +1,99 @@
+package org.ikigaidigital.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer meters of interest runs: a timer per chunk phase, deposits
+ * processed per plan type and the total interest paid.
+ *
+ * Chunks tally deposits by {@link InterestPlan#code()} of the run's rule
+ * table; deposit counters are looked up by plan type once per chunk and
+ * registered the first time a plan is seen, so plans added by a rule reload
+ * get their own counter.
+ */
+@Component
+public class InterestRunMetrics {
+
+    public enum Phase {
+        LOAD,
+        CALCULATE,
+        PERSIST
+    }
+
+    private final Timer[] phaseTimers;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> depositCounters = new ConcurrentHashMap<>();
+    private final Counter interestPaid;
+
+    public InterestRunMetrics(MeterRegistry registry, InterestRules rules) {
+        Phase[] phases = Phase.values();
+        this.phaseTimers = new Timer[phases.length];
+        for (Phase phase : phases) {
+            phaseTimers[phase.ordinal()] = Timer.builder("interest.run.phase")
+                    .description("Time spent per chunk in each phase of an interest run")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+
+        this.registry = registry;
+        for (InterestPlan plan : rules.current().plans()) {
+            depositCounter(plan);
+        }
+        depositCounter(InterestPlan.NONE);
+
+        this.interestPaid = Counter.builder("interest.run.interest.paid")
+                .description("Interest credited by committed interest run chunks")
+                .register(registry);
+    }
+
+    public Timer timer(Phase phase) {
+        return phaseTimers[phase.ordinal()];
+    }
+
+    public void record(ChunkTally tally) {
+        for (int code = 0; code < tally.deposits.length; code++) {
+            if (tally.deposits[code] > 0) {
+                depositCounter(tally.rules.plan(code)).increment(tally.deposits[code]);
+            }
+        }
+        interestPaid.increment(tally.interestPaid);
+    }
+
+    private Counter depositCounter(InterestPlan plan) {
+        String planType = plan.getPlanType() == null ? "none" : plan.getPlanType();
+        return depositCounters.computeIfAbsent(planType, tag -> Counter.builder("interest.run.deposits")
+                .description("Deposits processed by committed interest run chunks")
+                .tag("plan", tag)
+                .register(registry));
+    }
+
+    /**
+     * Deposits per plan and interest paid by one chunk, recorded once the
+     * chunk has committed.
+     */
+    static final class ChunkTally {
+
+        private final InterestRuleTable rules;
+        private final long[] deposits;
+        private double interestPaid;
+
+        ChunkTally(InterestRuleTable rules) {
+            this.rules = rules;
+            this.deposits = new long[rules.size()];
+        }
+
+        void add(byte planCode, double interest) {
+            deposits[planCode]++;
+            interestPaid += interest;
+        }
+    }
+}
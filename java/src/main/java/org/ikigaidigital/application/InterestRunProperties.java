@@ -0,0 +1,89 @@
+package org.ikigaidigital.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for chunked interest runs, bound from {@code interest-run.*}.
+ */
+@ConfigurationProperties(prefix = "interest-run")
+public class InterestRunProperties {
+
+    public enum Engine {
+        /**
+         * Loads TimeDeposit entities and applies TimeDepositCalculator.
+         */
+        ENTITY,
+        /**
+         * Loads columnar DepositBatches over JDBC and applies the batch kernel.
+         */
+        COLUMNAR
+    }
+
+    /**
+     * Number of deposits loaded, updated and committed per transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * How each chunk is loaded and calculated.
+     */
+    private Engine engine = Engine.ENTITY;
+
+    /**
+     * Number of id-range partitions a new run is split into, each processed by
+     * its own worker thread with its own connection and transactions. The
+     * connection pool must allow at least this many connections plus two (the
+     * run lock and the caller).
+     */
+    private int parallelism = 1;
+
+    /**
+     * Run partition workers on virtual threads (Java 21 only).
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * Resume an unfinished run in the background when the application starts.
+     */
+    private boolean resumeOnStartup = true;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isResumeOnStartup() {
+        return resumeOnStartup;
+    }
+
+    public void setResumeOnStartup(boolean resumeOnStartup) {
+        this.resumeOnStartup = resumeOnStartup;
+    }
+}
@@ -0,0 +1,414 @@
+package org.ikigaidigital.application;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.persistence.BalanceWriter;
+import org.ikigaidigital.adapter.persistence.DepositBatchRepository;
+import org.ikigaidigital.adapter.persistence.InterestAccrualLedger;
+import org.ikigaidigital.adapter.persistence.InterestRunPartitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestEngine;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.ikigaidigital.domain.InterestRun;
+import org.ikigaidigital.domain.InterestRunPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies monthly interest to every time deposit in fixed-size chunks.
+ *
+ * A run accrues the interest of one period, the current month in UTC. Every
+ * deposit it credits is recorded in the accrual ledger in the same transaction
+ * as its balance ({@link InterestAccrualLedger}), and chunks only select
+ * deposits without an accrual for the period. Starting another run for a
+ * period that has already been applied is therefore a no-op, and a retry after
+ * a failure only processes the deposits that are still missing. The same
+ * transaction records every credited deposit's new balance in the
+ * {@link BalanceChangeOutbox}.
+ *
+ * A run splits the deposit id space into {@code interest-run.parallelism}
+ * contiguous partitions, each processed by its own worker thread (virtual with
+ * {@code interest-run.virtual-threads}). Within a partition, deposits are read
+ * with keyset pagination on id. Each chunk is calculated, written through the
+ * configured {@link BalanceWriter} (or, with the columnar engine, loaded and
+ * written as a {@link DepositBatch}) and checkpointed in its own transaction,
+ * and the persistence context is cleared afterwards, so memory use and lock
+ * duration are bounded by the chunk size rather than by the number of deposits.
+ *
+ * Partitions are disjoint and every deposit is calculated independently, so a
+ * parallel run produces the same balances as a sequential one. Workers only
+ * lock the rows of their current chunk, and readers are never blocked by them.
+ * An unfinished run is resumed from the last committed id of each partition the
+ * next time a run is started. When a chunk fails, the other workers stop before
+ * their next chunk, and the run is marked failed only once every worker has
+ * returned, so no chunk of it commits after its callers release the run lock.
+ * The next run of the same period picks up the deposits it did not accrue.
+ *
+ * Withdrawals and other balance changes may commit while a run is in
+ * progress. Interest is calculated on the balance a chunk loaded and added to
+ * the stored balance as a delta, so a change committed in between is kept
+ * rather than overwritten. With the JPA writer, the entity version detects the
+ * change instead, and the chunk is retried up to {@value #MAX_CHUNK_ATTEMPTS}
+ * times. A chunk whose deposit was accrued by another transaction after the
+ * chunk loaded it fails to record its accruals and is rolled back and retried
+ * in the same way, so no deposit is ever credited twice in a period.
+ *
+ * A run snapshots the current {@link InterestRuleTable} when it is executed
+ * and uses it for all of its chunks, so reloading the interest rules takes
+ * effect with the next run and never mixes rules within one.
+ *
+ * Cached listing entries of a chunk are evicted once its transaction has
+ * committed, and the whole cache is dropped when the run completes. Phase
+ * timings are recorded per chunk, and deposit and interest counters once the
+ * chunk has committed ({@link InterestRunMetrics}).
+ */
+@Component
+public class InterestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestRunner.class);
+
+    /**
+     * Attempts per chunk when it fails on a concurrently updated deposit.
+     */
+    private static final int MAX_CHUNK_ATTEMPTS = 5;
+
+    private final TimeDepositRepository timeDepositRepository;
+    private final InterestRunRepository interestRunRepository;
+    private final InterestRunPartitionRepository partitionRepository;
+    private final BalanceWriter balanceWriter;
+    private final DepositBatchRepository depositBatchRepository;
+    private final InterestAccrualLedger accrualLedger;
+    private final BalanceChangeOutbox changeOutbox;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final InterestRunProperties properties;
+    private final InterestRules interestRules;
+    private final TimeDepositResponseCache responseCache;
+    private final InterestRunMetrics metrics;
+    private final Clock clock;
+
+    public InterestRunner(TimeDepositRepository timeDepositRepository,
+                          InterestRunRepository interestRunRepository,
+                          InterestRunPartitionRepository partitionRepository,
+                          BalanceWriter balanceWriter,
+                          DepositBatchRepository depositBatchRepository,
+                          InterestAccrualLedger accrualLedger,
+                          BalanceChangeOutbox changeOutbox,
+                          EntityManager entityManager,
+                          PlatformTransactionManager transactionManager,
+                          InterestRunProperties properties,
+                          InterestRules interestRules,
+                          TimeDepositResponseCache responseCache,
+                          InterestRunMetrics metrics) {
+        this.timeDepositRepository = timeDepositRepository;
+        this.interestRunRepository = interestRunRepository;
+        this.partitionRepository = partitionRepository;
+        this.balanceWriter = balanceWriter;
+        this.depositBatchRepository = depositBatchRepository;
+        this.accrualLedger = accrualLedger;
+        this.changeOutbox = changeOutbox;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.interestRules = interestRules;
+        this.responseCache = responseCache;
+        this.metrics = metrics;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Runs (or resumes) an interest run until every deposit has been processed.
+     *
+     * @return the id of the completed run
+     */
+    public Long run() {
+        Long runId = startOrResume().getId();
+        execute(runId);
+        return runId;
+    }
+
+    /**
+     * Returns the latest unfinished run, or creates a new run for the current
+     * period if there is none.
+     */
+    public InterestRun startOrResume() {
+        return transactionTemplate.execute(status ->
+                interestRunRepository.findFirstByStatusOrderByIdDesc(InterestRun.Status.RUNNING)
+                        .orElseGet(this::start));
+    }
+
+    /**
+     * Processes the pending partitions of a run and marks it completed, or
+     * failed if a chunk throws. Callers must ensure that a run is not executed
+     * by two callers at once.
+     */
+    public void execute(Long runId) {
+        // read-write, so the run is read from the primary even if it was created a moment ago
+        InterestRun run = transactionTemplate.execute(status -> interestRunRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Interest run " + runId + " not found")));
+
+        List<Long> pending = partitionRepository
+                .findByRunIdAndStatusOrderByPartitionIndex(runId, InterestRun.Status.RUNNING)
+                .stream()
+                .map(InterestRunPartition::getId)
+                .toList();
+        try {
+            processPartitions(pending, run.getPeriod(), interestRules.current());
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> interestRunRepository.findById(runId).orElseThrow()
+                    .fail(partitionRepository.sumProcessedCountByRunId(runId), String.valueOf(e.getMessage()),
+                            clock.instant()));
+            responseCache.invalidateAll();
+            throw e;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> interestRunRepository.findById(runId).orElseThrow()
+                .complete(partitionRepository.sumProcessedCountByRunId(runId), clock.instant()));
+        responseCache.invalidateAll();
+    }
+
+    /**
+     * Creates a run with partitions of roughly equal id ranges. The first and
+     * last partitions are open-ended, so deposits outside the current range are
+     * still covered.
+     */
+    private InterestRun start() {
+        String period = YearMonth.now(clock).toString();
+        InterestRun run = interestRunRepository.save(
+                new InterestRun(period, timeDepositRepository.countNotAccrued(period), clock.instant()));
+
+        Integer minId = timeDepositRepository.findMinId();
+        Integer maxId = timeDepositRepository.findMaxId();
+        int partitions = minId == null ? 1 : Math.max(1, properties.getParallelism());
+        long span = minId == null ? 0 : (long) maxId - minId + 1;
+
+        int startAfterId = Integer.MIN_VALUE;
+        for (int index = 0; index < partitions; index++) {
+            int endId = index == partitions - 1
+                    ? Integer.MAX_VALUE
+                    : (int) (minId + span * (index + 1) / partitions - 1);
+            partitionRepository.save(new InterestRunPartition(run.getId(), index, startAfterId, endId));
+            startAfterId = endId;
+        }
+        return run;
+    }
+
+    private void processPartitions(List<Long> partitionIds, String period, InterestRuleTable rules) {
+        int workers = Math.min(properties.getParallelism(), partitionIds.size());
+        AtomicBoolean stopped = new AtomicBoolean();
+        if (workers <= 1) {
+            partitionIds.forEach(partitionId -> processPartition(partitionId, period, rules, stopped));
+            return;
+        }
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("interest-run-");
+        executor.setConcurrencyLimit(workers);
+        executor.setVirtualThreads(properties.isVirtualThreads());
+        List<Future<?>> futures = new ArrayList<>();
+        Throwable failure = null;
+        try {
+            for (Long partitionId : partitionIds) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        processPartition(partitionId, period, rules, stopped);
+                    } catch (RuntimeException | Error e) {
+                        stopped.set(true);
+                        throw e;
+                    }
+                }));
+            }
+        } catch (RuntimeException e) {
+            stopped.set(true);
+            failure = e;
+        }
+
+        // every worker must have returned before the run may be failed and its lock released
+        boolean interrupted = false;
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                    break;
+                } catch (InterruptedException e) {
+                    stopped.set(true);
+                    interrupted = true;
+                }
+            }
+        }
+        executor.close();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Interest run partition failed", failure);
+        }
+        if (interrupted) {
+            throw new IllegalStateException("Interrupted while waiting for interest run partitions");
+        }
+    }
+
+    /**
+     * Processes the chunks of a partition until it is completed or
+     * {@code stopped} is set by a failing worker.
+     */
+    private void processPartition(Long partitionId, String period, InterestRuleTable rules, AtomicBoolean stopped) {
+        boolean more = true;
+        int attempt = 1;
+        while (more && !stopped.get()) {
+            try {
+                more = Boolean.TRUE.equals(
+                        transactionTemplate.execute(status -> processChunk(partitionId, period, rules)));
+                attempt = 1;
+            } catch (OptimisticLockingFailureException | OptimisticLockException | DuplicateKeyException e) {
+                if (attempt == MAX_CHUNK_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("Interest run partition {}: chunk conflicted with a concurrent update, retrying ({}/{})",
+                        partitionId, attempt, MAX_CHUNK_ATTEMPTS);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Processes the next chunk of a partition and returns whether more may follow.
+     */
+    private boolean processChunk(Long partitionId, String period, InterestRuleTable rules) {
+        InterestRunPartition partition = partitionRepository.findById(partitionId)
+                .orElseThrow(() -> new IllegalStateException("Interest run partition " + partitionId + " not found"));
+
+        int chunkSize = properties.getChunkSize();
+        InterestRunMetrics.ChunkTally tally = new InterestRunMetrics.ChunkTally(rules);
+        List<Integer> ids = properties.getEngine() == InterestRunProperties.Engine.COLUMNAR
+                ? processColumnarChunk(partition, period, chunkSize, rules, tally)
+                : processEntityChunk(partition, period, chunkSize, rules, tally);
+        if (!ids.isEmpty()) {
+            afterCommit(() -> {
+                responseCache.evictAll(ids);
+                metrics.record(tally);
+            });
+        }
+
+        boolean more = ids.size() == chunkSize;
+        if (!more) {
+            partition.complete(clock.instant());
+        }
+        log.info("Interest run {} partition {}: {} deposits processed, last id {}{}",
+                partition.getRunId(), partition.getPartitionIndex(), partition.getProcessedCount(),
+                partition.getLastProcessedId(), more ? "" : ", completed");
+
+        entityManager.flush();
+        entityManager.clear();
+        return more;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private List<Integer> processEntityChunk(InterestRunPartition partition, String period, int chunkSize,
+                                             InterestRuleTable rules, InterestRunMetrics.ChunkTally tally) {
+        List<TimeDeposit> chunk = metrics.timer(InterestRunMetrics.Phase.LOAD).record(() ->
+                timeDepositRepository.findNotAccruedInRange(
+                        partition.getLastProcessedId(), partition.getEndId(), period, Limit.of(chunkSize)));
+
+        if (!chunk.isEmpty()) {
+            long[] before = new long[chunk.size()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = chunk.get(i).getBalanceCents();
+            }
+            metrics.timer(InterestRunMetrics.Phase.CALCULATE).record(() ->
+                    new TimeDepositCalculator(rules).updateBalance(chunk));
+
+            Integer[] ids = new Integer[chunk.size()];
+            Long[] interestCents = new Long[chunk.size()];
+            for (int i = 0; i < ids.length; i++) {
+                TimeDeposit deposit = chunk.get(i);
+                ids[i] = deposit.getId();
+                interestCents[i] = deposit.getBalanceCents() - before[i];
+                tally.add(rules.code(deposit.getPlanType()), interestCents[i] / 100.0);
+            }
+            metrics.timer(InterestRunMetrics.Phase.PERSIST).record(() -> {
+                Instant now = clock.instant();
+                balanceWriter.write(chunk, interestCents);
+                accrualLedger.record(partition.getRunId(), period, now, ids, interestCents);
+                changeOutbox.recordInterest(partition.getRunId(), now, ids, interestCents);
+                entityManager.flush();
+            });
+            partition.advance(chunk.get(chunk.size() - 1).getId(), chunk.size());
+        }
+        return chunk.stream().map(TimeDeposit::getId).toList();
+    }
+
+    private List<Integer> processColumnarChunk(InterestRunPartition partition, String period, int chunkSize,
+                                               InterestRuleTable rules, InterestRunMetrics.ChunkTally tally) {
+        DepositBatch batch = metrics.timer(InterestRunMetrics.Phase.LOAD).record(() ->
+                depositBatchRepository.loadRange(
+                        partition.getLastProcessedId(), partition.getEndId(), period, rules,
+                        new DepositBatch(chunkSize)));
+
+        List<Integer> processedIds = new ArrayList<>(batch.size());
+        if (!batch.isEmpty()) {
+            long[] before = new long[batch.size()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = batch.balanceCents(i);
+            }
+            metrics.timer(InterestRunMetrics.Phase.CALCULATE).record(() ->
+                    InterestEngine.applyMonthlyInterest(batch, rules));
+
+            Integer[] ids = new Integer[batch.size()];
+            Long[] interestCents = new Long[batch.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = batch.id(i);
+                interestCents[i] = batch.balanceCents(i) - before[i];
+                tally.add(batch.planCode(i), interestCents[i] / 100.0);
+                processedIds.add(ids[i]);
+            }
+            metrics.timer(InterestRunMetrics.Phase.PERSIST).record(() -> {
+                Instant now = clock.instant();
+                depositBatchRepository.addInterest(ids, interestCents);
+                accrualLedger.record(partition.getRunId(), period, now, ids, interestCents);
+                changeOutbox.recordInterest(partition.getRunId(), now, ids, interestCents);
+            });
+            partition.advance(batch.lastId(), batch.size());
+        }
+        return processedIds;
+    }
+}
@@ -0,0 +1,40 @@
+package org.ikigaidigital.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the deposit listing cache, bound from {@code listing-cache.*}.
+ */
+@ConfigurationProperties(prefix = "listing-cache")
+public class ListingCacheProperties {
+
+    /**
+     * Maximum number of deposit responses kept; 0 disables caching.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a response is served after it was loaded, however it was
+     * invalidated; a backstop for changes that bypass eviction, such as
+     * writes made directly in the database.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(Duration expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+}
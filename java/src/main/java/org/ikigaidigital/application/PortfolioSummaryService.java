@@ -0,0 +1,126 @@
+package org.ikigaidigital.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ikigaidigital.adapter.persistence.PlanAggregate;
+import org.ikigaidigital.adapter.persistence.PlanAggregateRepository;
+import org.ikigaidigital.adapter.web.PlanSummaryResponse;
+import org.ikigaidigital.adapter.web.PortfolioSummaryResponse;
+import org.ikigaidigital.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serves the book's totals per plan type from {@code plan_aggregates}, one
+ * row per plan, and reconciles that table with a full scan of the deposits on
+ * {@code portfolio-aggregates.reconcile-cron} (hourly by default).
+ *
+ * Reconciliation reads both in one repeatable-read snapshot, so interest run
+ * chunks and withdrawals committing meanwhile are not mistaken for drift.
+ * Every plan whose stored totals differ is logged, counted in
+ * {@code portfolio.aggregates.drift} and overwritten with the scanned totals;
+ * if a concurrent change updates the same plan first, the repair is left to
+ * the next reconciliation.
+ */
+@Service
+public class PortfolioSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioSummaryService.class);
+
+    private final PlanAggregateRepository planAggregateRepository;
+    private final MeterRegistry registry;
+    private final TransactionTemplate reconcileTransaction;
+
+    public PortfolioSummaryService(PlanAggregateRepository planAggregateRepository,
+                                   MeterRegistry registry,
+                                   PlatformTransactionManager transactionManager) {
+        this.planAggregateRepository = planAggregateRepository;
+        this.registry = registry;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Returns the deposit count, balance and accrued interest of the book, in
+     * total and per plan type.
+     */
+    @Transactional(readOnly = true)
+    public PortfolioSummaryResponse getSummary() {
+        long depositCount = 0;
+        Money balance = Money.ZERO;
+        Money accruedInterest = Money.ZERO;
+        List<PlanSummaryResponse> plans = new ArrayList<>();
+        for (PlanAggregate aggregate : planAggregateRepository.findAll()) {
+            depositCount += aggregate.depositCount();
+            balance = balance.plus(aggregate.balance());
+            accruedInterest = accruedInterest.plus(aggregate.accruedInterest());
+            plans.add(new PlanSummaryResponse(aggregate.planType(), aggregate.depositCount(),
+                    aggregate.balance().toBigDecimal(), aggregate.accruedInterest().toBigDecimal()));
+        }
+        return new PortfolioSummaryResponse(depositCount, balance.toBigDecimal(), accruedInterest.toBigDecimal(),
+                plans);
+    }
+
+    @Scheduled(cron = "${portfolio-aggregates.reconcile-cron:0 30 * * * *}", zone = "UTC")
+    public void reconcileOnSchedule() {
+        reconcile();
+    }
+
+    /**
+     * Compares the stored aggregates with a full scan and repairs those that
+     * drifted.
+     *
+     * @return the plan types whose aggregates were repaired, empty if a
+     *         concurrent change prevented the repair
+     */
+    public List<String> reconcile() {
+        try {
+            return reconcileTransaction.execute(status -> {
+                Map<String, PlanAggregate> stored = new LinkedHashMap<>();
+                planAggregateRepository.findAll().forEach(aggregate -> stored.put(aggregate.planType(), aggregate));
+                List<String> drifted = new ArrayList<>();
+                for (PlanAggregate scanned : planAggregateRepository.scan()) {
+                    PlanAggregate aggregate = stored.remove(scanned.planType());
+                    if (!scanned.equals(aggregate)) {
+                        drift(scanned.planType(), aggregate, scanned);
+                        planAggregateRepository.save(scanned);
+                        drifted.add(scanned.planType());
+                    }
+                }
+                for (PlanAggregate aggregate : stored.values()) {
+                    drift(aggregate.planType(), aggregate, null);
+                    planAggregateRepository.delete(aggregate.planType());
+                    drifted.add(aggregate.planType());
+                }
+                return drifted;
+            });
+        } catch (ConcurrencyFailureException e) {
+            log.info("Plan aggregate reconciliation conflicted with a concurrent change, retrying next time: {}",
+                    e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void drift(String planType, PlanAggregate stored, PlanAggregate scanned) {
+        log.warn("Plan aggregate of {} drifted from the deposits: stored {}, scanned {}; repairing",
+                planType, Objects.toString(stored, "none"), Objects.toString(scanned, "none"));
+        Counter.builder("portfolio.aggregates.drift")
+                .description("Plan aggregates found to differ from a full scan and repaired")
+                .tag("plan", planType)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,25 @@
+package org.ikigaidigital.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Location of deposit book snapshots, bound from {@code snapshot.*}.
+ */
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotProperties {
+
+    /**
+     * Directory snapshots are written to and read from; created on first export.
+     */
+    private Path directory = Path.of("snapshots");
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,189 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.persistence.DepositSnapshot;
+import org.ikigaidigital.adapter.persistence.DepositSnapshotRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunLock;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.persistence.PlanAggregateRepository;
+import org.ikigaidigital.adapter.web.SnapshotDryRunResponse;
+import org.ikigaidigital.adapter.web.SnapshotResponse;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestProjection;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.ikigaidigital.domain.InterestRun;
+import org.ikigaidigital.domain.InterestRunDiff;
+import org.ikigaidigital.domain.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Exports the deposit book to named {@link DepositSnapshot} files, restores it
+ * from them, and simulates interest runs against them.
+ *
+ * An import replaces every deposit and withdrawal and holds the
+ * {@link InterestRunLock} while it does, so it never overlaps a run. In the
+ * same transaction it rebuilds the plan aggregates and records the imported
+ * balance of every deposit in the {@link BalanceChangeOutbox}. A dry run
+ * reads the mapped snapshot only; the database is not touched.
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,127}");
+
+    /**
+     * Deposits simulated per batch by {@link #dryRun(String, int)}.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    private final DepositSnapshotRepository snapshotRepository;
+    private final InterestRunLock runLock;
+    private final InterestRunRepository interestRunRepository;
+    private final PlanAggregateRepository planAggregateRepository;
+    private final BalanceChangeOutbox changeOutbox;
+    private final TimeDepositResponseCache responseCache;
+    private final InterestRules interestRules;
+    private final SnapshotProperties properties;
+    private final TransactionTemplate exportTransaction;
+    private final TransactionTemplate importTransaction;
+    private final Clock clock;
+
+    public SnapshotService(DepositSnapshotRepository snapshotRepository,
+                           InterestRunLock runLock,
+                           InterestRunRepository interestRunRepository,
+                           PlanAggregateRepository planAggregateRepository,
+                           BalanceChangeOutbox changeOutbox,
+                           TimeDepositResponseCache responseCache,
+                           InterestRules interestRules,
+                           SnapshotProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.runLock = runLock;
+        this.interestRunRepository = interestRunRepository;
+        this.planAggregateRepository = planAggregateRepository;
+        this.changeOutbox = changeOutbox;
+        this.responseCache = responseCache;
+        this.interestRules = interestRules;
+        this.properties = properties;
+        this.exportTransaction = new TransactionTemplate(transactionManager);
+        exportTransaction.setReadOnly(true);
+        exportTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Writes the current book to the named snapshot, replacing any file of that name
+     * once the export is complete; a failed export leaves it as it was.
+     */
+    public SnapshotResponse export(String name) {
+        Path path = resolve(name);
+        try {
+            Files.createDirectories(path.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create snapshot directory " + path.getParent(), e);
+        }
+        DepositSnapshot snapshot = exportTransaction.execute(status -> snapshotRepository.export(path, clock.instant()));
+        log.info("Exported {} deposits and {} withdrawals to snapshot {}",
+                snapshot.depositCount(), snapshot.withdrawalCount(), path);
+        return toResponse(name, snapshot);
+    }
+
+    /**
+     * Replaces the book with the contents of the named snapshot.
+     *
+     * @return the imported snapshot, or empty if there is none of that name
+     * @throws InterestRunInProgressException if an interest run is active
+     */
+    public Optional<SnapshotResponse> importSnapshot(String name) {
+        Optional<DepositSnapshot> snapshot = open(name);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        try (InterestRunLock.Lease lease = runLock.tryAcquire()
+                .orElseThrow(() -> new InterestRunInProgressException(activeRunId()))) {
+            importTransaction.executeWithoutResult(status -> {
+                snapshotRepository.importFrom(snapshot.get());
+                planAggregateRepository.rebuild();
+                changeOutbox.recordImport(clock.instant());
+            });
+        } finally {
+            responseCache.invalidateAll();
+        }
+        log.info("Imported {} deposits and {} withdrawals from snapshot {}",
+                snapshot.get().depositCount(), snapshot.get().withdrawalCount(), name);
+        return snapshot.map(imported -> toResponse(name, imported));
+    }
+
+    /**
+     * Simulates {@code months} monthly interest runs against the named
+     * snapshot with the current interest rules, in one pass over the mapping.
+     *
+     * @return the simulated totals, or empty if there is no snapshot of that name
+     */
+    public Optional<SnapshotDryRunResponse> dryRun(String name, int months) {
+        InterestProjection.checkMonths(months);
+        return open(name).map(snapshot -> {
+            InterestRunDiff diff = new InterestRunDiff(interestRules.current(), 0);
+            InterestRuleTable rules = diff.rules();
+            DepositBatch batch = new DepositBatch(BATCH_SIZE);
+            long[] before = new long[BATCH_SIZE];
+            for (int row = 0; row < snapshot.depositCount(); ) {
+                row = snapshot.fill(row, rules, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    before[i] = batch.balanceCents(i);
+                }
+                InterestProjection.project(batch, rules, months);
+                diff.add(batch, before);
+            }
+            return new SnapshotDryRunResponse(name, months, rules.version(), snapshot.depositCount(),
+                    Math.toIntExact(diff.creditedCount()), Money.ofCents(diff.balanceCents()).toBigDecimal(),
+                    Money.ofCents(diff.balanceCents() + diff.interestCents()).toBigDecimal());
+        });
+    }
+
+    /**
+     * Describes the named snapshot after verifying its checksum.
+     */
+    public Optional<SnapshotResponse> describe(String name) {
+        return open(name).map(snapshot -> toResponse(name, snapshot));
+    }
+
+    private Optional<DepositSnapshot> open(String name) {
+        Path path = resolve(name);
+        return Files.isRegularFile(path) ? Optional.of(DepositSnapshot.open(path)) : Optional.empty();
+    }
+
+    private Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Snapshot names may only contain letters, digits, '.', '_' and '-'");
+        }
+        return properties.getDirectory().resolve(name + ".tdsnap").toAbsolutePath();
+    }
+
+    private Long activeRunId() {
+        return interestRunRepository.findFirstByStatusOrderByIdDesc(InterestRun.Status.RUNNING)
+                .map(InterestRun::getId)
+                .orElse(null);
+    }
+
+    private static SnapshotResponse toResponse(String name, DepositSnapshot snapshot) {
+        return new SnapshotResponse(name, snapshot.depositCount(), snapshot.withdrawalCount(), snapshot.size(),
+                String.format("%08x", snapshot.checksum()), snapshot.createdAt());
+    }
+}
@@ -0,0 +1,79 @@
+package org.ikigaidigital.application;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.domain.Withdrawal;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached deposit responses once a transaction that inserted, updated
+ * or deleted a {@link TimeDeposit} or one of its {@link Withdrawal}s through
+ * JPA has committed.
+ */
+@Component
+public class TimeDepositCacheInvalidator implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final TimeDepositResponseCache cache;
+
+    public TimeDepositCacheInvalidator(TimeDepositResponseCache cache, EntityManagerFactory entityManagerFactory) {
+        this.cache = cache;
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evictFor(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evictFor(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evictFor(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == TimeDeposit.class || entityClass == Withdrawal.class;
+    }
+
+    private void evictFor(Object entity) {
+        if (entity instanceof TimeDeposit deposit) {
+            cache.evict(deposit.getId());
+        } else if (entity instanceof Withdrawal withdrawal) {
+            cache.evict(withdrawal.getTimeDepositId());
+        }
+    }
+}
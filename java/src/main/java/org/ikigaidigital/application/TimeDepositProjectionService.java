@@ -0,0 +1,119 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.persistence.DepositBatchRepository;
+import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.ikigaidigital.adapter.web.DepositProjectionResponse;
+import org.ikigaidigital.adapter.web.PlanProjectionResponse;
+import org.ikigaidigital.adapter.web.PortfolioProjectionResponse;
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestProjection;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.ikigaidigital.domain.Money;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Projects deposit balances months ahead with {@link InterestProjection}
+ * under the current interest rules, without changing any balance.
+ */
+@Service
+public class TimeDepositProjectionService {
+
+    /**
+     * Deposits loaded per batch by {@link #getPortfolioProjection(int)}.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    private final TimeDepositRepository timeDepositRepository;
+    private final DepositBatchRepository depositBatchRepository;
+    private final InterestRules interestRules;
+
+    public TimeDepositProjectionService(TimeDepositRepository timeDepositRepository,
+                                        DepositBatchRepository depositBatchRepository,
+                                        InterestRules interestRules) {
+        this.timeDepositRepository = timeDepositRepository;
+        this.depositBatchRepository = depositBatchRepository;
+        this.interestRules = interestRules;
+    }
+
+    /**
+     * Projects one deposit, with its balance at the end of every month.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DepositProjectionResponse> getProjection(int id, int months) {
+        InterestProjection.checkMonths(months);
+        return timeDepositRepository.findById(id).map(deposit -> project(deposit, months));
+    }
+
+    /**
+     * Projects every deposit of the book and sums the balances per plan type.
+     * The book is read in columnar batches and each deposit is projected over
+     * all months at once, so the cost is one pass over the book whatever the
+     * number of months. All batches are read in one repeatable-read
+     * transaction, so withdrawals and interest chunks committing meanwhile
+     * never show up in part of the totals.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public PortfolioProjectionResponse getPortfolioProjection(int months) {
+        InterestProjection.checkMonths(months);
+        InterestRuleTable rules = interestRules.current();
+        long[] counts = new long[rules.size()];
+        long[] balances = new long[rules.size()];
+        long[] projected = new long[rules.size()];
+
+        DepositBatch batch = new DepositBatch(BATCH_SIZE);
+        int afterId = Integer.MIN_VALUE;
+        do {
+            depositBatchRepository.loadPage(afterId, rules, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                counts[batch.planCode(i)]++;
+                balances[batch.planCode(i)] += batch.balanceCents(i);
+            }
+            InterestProjection.project(batch, rules, months);
+            for (int i = 0; i < batch.size(); i++) {
+                projected[batch.planCode(i)] += batch.balanceCents(i);
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.lastId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        List<PlanProjectionResponse> plans = new ArrayList<>();
+        long count = 0;
+        long balance = 0;
+        long projectedBalance = 0;
+        for (int code = 0; code < rules.size(); code++) {
+            count += counts[code];
+            balance += balances[code];
+            projectedBalance += projected[code];
+            if (counts[code] > 0) {
+                plans.add(new PlanProjectionResponse(rules.plan(code).getPlanType(), counts[code],
+                        toAmount(balances[code]), toAmount(projected[code])));
+            }
+        }
+        return new PortfolioProjectionResponse(months, count, toAmount(balance), toAmount(projectedBalance), plans);
+    }
+
+    private DepositProjectionResponse project(TimeDeposit deposit, int months) {
+        InterestPlan plan = interestRules.current().resolve(deposit.getPlanType());
+        long[] schedule = InterestProjection.scheduleCents(plan, deposit.getBalanceCents(), deposit.getDays(), months);
+        List<BigDecimal> amounts = new ArrayList<>(schedule.length);
+        for (long cents : schedule) {
+            amounts.add(toAmount(cents));
+        }
+        return new DepositProjectionResponse(deposit.getId(), deposit.getPlanType(), deposit.getDays(), months,
+                toAmount(deposit.getBalanceCents()), amounts.get(amounts.size() - 1), amounts);
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return Money.ofCents(cents).toBigDecimal();
+    }
+}
@@ -0,0 +1,155 @@
+package org.ikigaidigital.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.ikigaidigital.adapter.persistence.ReplicaRoutingDataSource;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, in-process cache of deposit responses (including their
+ * withdrawals) keyed by deposit id.
+ *
+ * Entries are evicted by {@link TimeDepositCacheInvalidator} when a deposit or
+ * one of its withdrawals changes through JPA, and by {@link InterestRunner}
+ * after each committed chunk and at the end of a run. Statistics are also
+ * published as the {@code cache.*} meters with {@code cache=time-deposits}.
+ *
+ * A load can read a deposit before a change commits and finish after the
+ * change's eviction, which would cache the old response. Every eviction
+ * therefore stamps its ids (hashed onto a fixed number of slots) with a new
+ * generation, and loaded responses whose slot was stamped after the load
+ * started are dropped again once the load has put them; they are still
+ * returned to that caller. Entries also expire {@code expireAfterWrite}
+ * after they were loaded.
+ *
+ * With read replicas, {@link #evict(Integer)} and {@link #invalidateAll()}
+ * also pin read-only transactions to the primary for a while
+ * ({@link ReplicaRoutingDataSource#pinToPrimary()}), so entries dropped after
+ * a write are not reloaded from a replica that has not replayed it yet. The
+ * chunk evictions of a running interest run do not, and replicas keep serving
+ * reads while it runs; the run's final invalidation does.
+ */
+@Component
+public class TimeDepositResponseCache {
+
+    /**
+     * Number of eviction generation slots; ids sharing a slot at worst drop
+     * each other's concurrent loads.
+     */
+    private static final int GENERATION_SLOTS = 4096;
+
+    private final Cache<Integer, TimeDepositResponse> cache;
+    private final ReplicaRoutingDataSource replicaRouting;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLongArray evictedAt = new AtomicLongArray(GENERATION_SLOTS);
+    private volatile long invalidatedAt;
+
+    public TimeDepositResponseCache(ListingCacheProperties properties, MeterRegistry meterRegistry,
+                                    Optional<ReplicaRoutingDataSource> replicaRouting) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "time-deposits");
+        this.replicaRouting = replicaRouting.orElse(null);
+    }
+
+    /**
+     * Returns the responses for the given ids in the same order, loading all
+     * missing entries with a single call to the loader. Loaded responses
+     * evicted while they were loading are not kept.
+     */
+    public List<TimeDepositResponse> getAll(List<Integer> ids,
+                                            Function<Set<? extends Integer>, Map<Integer, TimeDepositResponse>> loader) {
+        Load load = new Load();
+        Map<Integer, TimeDepositResponse> found = cache.getAll(ids, missing -> {
+            load.startedAt = generation.get();
+            load.responses = loader.apply(missing);
+            return load.responses;
+        });
+        if (load.responses != null) {
+            dropEvictedSince(load.startedAt, load.responses);
+        }
+        List<TimeDepositResponse> responses = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            TimeDepositResponse response = found.get(id);
+            if (response != null) {
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    public void evict(Integer id) {
+        pinReadsToPrimary();
+        stamp(id);
+        cache.invalidate(id);
+    }
+
+    public void evictAll(Collection<Integer> ids) {
+        ids.forEach(this::stamp);
+        cache.invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        pinReadsToPrimary();
+        invalidatedAt = generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Stamps the id before its entry is invalidated, so a load either sees
+     * the stamp after putting its response, or has its response invalidated.
+     */
+    private void stamp(Integer id) {
+        evictedAt.set(slot(id), generation.incrementAndGet());
+    }
+
+    private void dropEvictedSince(long startedAt, Map<Integer, TimeDepositResponse> loaded) {
+        boolean invalidated = invalidatedAt > startedAt;
+        loaded.forEach((id, response) -> {
+            if (invalidated || evictedAt.get(slot(id)) > startedAt) {
+                cache.asMap().remove(id, response);
+            }
+        });
+    }
+
+    private static int slot(Integer id) {
+        return Math.floorMod(id, GENERATION_SLOTS);
+    }
+
+    private void pinReadsToPrimary() {
+        if (replicaRouting != null) {
+            replicaRouting.pinToPrimary();
+        }
+    }
+
+    private static final class Load {
+
+        private long startedAt;
+        private Map<Integer, TimeDepositResponse> responses;
+    }
+}
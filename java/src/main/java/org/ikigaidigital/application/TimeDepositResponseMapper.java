@@ -0,0 +1,45 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.persistence.TimeDepositView;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.ikigaidigital.adapter.web.WithdrawalResponse;
+import org.ikigaidigital.domain.Withdrawal;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maps time deposit entities or views and their withdrawals to API response DTOs.
+ */
+public final class TimeDepositResponseMapper {
+
+    private TimeDepositResponseMapper() {
+    }
+
+    public static TimeDepositResponse toResponse(TimeDeposit deposit, List<Withdrawal> withdrawals) {
+        return new TimeDepositResponse(
+                deposit.getId(),
+                deposit.getPlanType(),
+                deposit.getBalance(),
+                deposit.getDays(),
+                toWithdrawalResponses(withdrawals)
+        );
+    }
+
+    public static TimeDepositResponse toResponse(TimeDepositView deposit, List<Withdrawal> withdrawals) {
+        return new TimeDepositResponse(
+                deposit.id(),
+                deposit.planType(),
+                deposit.balance() == null ? null : deposit.balance().toDouble(),
+                deposit.days(),
+                toWithdrawalResponses(withdrawals)
+        );
+    }
+
+    private static List<WithdrawalResponse> toWithdrawalResponses(List<Withdrawal> withdrawals) {
+        return withdrawals.stream()
+                .map(w -> new WithdrawalResponse(w.getId(), w.getAmount(), w.getDate()))
+                .collect(Collectors.toList());
+    }
+}
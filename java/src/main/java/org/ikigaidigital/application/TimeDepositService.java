@@ -1,68 +1,274 @@
 package org.ikigaidigital.application;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManager;
 import org.ikigaidigital.TimeDeposit;
-import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.adapter.persistence.TimeDepositFilter;
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.persistence.PlanAggregateRepository;
 import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.ikigaidigital.adapter.persistence.TimeDepositView;
 import org.ikigaidigital.adapter.persistence.WithdrawalRepository;
+import org.ikigaidigital.adapter.web.CacheStatsResponse;
+import org.ikigaidigital.adapter.web.InterestRunStatusResponse;
+import org.ikigaidigital.adapter.web.TimeDepositPageResponse;
 import org.ikigaidigital.adapter.web.TimeDepositResponse;
-import org.ikigaidigital.adapter.web.WithdrawalResponse;
+import org.ikigaidigital.domain.Money;
 import org.ikigaidigital.domain.Withdrawal;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TimeDepositService {
 
+    /**
+     * Maximum number of deposit ids bound into a single withdrawal IN query.
+     */
+    private static final int WITHDRAWAL_BATCH_SIZE = 1000;
+
+    /**
+     * Largest page size accepted by {@link #getTimeDepositPage(Integer, int)}
+     * and {@link #searchTimeDeposits(TimeDepositFilter, Integer, int)}.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final TimeDepositRepository timeDepositRepository;
     private final WithdrawalRepository withdrawalRepository;
-    private final TimeDepositCalculator calculator;
+    private final PlanAggregateRepository planAggregateRepository;
+    private final BalanceChangeOutbox changeOutbox;
+    private final InterestRunJobs interestRunJobs;
+    private final TimeDepositResponseCache responseCache;
+    private final EntityManager entityManager;
 
     public TimeDepositService(TimeDepositRepository timeDepositRepository,
-                               WithdrawalRepository withdrawalRepository) {
+                               WithdrawalRepository withdrawalRepository,
+                               PlanAggregateRepository planAggregateRepository,
+                               BalanceChangeOutbox changeOutbox,
+                               InterestRunJobs interestRunJobs,
+                               TimeDepositResponseCache responseCache,
+                               EntityManager entityManager) {
         this.timeDepositRepository = timeDepositRepository;
         this.withdrawalRepository = withdrawalRepository;
-        this.calculator = new TimeDepositCalculator();
+        this.planAggregateRepository = planAggregateRepository;
+        this.changeOutbox = changeOutbox;
+        this.interestRunJobs = interestRunJobs;
+        this.responseCache = responseCache;
+        this.entityManager = entityManager;
     }
 
     /**
-     * Retrieves all time deposits with their associated withdrawals.
+     * Retrieves all time deposits with their associated withdrawals, in id order.
+     * Only the ids are read on every call; responses are served from the
+     * listing cache and deposits missing from it are loaded in bulk.
      */
     @Transactional(readOnly = true)
     public List<TimeDepositResponse> getAllTimeDeposits() {
-        List<TimeDeposit> deposits = timeDepositRepository.findAll();
+        return responseCache.getAll(timeDepositRepository.findAllIds(), this::loadResponses);
+    }
 
-        return deposits.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * Retrieves one time deposit with its withdrawals, from the listing cache
+     * or loaded as a projection.
+     */
+    @Transactional(readOnly = true)
+    public Optional<TimeDepositResponse> getTimeDeposit(int id) {
+        return responseCache.getAll(List.of(id), this::loadResponses).stream().findFirst();
     }
 
     /**
-     * Updates balances for all time deposits by applying interest calculations.
-     * Uses the existing TimeDepositCalculator to ensure backward compatibility.
+     * Retrieves one keyset page of the time deposits matching a filter,
+     * ordered by id. Only the ids of the page are selected by the filter;
+     * responses come from the listing cache like those of
+     * {@link #getAllTimeDeposits()}.
+     *
+     * @param after id of the last deposit of the previous page, or null for the first page
+     * @param limit maximum number of deposits in the page
+     */
+    @Transactional(readOnly = true)
+    public TimeDepositPageResponse searchTimeDeposits(TimeDepositFilter filter, Integer after, int limit) {
+        checkLimit(limit);
+        List<Integer> ids = timeDepositRepository.findIds(filter, after == null ? Integer.MIN_VALUE : after, limit);
+
+        Integer nextCursor = ids.size() == limit ? ids.get(ids.size() - 1) : null;
+        return new TimeDepositPageResponse(responseCache.getAll(ids, this::loadResponses), nextCursor);
+    }
+
+    /**
+     * Retrieves one keyset page of time deposits ordered by id. Only the ids
+     * of the page are selected; responses come from the listing cache, so a
+     * page shows the same balances as {@link #getAllTimeDeposits()}.
+     *
+     * @param after id of the last deposit of the previous page, or null for the first page
+     * @param limit maximum number of deposits in the page
+     */
+    @Transactional(readOnly = true)
+    public TimeDepositPageResponse getTimeDepositPage(Integer after, int limit) {
+        checkLimit(limit);
+        List<Integer> ids = timeDepositRepository.findIdsAfter(after == null ? Integer.MIN_VALUE : after,
+                Limit.of(limit));
+
+        Integer nextCursor = ids.size() == limit ? ids.get(ids.size() - 1) : null;
+        return new TimeDepositPageResponse(responseCache.getAll(ids, this::loadResponses), nextCursor);
+    }
+
+    /**
+     * Streams every time deposit with its withdrawals to the given consumer in id order.
+     * Deposits are read through a database cursor and handed over in batches, so
+     * memory use does not depend on the number of deposits.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllTimeDeposits(Consumer<TimeDepositResponse> consumer) {
+        try (Stream<TimeDeposit> deposits = timeDepositRepository.streamAllOrderedById()) {
+            List<TimeDeposit> batch = new ArrayList<>(WITHDRAWAL_BATCH_SIZE);
+            deposits.forEach(deposit -> {
+                batch.add(deposit);
+                if (batch.size() == WITHDRAWAL_BATCH_SIZE) {
+                    emitBatch(batch, consumer);
+                }
+            });
+            emitBatch(batch, consumer);
+        }
+    }
+
+    /**
+     * Withdraws an amount from a time deposit and records the withdrawal.
+     * The balance is debited with one conditional UPDATE rather than read and
+     * written back, so withdrawals and interest runs can run concurrently
+     * without losing each other's changes, and a balance never goes negative.
+     * The plan's aggregate balance is debited, and the change recorded in the
+     * outbox, in the same transaction.
+     *
+     * @param date value date of the withdrawal, or null for today (UTC)
+     * @return the deposit after the withdrawal, or empty if it does not exist
+     * @throws IllegalArgumentException if the amount is not a positive amount of cents
+     * @throws InsufficientBalanceException if the balance does not cover the amount
      */
     @Transactional
+    public Optional<TimeDepositResponse> withdraw(int depositId, BigDecimal amount, LocalDate date) {
+        if (amount == null || amount.signum() <= 0 || amount.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("amount must be a positive amount with at most two decimals");
+        }
+        long cents = Money.of(amount).cents();
+        if (timeDepositRepository.debit(depositId, cents) == 0) {
+            if (!timeDepositRepository.existsById(depositId)) {
+                return Optional.empty();
+            }
+            throw new InsufficientBalanceException(depositId);
+        }
+        planAggregateRepository.debit(depositId, cents);
+        changeOutbox.recordWithdrawal(depositId, cents, Instant.now());
+        withdrawalRepository.save(new Withdrawal(depositId, amount,
+                date == null ? LocalDate.now(ZoneOffset.UTC) : date));
+        return timeDepositRepository.findById(depositId).map(deposit -> TimeDepositResponseMapper.toResponse(
+                deposit, withdrawalRepository.findByTimeDepositId(depositId)));
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the listing cache.
+     */
+    public CacheStatsResponse getCacheStats() {
+        CacheStats stats = responseCache.stats();
+        return new CacheStatsResponse(responseCache.size(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    /**
+     * Updates balances for all time deposits by applying interest calculations.
+     * Runs in chunks, each committed in its own transaction, and uses the
+     * existing TimeDepositCalculator to ensure backward compatibility.
+     *
+     * @throws InterestRunInProgressException if a run is already active
+     */
     public void updateAllBalances() {
-        List<TimeDeposit> deposits = timeDepositRepository.findAll();
-        calculator.updateBalance(deposits);
-        timeDepositRepository.saveAll(deposits);
+        interestRunJobs.runNow();
     }
 
-    private TimeDepositResponse toResponse(TimeDeposit deposit) {
-        List<Withdrawal> withdrawals = withdrawalRepository.findByTimeDepositId(deposit.getId());
+    /**
+     * Starts {@link #updateAllBalances()} as a background job and returns its status.
+     *
+     * @throws InterestRunInProgressException if a run is already active
+     */
+    public InterestRunStatusResponse startBalanceUpdate() {
+        return interestRunJobs.submit();
+    }
 
-        List<WithdrawalResponse> withdrawalResponses = withdrawals.stream()
-                .map(w -> new WithdrawalResponse(w.getId(), w.getAmount(), w.getDate()))
+    /**
+     * Returns the state and progress of a balance update job.
+     */
+    public Optional<InterestRunStatusResponse> getBalanceUpdateStatus(Long jobId) {
+        return interestRunJobs.status(jobId);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Loads cache misses as projections, which skip entity hydration and the
+     * persistence context, with their withdrawals.
+     */
+    private Map<Integer, TimeDepositResponse> loadResponses(Set<? extends Integer> ids) {
+        List<Integer> remaining = new ArrayList<>(ids);
+        Map<Integer, TimeDepositResponse> responses = new HashMap<>();
+        for (int from = 0; from < remaining.size(); from += WITHDRAWAL_BATCH_SIZE) {
+            List<Integer> batch = remaining.subList(from, Math.min(from + WITHDRAWAL_BATCH_SIZE, remaining.size()));
+            List<TimeDepositView> views = timeDepositRepository.findViewsByIdIn(batch);
+            Map<Integer, List<Withdrawal>> withdrawals = findWithdrawalsByDepositId(
+                    views.stream().map(TimeDepositView::id).collect(Collectors.toList()));
+            for (TimeDepositView view : views) {
+                responses.put(view.id(), TimeDepositResponseMapper.toResponse(view,
+                        withdrawals.getOrDefault(view.id(), Collections.emptyList())));
+            }
+        }
+        return responses;
+    }
+
+    private void emitBatch(List<TimeDeposit> batch, Consumer<TimeDepositResponse> consumer) {
+        toResponses(batch).forEach(consumer);
+        batch.clear();
+        entityManager.clear();
+    }
+
+    private List<TimeDepositResponse> toResponses(List<TimeDeposit> deposits) {
+        Map<Integer, List<Withdrawal>> withdrawals = findWithdrawalsByDepositId(
+                deposits.stream().map(TimeDeposit::getId).collect(Collectors.toList()));
+
+        return deposits.stream()
+                .map(deposit -> TimeDepositResponseMapper.toResponse(deposit,
+                        withdrawals.getOrDefault(deposit.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
+    }
 
-        return new TimeDepositResponse(
-                deposit.getId(),
-                deposit.getPlanType(),
-                deposit.getBalance(),
-                deposit.getDays(),
-                withdrawalResponses
-        );
+    /**
+     * Loads the withdrawals of the given deposits with one query per batch of
+     * ids and groups them by deposit id.
+     */
+    private Map<Integer, List<Withdrawal>> findWithdrawalsByDepositId(List<Integer> depositIds) {
+        Map<Integer, List<Withdrawal>> byDepositId = new HashMap<>();
+        for (int from = 0; from < depositIds.size(); from += WITHDRAWAL_BATCH_SIZE) {
+            List<Integer> ids = depositIds.subList(from, Math.min(from + WITHDRAWAL_BATCH_SIZE, depositIds.size()));
+            for (Withdrawal withdrawal : withdrawalRepository.findByTimeDepositIdIn(ids)) {
+                byDepositId.computeIfAbsent(withdrawal.getTimeDepositId(), id -> new ArrayList<>()).add(withdrawal);
+            }
+        }
+        return byDepositId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.adapter.persistence.WithdrawalPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code withdrawals} in step with the
+ * calendar: partitions are created {@code months-ahead} months in advance, so
+ * new withdrawals never land in the default partition, and partitions older
+ * than the retention are detached. Runs on startup and on
+ * {@code withdrawal-partitions.cron} (daily by default).
+ *
+ * Detached partitions stay in the database as standalone tables for archiving;
+ * their withdrawals disappear from the API, so the listing cache is cleared.
+ */
+@Component
+public class WithdrawalPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(WithdrawalPartitionMaintenance.class);
+
+    private final WithdrawalPartitionRepository partitionRepository;
+    private final TimeDepositResponseCache responseCache;
+    private final WithdrawalPartitionProperties properties;
+    private final Clock clock;
+
+    public WithdrawalPartitionMaintenance(WithdrawalPartitionRepository partitionRepository,
+                                          TimeDepositResponseCache responseCache,
+                                          WithdrawalPartitionProperties properties) {
+        this.partitionRepository = partitionRepository;
+        this.responseCache = responseCache;
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${withdrawal-partitions.cron:0 0 3 * * *}", zone = "UTC")
+    public void maintainOnSchedule() {
+        maintain();
+    }
+
+    /**
+     * Creates the partitions of the current month and the months ahead that
+     * are missing, and detaches the partitions past the retention.
+     *
+     * @return the months whose partitions were detached
+     */
+    public List<YearMonth> maintain() {
+        YearMonth current = YearMonth.now(clock);
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            if (partitionRepository.createPartition(current.plusMonths(i))) {
+                log.info("Created withdrawal partition {}",
+                        WithdrawalPartitionRepository.partitionName(current.plusMonths(i)));
+            }
+        }
+        if (properties.getRetentionMonths() <= 0) {
+            return List.of();
+        }
+
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths());
+        List<YearMonth> detached = new ArrayList<>();
+        for (YearMonth month : partitionRepository.findPartitionMonths()) {
+            if (month.isBefore(oldestKept)) {
+                partitionRepository.detachPartition(month);
+                detached.add(month);
+                log.info("Detached withdrawal partition {}", WithdrawalPartitionRepository.partitionName(month));
+            }
+        }
+        if (!detached.isEmpty()) {
+            responseCache.invalidateAll();
+        }
+        return detached;
+    }
+}
@@ -0,0 +1,38 @@
+package org.ikigaidigital.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Maintenance of the monthly withdrawal partitions, bound from
+ * {@code withdrawal-partitions.*}.
+ */
+@ConfigurationProperties(prefix = "withdrawal-partitions")
+public class WithdrawalPartitionProperties {
+
+    /**
+     * Months after the current one that get a partition in advance.
+     */
+    private int monthsAhead = 3;
+
+    /**
+     * Partitions of months more than this many months before the current one
+     * are detached; 0 keeps every partition.
+     */
+    private int retentionMonths = 84;
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public int getRetentionMonths() {
+        return retentionMonths;
+    }
+
+    public void setRetentionMonths(int retentionMonths) {
+        this.retentionMonths = retentionMonths;
+    }
+}
@@ -0,0 +1,73 @@
+package org.ikigaidigital.domain;
+
+/**
+ * Columnar (struct-of-arrays) representation of a batch of time deposits for
+ * bulk interest runs.
+ *
+ * Each deposit occupies one index across parallel primitive arrays, 17 bytes
+ * in total, instead of an entity with a boxed balance and a plan type string.
+ * Plan types are stored as codes of an {@link InterestRuleTable}, resolved once
+ * when the deposit is added, and balances as whole cents.
+ */
+public final class DepositBatch {
+
+    final int[] ids;
+    final byte[] planCodes;
+    final int[] days;
+    final long[] balanceCents;
+    private int size;
+
+    public DepositBatch(int capacity) {
+        this.ids = new int[capacity];
+        this.planCodes = new byte[capacity];
+        this.days = new int[capacity];
+        this.balanceCents = new long[capacity];
+    }
+
+    public void add(int id, InterestPlan plan, int days, long balanceCents) {
+        if (size == ids.length) {
+            throw new IllegalStateException("Deposit batch is full (capacity " + ids.length + ")");
+        }
+        this.ids[size] = id;
+        this.planCodes[size] = plan.code();
+        this.days[size] = days;
+        this.balanceCents[size] = balanceCents;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public byte planCode(int index) {
+        return planCodes[index];
+    }
+
+    public int days(int index) {
+        return days[index];
+    }
+
+    public long balanceCents(int index) {
+        return balanceCents[index];
+    }
+
+    public int lastId() {
+        return ids[size - 1];
+    }
+}
@@ -0,0 +1,78 @@
+package org.ikigaidigital.domain;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Ledger entry recording that a deposit was credited its monthly interest for
+ * one period ({@code yyyy-MM}) by an {@link InterestRun}.
+ *
+ * A deposit accrues at most once per period. Entries are written in the same
+ * transaction as the balances they describe, so the ledger tells exactly which
+ * deposits a retried run still has to process.
+ */
+@Entity
+@Table(name = "interestAccruals",
+       uniqueConstraints = @UniqueConstraint(name = "uk_interest_accruals_deposit_period",
+                                             columnNames = {"timeDepositId", "period"}),
+       indexes = @Index(name = "idx_interest_accruals_run_id", columnList = "runId"))
+public class InterestAccrual {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "runId", nullable = false)
+    private Long runId;
+
+    @Column(name = "timeDepositId", nullable = false)
+    private Integer timeDepositId;
+
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal interest;
+
+    @Column(nullable = false)
+    private Instant accruedAt;
+
+    /**
+     * No-arg constructor required by JPA.
+     */
+    protected InterestAccrual() {
+    }
+
+    public InterestAccrual(Long runId, Integer timeDepositId, String period, BigDecimal interest, Instant accruedAt) {
+        this.runId = runId;
+        this.timeDepositId = timeDepositId;
+        this.period = period;
+        this.interest = interest;
+        this.accruedAt = accruedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Integer getTimeDepositId() {
+        return timeDepositId;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public BigDecimal getInterest() {
+        return interest;
+    }
+
+    public Instant getAccruedAt() {
+        return accruedAt;
+    }
+}
@@ -0,0 +1,126 @@
+package org.ikigaidigital.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive monthly interest kernel used by {@code TimeDepositCalculator}.
+ *
+ * Results are bit-for-bit identical to the original calculation, which
+ * computed {@code balance * rate / 12} in double arithmetic and rounded it
+ * with {@code new BigDecimal(interest).setScale(2, RoundingMode.HALF_UP)}.
+ * Rounding is done on the scaled double instead. Amounts lying within one ulp
+ * of a half cent, where the scaled value cannot tell which way the exact value
+ * rounds, are decided with the exact error of the scaling from
+ * {@link Math#fma}, so no objects are allocated.
+ */
+public final class InterestEngine {
+
+    /**
+     * Largest magnitude whose cent amount is an exact integer in a double.
+     */
+    private static final double MAX_FAST_AMOUNT = 9.0e13;
+
+    private InterestEngine() {
+    }
+
+    /**
+     * Returns the balance after one month of interest under the given plan.
+     */
+    public static double applyMonthlyInterest(InterestPlan plan, double balance, int days) {
+        return balance + roundToCents(monthlyInterest(plan, balance, days));
+    }
+
+    /**
+     * Returns the balance in cents after one month of interest under the given
+     * plan. Interest is computed from {@code balanceCents / 100.0} and rounded
+     * exactly as {@link #applyMonthlyInterest(InterestPlan, double, int)} does,
+     * without allocating.
+     */
+    public static long applyMonthlyInterestCents(InterestPlan plan, long balanceCents, int days) {
+        if (!plan.accrues(days)) {
+            return balanceCents;
+        }
+        return balanceCents + toCents(balanceCents / 100.0 * plan.rateFactor() / plan.rateDivisor());
+    }
+
+    /**
+     * Applies one month of interest to every deposit of a columnar batch in place.
+     *
+     * Plan codes in the batch must come from {@code rules}. The loop reads the
+     * rules from the table's primitive arrays by code, so its cost does not
+     * depend on the number of plans. Interest is computed from
+     * {@code cents / 100.0} and rounded exactly as the entity path does, and
+     * balances stay exact whole cents.
+     */
+    public static void applyMonthlyInterest(DepositBatch batch, InterestRuleTable rules) {
+        double[] rateFactors = rules.rateFactors;
+        double[] rateDivisors = rules.rateDivisors;
+        int[] minDays = rules.minDays;
+        int[] maxDays = rules.maxDays;
+
+        byte[] planCodes = batch.planCodes;
+        int[] days = batch.days;
+        long[] balanceCents = batch.balanceCents;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            int code = planCodes[i];
+            int age = days[i];
+            if (age > minDays[code] && age <= maxDays[code]) {
+                double interest = balanceCents[i] / 100.0 * rateFactors[code] / rateDivisors[code];
+                balanceCents[i] += toCents(interest);
+            }
+        }
+    }
+
+    /**
+     * Unrounded interest for one month, zero when the plan does not accrue at this age.
+     */
+    public static double monthlyInterest(InterestPlan plan, double balance, int days) {
+        if (!plan.accrues(days)) {
+            return 0;
+        }
+        return balance * plan.rateFactor() / plan.rateDivisor();
+    }
+
+    /**
+     * Rounds an amount to two decimals, HALF_UP, exactly as
+     * {@code new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).doubleValue()}.
+     */
+    public static double roundToCents(double amount) {
+        double magnitude = Math.abs(amount);
+        if (!(magnitude < MAX_FAST_AMOUNT)) {
+            return roundWithBigDecimal(amount).doubleValue();
+        }
+        long cents = centsHalfUp(magnitude);
+        if (cents == 0) {
+            return 0.0;
+        }
+        return (amount < 0 ? -cents : cents) / 100.0;
+    }
+
+    /**
+     * Rounds an amount to whole cents, HALF_UP. The amount must be finite and
+     * below 9e13 in magnitude.
+     */
+    public static long toCents(double amount) {
+        long cents = centsHalfUp(Math.abs(amount));
+        return amount < 0 ? -cents : cents;
+    }
+
+    private static long centsHalfUp(double magnitude) {
+        double scaled = magnitude * 100;
+        double whole = Math.floor(scaled);
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) > Math.ulp(scaled)) {
+            return (long) whole + (fraction > 0.5 ? 1 : 0);
+        }
+        // Too close to a half cent to trust the rounded product: add back the
+        // exact rounding error of magnitude * 100 and decide on its sign.
+        double error = Math.fma(magnitude, 100, -scaled);
+        return (long) whole + ((fraction - 0.5) + error >= 0 ? 1 : 0);
+    }
+
+    private static BigDecimal roundWithBigDecimal(double amount) {
+        return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP);
+    }
+}
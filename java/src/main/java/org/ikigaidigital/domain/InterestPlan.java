@@ -0,0 +1,131 @@
+package org.ikigaidigital.domain;
+
+import java.util.Objects;
+
+/**
+ * Interest rules of one time deposit plan.
+ *
+ * A plan accrues interest while the deposit is older than {@code minDays} and
+ * at most {@code maxDays} old. Plans are compiled into an
+ * {@link InterestRuleTable}, which assigns each one a small {@link #code()};
+ * unknown plan types resolve to {@link #NONE}.
+ *
+ * Interest is credited monthly. A plan compounding monthly earns
+ * {@code balance * rate / 12}, exactly as the original calculation; any other
+ * compounding frequency earns the equivalent effective monthly rate
+ * {@code (1 + rate / n)^(n / 12) - 1}.
+ */
+public final class InterestPlan {
+
+    public static final int MONTHLY = 12;
+
+    public static final InterestPlan NONE =
+            new InterestPlan(0, null, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, MONTHLY);
+    public static final InterestPlan BASIC =
+            new InterestPlan(1, "basic", 0.01, 30, Integer.MAX_VALUE, MONTHLY);
+    public static final InterestPlan STUDENT =
+            new InterestPlan(2, "student", 0.03, 30, 365, MONTHLY);
+    public static final InterestPlan PREMIUM =
+            new InterestPlan(3, "premium", 0.05, 45, Integer.MAX_VALUE, MONTHLY);
+
+    private final byte code;
+    private final String planType;
+    private final double annualRate;
+    private final int minDays;
+    private final int maxDays;
+    private final int compoundingPerYear;
+    private final double rateFactor;
+    private final double rateDivisor;
+
+    InterestPlan(int code, String planType, double annualRate, int minDays, int maxDays, int compoundingPerYear) {
+        this.code = (byte) code;
+        this.planType = planType;
+        this.annualRate = annualRate;
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.compoundingPerYear = compoundingPerYear;
+        if (compoundingPerYear == MONTHLY) {
+            this.rateFactor = annualRate;
+            this.rateDivisor = MONTHLY;
+        } else {
+            this.rateFactor = Math.pow(1 + annualRate / compoundingPerYear, (double) compoundingPerYear / MONTHLY) - 1;
+            this.rateDivisor = 1;
+        }
+    }
+
+    /**
+     * Resolves a stored plan type, e.g. {@code "premium"}, against
+     * {@link InterestRuleTable#DEFAULT}.
+     */
+    public static InterestPlan of(String planType) {
+        return InterestRuleTable.DEFAULT.resolve(planType);
+    }
+
+    /**
+     * Index of this plan in the {@link InterestRuleTable} that compiled it.
+     */
+    public byte code() {
+        return code;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public double getAnnualRate() {
+        return annualRate;
+    }
+
+    public int getMinDays() {
+        return minDays;
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    public int getCompoundingPerYear() {
+        return compoundingPerYear;
+    }
+
+    /**
+     * Monthly interest is {@code balance * rateFactor / rateDivisor}.
+     */
+    double rateFactor() {
+        return rateFactor;
+    }
+
+    double rateDivisor() {
+        return rateDivisor;
+    }
+
+    public boolean accrues(int days) {
+        return days > minDays && days <= maxDays;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InterestPlan other)) {
+            return false;
+        }
+        return code == other.code
+                && Objects.equals(planType, other.planType)
+                && Double.compare(annualRate, other.annualRate) == 0
+                && minDays == other.minDays
+                && maxDays == other.maxDays
+                && compoundingPerYear == other.compoundingPerYear;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, planType, annualRate, minDays, maxDays, compoundingPerYear);
+    }
+
+    @Override
+    public String toString() {
+        return planType == null ? "NONE" : planType;
+    }
+}
@@ -0,0 +1,71 @@
+package org.ikigaidigital.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * Interest plan as stored in the database. When the table has rows, they
+ * replace the plans configured under {@code interest-rules.plans}.
+ */
+@Entity
+@Table(name = "interestPlans")
+public class InterestPlanDefinition {
+
+    @Id
+    @Column(length = 32)
+    private String planType;
+
+    @Column(nullable = false)
+    private double annualRate;
+
+    @Column(nullable = false)
+    private int minDays;
+
+    /**
+     * Oldest age that still accrues, unlimited when null.
+     */
+    @Column
+    private Integer maxDays;
+
+    @Column(nullable = false)
+    private int compoundingPerYear;
+
+    /**
+     * No-arg constructor required by JPA.
+     */
+    protected InterestPlanDefinition() {
+    }
+
+    public InterestPlanDefinition(String planType, double annualRate, int minDays, Integer maxDays,
+                                  int compoundingPerYear) {
+        this.planType = planType;
+        this.annualRate = annualRate;
+        this.minDays = minDays;
+        this.maxDays = maxDays;
+        this.compoundingPerYear = compoundingPerYear;
+    }
+
+    public String getPlanType() {
+        return planType;
+    }
+
+    public double getAnnualRate() {
+        return annualRate;
+    }
+
+    public int getMinDays() {
+        return minDays;
+    }
+
+    public Integer getMaxDays() {
+        return maxDays;
+    }
+
+    public int getCompoundingPerYear() {
+        return compoundingPerYear;
+    }
+
+    public InterestRuleTable.Definition toDefinition() {
+        return new InterestRuleTable.Definition(planType, annualRate, minDays,
+                maxDays == null ? Integer.MAX_VALUE : maxDays, compoundingPerYear);
+    }
+}
@@ -0,0 +1,119 @@
+package org.ikigaidigital.domain;
+
+/**
+ * Projects balances a number of months ahead.
+ *
+ * Month 1 applies interest at the deposit's current age, as the next interest
+ * run would, and every further month the deposit is {@link #DAYS_PER_MONTH}
+ * days older. A plan's day window therefore becomes a contiguous range of
+ * accruing months, computed in closed form: the balance stays flat before and
+ * after it and compounds monthly inside it. Each accruing month is rounded to
+ * cents exactly as {@link InterestEngine#applyMonthlyInterestCents} does, so a
+ * projection equals running the calculator month after month, without
+ * evaluating the months outside the window.
+ */
+public final class InterestProjection {
+
+    /**
+     * Age a deposit gains per projected month.
+     */
+    public static final int DAYS_PER_MONTH = 30;
+
+    /**
+     * Longest projection accepted, 100 years.
+     */
+    public static final int MAX_MONTHS = 1200;
+
+    private InterestProjection() {
+    }
+
+    /**
+     * Returns the balance in cents after {@code months} months under the given plan.
+     */
+    public static long projectCents(InterestPlan plan, long balanceCents, int days, int months) {
+        checkMonths(months);
+        return project(plan.rateFactor(), plan.rateDivisor(), plan.getMinDays(), plan.getMaxDays(),
+                balanceCents, days, months, null);
+    }
+
+    /**
+     * Returns the balance in cents at the end of each of the next {@code months} months.
+     */
+    public static long[] scheduleCents(InterestPlan plan, long balanceCents, int days, int months) {
+        checkMonths(months);
+        long[] schedule = new long[months];
+        project(plan.rateFactor(), plan.rateDivisor(), plan.getMinDays(), plan.getMaxDays(),
+                balanceCents, days, months, schedule);
+        return schedule;
+    }
+
+    /**
+     * Replaces every balance of a columnar batch with its projection after
+     * {@code months} months, in one pass. Plan codes in the batch must come
+     * from {@code rules}.
+     */
+    public static void project(DepositBatch batch, InterestRuleTable rules, int months) {
+        checkMonths(months);
+        double[] rateFactors = rules.rateFactors;
+        double[] rateDivisors = rules.rateDivisors;
+        int[] minDays = rules.minDays;
+        int[] maxDays = rules.maxDays;
+
+        byte[] planCodes = batch.planCodes;
+        int[] days = batch.days;
+        long[] balanceCents = batch.balanceCents;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            int code = planCodes[i];
+            balanceCents[i] = project(rateFactors[code], rateDivisors[code], minDays[code], maxDays[code],
+                    balanceCents[i], days[i], months, null);
+        }
+    }
+
+    /**
+     * First projected month (1-based) in which a deposit of the given age
+     * accrues; beyond any projection when the plan never accrues.
+     */
+    static long firstAccruingMonth(int minDays, int days) {
+        return days > minDays ? 1 : ((long) minDays - days) / DAYS_PER_MONTH + 2;
+    }
+
+    /**
+     * Last projected month (1-based) in which a deposit of the given age
+     * accrues, 0 when it is already past the window.
+     */
+    static long lastAccruingMonth(int maxDays, int days) {
+        return days > maxDays ? 0 : ((long) maxDays - days) / DAYS_PER_MONTH + 1;
+    }
+
+    private static long project(double rateFactor, double rateDivisor, int minDays, int maxDays,
+                                long cents, int days, int months, long[] schedule) {
+        int from = (int) Math.min(firstAccruingMonth(minDays, days), months + 1L);
+        int to = (int) Math.min(lastAccruingMonth(maxDays, days), months);
+        if (schedule != null) {
+            for (int month = 1; month < from; month++) {
+                schedule[month - 1] = cents;
+            }
+        }
+        for (int month = from; month <= to; month++) {
+            cents += InterestEngine.toCents(cents / 100.0 * rateFactor / rateDivisor);
+            if (schedule != null) {
+                schedule[month - 1] = cents;
+            }
+        }
+        if (schedule != null) {
+            for (int month = Math.max(from, to + 1); month <= months; month++) {
+                schedule[month - 1] = cents;
+            }
+        }
+        return cents;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code months} is outside 1..{@link #MAX_MONTHS}
+     */
+    public static void checkMonths(int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new IllegalArgumentException("months must be between 1 and " + MAX_MONTHS);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.ikigaidigital.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled set of {@link InterestPlan}s.
+ *
+ * Compiling assigns every plan a code from 1 upwards, code 0 being
+ * {@link InterestPlan#NONE}, and lays the rules out in primitive arrays
+ * indexed by code. A plan type is resolved to its code once, with a single
+ * hash lookup, after which applying interest is an array access whatever the
+ * number of plans.
+ */
+public final class InterestRuleTable {
+
+    /**
+     * Plan codes are stored in a byte.
+     */
+    public static final int MAX_PLANS = Byte.MAX_VALUE;
+
+    public static final InterestRuleTable DEFAULT = new InterestRuleTable(0,
+            List.of(InterestPlan.NONE, InterestPlan.BASIC, InterestPlan.STUDENT, InterestPlan.PREMIUM));
+
+    private final long version;
+    private final InterestPlan[] plans;
+    private final Map<String, InterestPlan> byPlanType;
+
+    final double[] rateFactors;
+    final double[] rateDivisors;
+    final int[] minDays;
+    final int[] maxDays;
+
+    private InterestRuleTable(long version, List<InterestPlan> plans) {
+        this.version = version;
+        this.plans = plans.toArray(new InterestPlan[0]);
+        int size = this.plans.length;
+        this.rateFactors = new double[size];
+        this.rateDivisors = new double[size];
+        this.minDays = new int[size];
+        this.maxDays = new int[size];
+        Map<String, InterestPlan> byPlanType = new HashMap<>();
+        for (InterestPlan plan : this.plans) {
+            int code = plan.code();
+            rateFactors[code] = plan.rateFactor();
+            rateDivisors[code] = plan.rateDivisor();
+            minDays[code] = plan.getMinDays();
+            maxDays[code] = plan.getMaxDays();
+            if (plan.getPlanType() != null) {
+                byPlanType.put(plan.getPlanType(), plan);
+            }
+        }
+        this.byPlanType = byPlanType;
+    }
+
+    /**
+     * Validates plan definitions and compiles them into a table.
+     *
+     * @throws IllegalArgumentException if a definition is invalid, a plan type
+     *         is defined twice or there are more than {@link #MAX_PLANS} plans
+     */
+    public static InterestRuleTable compile(long version, List<Definition> definitions) {
+        if (definitions.size() > MAX_PLANS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_PLANS + " interest plans are supported, got " + definitions.size());
+        }
+        List<InterestPlan> plans = new ArrayList<>(definitions.size() + 1);
+        plans.add(InterestPlan.NONE);
+        Map<String, Definition> seen = new HashMap<>();
+        for (Definition definition : definitions) {
+            definition.validate();
+            if (seen.putIfAbsent(definition.planType(), definition) != null) {
+                throw new IllegalArgumentException("Interest plan '" + definition.planType() + "' is defined twice");
+            }
+            plans.add(new InterestPlan(plans.size(), definition.planType(), definition.annualRate(),
+                    definition.minDays(), definition.maxDays(), definition.compoundingPerYear()));
+        }
+        return new InterestRuleTable(version, plans);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Number of codes in the table, including {@link InterestPlan#NONE}.
+     */
+    public int size() {
+        return plans.length;
+    }
+
+    /**
+     * Resolves a stored plan type to its plan, {@link InterestPlan#NONE} when unknown.
+     */
+    public InterestPlan resolve(String planType) {
+        if (planType == null) {
+            return InterestPlan.NONE;
+        }
+        return byPlanType.getOrDefault(planType, InterestPlan.NONE);
+    }
+
+    /**
+     * Resolves a stored plan type to its code, 0 when unknown.
+     */
+    public byte code(String planType) {
+        return resolve(planType).code();
+    }
+
+    public InterestPlan plan(int code) {
+        return plans[code];
+    }
+
+    /**
+     * Defined plans in code order, without {@link InterestPlan#NONE}.
+     */
+    public List<InterestPlan> plans() {
+        return List.of(Arrays.copyOfRange(plans, 1, plans.length));
+    }
+
+    /**
+     * Source form of a plan, as read from configuration or the database.
+     */
+    public record Definition(String planType, double annualRate, int minDays, int maxDays, int compoundingPerYear) {
+
+        public static Definition of(InterestPlan plan) {
+            return new Definition(plan.getPlanType(), plan.getAnnualRate(), plan.getMinDays(), plan.getMaxDays(),
+                    plan.getCompoundingPerYear());
+        }
+
+        void validate() {
+            if (planType == null || planType.isBlank()) {
+                throw new IllegalArgumentException("Interest plan type must not be blank");
+            }
+            if (!Double.isFinite(annualRate) || annualRate < 0) {
+                throw new IllegalArgumentException(
+                        "Interest plan '" + planType + "' has an invalid annual rate: " + annualRate);
+            }
+            if (minDays < 0 || maxDays < minDays) {
+                throw new IllegalArgumentException("Interest plan '" + planType + "' has an invalid day window: "
+                        + minDays + ".." + maxDays);
+            }
+            if (compoundingPerYear < 1 || compoundingPerYear > 365) {
+                throw new IllegalArgumentException("Interest plan '" + planType
+                        + "' must compound between 1 and 365 times a year, got " + compoundingPerYear);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.ikigaidigital.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Interest run entity recording a chunked balance update.
+ *
+ * Progress is checkpointed per {@link InterestRunPartition}; the run itself
+ * only changes when it starts and when its last partition has completed.
+ */
+@Entity
+@Table(name = "interestRuns")
+public class InterestRun {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /**
+     * Month ({@code yyyy-MM}) whose interest the run accrues.
+     */
+    @Column(length = 7)
+    private String period;
+
+    @Column(nullable = false)
+    private long processedCount;
+
+    /**
+     * Deposits still to be accrued for the period when the run started.
+     */
+    @Column
+    private Long totalCount;
+
+    @Column(nullable = false)
+    private Instant startedAt;
+
+    @Column
+    private Instant completedAt;
+
+    @Column(length = 1000)
+    private String failureMessage;
+
+    /**
+     * No-arg constructor required by JPA.
+     */
+    protected InterestRun() {
+    }
+
+    public InterestRun(String period, long totalCount, Instant startedAt) {
+        this.status = Status.RUNNING;
+        this.period = period;
+        this.processedCount = 0;
+        this.totalCount = totalCount;
+        this.startedAt = startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    /**
+     * Number of deposits processed, set when the run completes.
+     */
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public void complete(long processedCount, Instant completedAt) {
+        this.status = Status.COMPLETED;
+        this.processedCount = processedCount;
+        this.completedAt = completedAt;
+    }
+
+    public void fail(long processedCount, String failureMessage, Instant completedAt) {
+        this.status = Status.FAILED;
+        this.processedCount = processedCount;
+        this.failureMessage = failureMessage == null || failureMessage.length() <= 1000
+                ? failureMessage
+                : failureMessage.substring(0, 1000);
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,259 @@
+package org.ikigaidigital.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Statistics of a simulated interest run, gathered in one pass over the
+ * deposits it would credit.
+ *
+ * Memory does not grow with the number of deposits: totals are kept per plan
+ * code of the {@link InterestRuleTable}, the largest changes in a bounded
+ * min-heap of {@code top} entries, and one counter per balance threshold.
+ */
+public final class InterestRunDiff {
+
+    /**
+     * Most largest changes a diff keeps.
+     */
+    public static final int MAX_TOP = 1000;
+
+    /**
+     * Most balance thresholds a diff counts crossings of.
+     */
+    public static final int MAX_THRESHOLDS = 32;
+
+    private final InterestRuleTable rules;
+
+    private final long[] depositCounts;
+    private final long[] creditedCounts;
+    private final long[] balances;
+    private final long[] interests;
+    private final long[] largestInterests;
+
+    private final long[] thresholds;
+    private final long[] crossings;
+
+    private final int[] topIds;
+    private final byte[] topCodes;
+    private final int[] topDays;
+    private final long[] topBefore;
+    private final long[] topAfter;
+    private int topSize;
+
+    /**
+     * @param rules          the rule table whose plan codes the deposits carry
+     * @param top            number of largest changes to keep, 0 to {@link #MAX_TOP}
+     * @param thresholdCents balances in cents to count crossings of, at most {@link #MAX_THRESHOLDS}
+     * @throws IllegalArgumentException if {@code top} or the thresholds are out of range
+     */
+    public InterestRunDiff(InterestRuleTable rules, int top, long... thresholdCents) {
+        checkLimits(top, thresholdCents.length);
+        this.rules = rules;
+        this.depositCounts = new long[rules.size()];
+        this.creditedCounts = new long[rules.size()];
+        this.balances = new long[rules.size()];
+        this.interests = new long[rules.size()];
+        this.largestInterests = new long[rules.size()];
+        this.thresholds = Arrays.stream(thresholdCents).sorted().distinct().toArray();
+        this.crossings = new long[thresholds.length];
+        this.topIds = new int[top];
+        this.topCodes = new byte[top];
+        this.topDays = new int[top];
+        this.topBefore = new long[top];
+        this.topAfter = new long[top];
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code top} or the number of thresholds is out of range
+     */
+    public static void checkLimits(int top, int thresholds) {
+        if (top < 0 || top > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 0 and " + MAX_TOP);
+        }
+        if (thresholds > MAX_THRESHOLDS) {
+            throw new IllegalArgumentException("At most " + MAX_THRESHOLDS + " thresholds are supported");
+        }
+    }
+
+    /**
+     * Adds every deposit of a batch whose balances have been replaced by the
+     * simulated ones; {@code beforeCents} holds the balances before, by index.
+     */
+    public void add(DepositBatch batch, long[] beforeCents) {
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            add(batch.ids[i], batch.planCodes[i], batch.days[i], beforeCents[i], batch.balanceCents[i]);
+        }
+    }
+
+    /**
+     * Adds one deposit with its balance before and after the simulated run.
+     */
+    public void add(int id, byte planCode, int days, long beforeCents, long afterCents) {
+        long interest = afterCents - beforeCents;
+        depositCounts[planCode]++;
+        balances[planCode] += beforeCents;
+        if (interest == 0) {
+            return;
+        }
+        creditedCounts[planCode]++;
+        interests[planCode] += interest;
+        if (Math.abs(interest) > Math.abs(largestInterests[planCode])) {
+            largestInterests[planCode] = interest;
+        }
+        for (int t = 0; t < thresholds.length; t++) {
+            if (beforeCents < thresholds[t] != afterCents < thresholds[t]) {
+                crossings[t]++;
+            }
+        }
+        offerTop(id, planCode, days, beforeCents, afterCents);
+    }
+
+    public InterestRuleTable rules() {
+        return rules;
+    }
+
+    public long depositCount() {
+        return Arrays.stream(depositCounts).sum();
+    }
+
+    public long creditedCount() {
+        return Arrays.stream(creditedCounts).sum();
+    }
+
+    public long balanceCents() {
+        return Arrays.stream(balances).sum();
+    }
+
+    public long interestCents() {
+        return Arrays.stream(interests).sum();
+    }
+
+    public long depositCount(int planCode) {
+        return depositCounts[planCode];
+    }
+
+    public long creditedCount(int planCode) {
+        return creditedCounts[planCode];
+    }
+
+    public long balanceCents(int planCode) {
+        return balances[planCode];
+    }
+
+    public long interestCents(int planCode) {
+        return interests[planCode];
+    }
+
+    /**
+     * Largest interest in magnitude credited to a single deposit of the plan.
+     */
+    public long largestInterestCents(int planCode) {
+        return largestInterests[planCode];
+    }
+
+    /**
+     * Thresholds in cents, ascending and without duplicates.
+     */
+    public long[] thresholdCents() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Deposits whose balance moves from one side of the threshold at
+     * {@code index} of {@link #thresholdCents()} to the other.
+     */
+    public long crossings(int index) {
+        return crossings[index];
+    }
+
+    /**
+     * The largest changes in magnitude, largest first and by id on ties.
+     */
+    public List<Change> largestChanges() {
+        List<Change> changes = new ArrayList<>(topSize);
+        for (int i = 0; i < topSize; i++) {
+            changes.add(new Change(topIds[i], topCodes[i], topDays[i], topBefore[i], topAfter[i]));
+        }
+        changes.sort(Comparator.comparingLong((Change change) -> Math.abs(change.interestCents())).reversed()
+                .thenComparingInt(Change::id));
+        return changes;
+    }
+
+    private void offerTop(int id, byte planCode, int days, long beforeCents, long afterCents) {
+        int capacity = topIds.length;
+        if (topSize < capacity) {
+            set(topSize, id, planCode, days, beforeCents, afterCents);
+            siftUp(topSize++);
+        } else if (capacity > 0 && ranksBelow(0, Math.abs(afterCents - beforeCents), id)) {
+            set(0, id, planCode, days, beforeCents, afterCents);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Whether the heap entry at {@code i} ranks below a change of the given
+     * magnitude and id; the heap root is the lowest-ranked entry.
+     */
+    private boolean ranksBelow(int i, long magnitude, int id) {
+        long entry = Math.abs(topAfter[i] - topBefore[i]);
+        return entry < magnitude || entry == magnitude && topIds[i] > id;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!ranksBelow(i, Math.abs(topAfter[parent] - topBefore[parent]), topIds[parent])) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int lowest = i;
+            for (int child = 2 * i + 1; child <= 2 * i + 2 && child < topSize; child++) {
+                if (ranksBelow(child, Math.abs(topAfter[lowest] - topBefore[lowest]), topIds[lowest])) {
+                    lowest = child;
+                }
+            }
+            if (lowest == i) {
+                return;
+            }
+            swap(i, lowest);
+            i = lowest;
+        }
+    }
+
+    private void set(int i, int id, byte planCode, int days, long beforeCents, long afterCents) {
+        topIds[i] = id;
+        topCodes[i] = planCode;
+        topDays[i] = days;
+        topBefore[i] = beforeCents;
+        topAfter[i] = afterCents;
+    }
+
+    private void swap(int i, int j) {
+        int id = topIds[i];
+        byte code = topCodes[i];
+        int days = topDays[i];
+        long before = topBefore[i];
+        long after = topAfter[i];
+        set(i, topIds[j], topCodes[j], topDays[j], topBefore[j], topAfter[j]);
+        set(j, id, code, days, before, after);
+    }
+
+    /**
+     * One deposit's balance before and after the simulated run.
+     */
+    public record Change(int id, byte planCode, int days, long beforeCents, long afterCents) {
+
+        public long interestCents() {
+            return afterCents - beforeCents;
+        }
+    }
+}
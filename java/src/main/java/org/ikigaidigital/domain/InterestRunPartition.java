@@ -0,0 +1,108 @@
+package org.ikigaidigital.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One contiguous id range of an {@link InterestRun}, processed by a single worker.
+ *
+ * The partition covers ids greater than {@code startAfterId} and at most
+ * {@code endId}. Its last committed id is stored in the same transaction as
+ * each chunk, so a partition that crashed part way through resumes from there.
+ */
+@Entity
+@Table(name = "interestRunPartitions",
+       indexes = @Index(name = "idx_interest_run_partitions_run_id", columnList = "runId"))
+public class InterestRunPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "runId", nullable = false)
+    private Long runId;
+
+    @Column(nullable = false)
+    private int partitionIndex;
+
+    @Column(nullable = false)
+    private int startAfterId;
+
+    @Column(nullable = false)
+    private int endId;
+
+    @Column(nullable = false)
+    private int lastProcessedId;
+
+    @Column(nullable = false)
+    private long processedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private InterestRun.Status status;
+
+    @Column
+    private Instant completedAt;
+
+    /**
+     * No-arg constructor required by JPA.
+     */
+    protected InterestRunPartition() {
+    }
+
+    public InterestRunPartition(Long runId, int partitionIndex, int startAfterId, int endId) {
+        this.runId = runId;
+        this.partitionIndex = partitionIndex;
+        this.startAfterId = startAfterId;
+        this.endId = endId;
+        this.lastProcessedId = startAfterId;
+        this.processedCount = 0;
+        this.status = InterestRun.Status.RUNNING;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public int getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    public int getStartAfterId() {
+        return startAfterId;
+    }
+
+    public int getEndId() {
+        return endId;
+    }
+
+    public int getLastProcessedId() {
+        return lastProcessedId;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public InterestRun.Status getStatus() {
+        return status;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void advance(int lastProcessedId, int chunkSize) {
+        this.lastProcessedId = lastProcessedId;
+        this.processedCount += chunkSize;
+    }
+
+    public void complete(Instant completedAt) {
+        this.status = InterestRun.Status.COMPLETED;
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package org.ikigaidigital.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money in whole cents.
+ *
+ * Arithmetic is done on the {@code long} cent count; conversions from and to
+ * {@code double} and {@link BigDecimal} are meant for the API and persistence
+ * edges only. Amounts are rounded HALF_UP to cents on the way in.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount does not fit in a long number of cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Rounds the exact binary value of the amount to cents, like
+     * {@code new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP)}.
+     *
+     * @throws ArithmeticException if the amount is not finite or too large
+     */
+    public static Money of(double amount) {
+        if (Math.abs(amount) < 9.0e13) {
+            return ofCents(InterestEngine.toCents(amount));
+        }
+        if (!Double.isFinite(amount)) {
+            throw new ArithmeticException("Not a finite amount: " + amount);
+        }
+        return of(new BigDecimal(amount));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public double toDouble() {
+        return cents / 100.0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
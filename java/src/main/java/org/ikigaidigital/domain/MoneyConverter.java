@@ -0,0 +1,28 @@
+package org.ikigaidigital.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps {@link Money} to a {@code numeric(19,2)} column.
+ *
+ * Money is immutable, so Hibernate keeps loaded values as their own dirty
+ * checking snapshot instead of copying them through the converter.
+ */
+@Converter
+@Immutable
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
@@ -6,9 +6,14 @@ import java.time.LocalDate;
 
 /**
  * Withdrawal entity representing a withdrawal made from a time deposit.
+ *
+ * The table is range-partitioned by month of {@code date} (see the V5
+ * migration), and its primary key is {@code (id, date)}; ids come from one
+ * sequence and stay unique, so the entity keeps {@code id} as identifier.
  */
 @Entity
-@Table(name = "withdrawals")
+@Table(name = "withdrawals",
+       indexes = @Index(name = "idx_withdrawals_time_deposit_id", columnList = "timeDepositId"))
 public class Withdrawal {
 
     @Id
@@ -19,7 +24,8 @@ public class Withdrawal {
     private Integer timeDepositId;
 
     @Column(nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
+    @Convert(converter = MoneyConverter.class)
+    private Money amount;
 
     @Column(nullable = false)
     private LocalDate date;
@@ -32,7 +38,7 @@ public class Withdrawal {
 
     public Withdrawal(Integer timeDepositId, BigDecimal amount, LocalDate date) {
         this.timeDepositId = timeDepositId;
-        this.amount = amount;
+        this.amount = Money.of(amount);
         this.date = date;
     }
 
@@ -45,7 +51,7 @@ public class Withdrawal {
     }
 
     public BigDecimal getAmount() {
-        return amount;
+        return amount.toBigDecimal();
     }
 
     public LocalDate getDate() {
@@ -0,0 +1,73 @@
+-- Schema as created by spring.jpa.hibernate.ddl-auto=update before migrations
+-- were introduced. Databases that already have it are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and continue with V2.
+
+CREATE TABLE time_deposits (
+    balance   float(53)    NOT NULL,
+    days      integer      NOT NULL,
+    id        integer      NOT NULL,
+    plan_type varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE withdrawals (
+    amount          numeric(19, 2) NOT NULL,
+    date            date           NOT NULL,
+    id              serial         NOT NULL,
+    time_deposit_id integer        NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_withdrawals_time_deposit_id
+    ON withdrawals (time_deposit_id);
+
+CREATE TABLE interest_runs (
+    period          varchar(7),
+    completed_at    timestamp(6) with time zone,
+    id              bigserial                   NOT NULL,
+    processed_count bigint                      NOT NULL,
+    started_at      timestamp(6) with time zone NOT NULL,
+    total_count     bigint,
+    status          varchar(16)                 NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    failure_message varchar(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE interest_run_partitions (
+    end_id            integer                     NOT NULL,
+    last_processed_id integer                     NOT NULL,
+    partition_index   integer                     NOT NULL,
+    start_after_id    integer                     NOT NULL,
+    completed_at      timestamp(6) with time zone,
+    id                bigserial                   NOT NULL,
+    processed_count   bigint                      NOT NULL,
+    run_id            bigint                      NOT NULL,
+    status            varchar(16)                 NOT NULL CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_interest_run_partitions_run_id
+    ON interest_run_partitions (run_id);
+
+CREATE TABLE interest_accruals (
+    interest        numeric(19, 2)              NOT NULL,
+    time_deposit_id integer                     NOT NULL,
+    period          varchar(7)                  NOT NULL,
+    accrued_at      timestamp(6) with time zone NOT NULL,
+    id              bigserial                   NOT NULL,
+    run_id          bigint                      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_interest_accruals_deposit_period UNIQUE (time_deposit_id, period)
+);
+
+CREATE INDEX idx_interest_accruals_run_id
+    ON interest_accruals (run_id);
+
+CREATE TABLE interest_plans (
+    annual_rate          float(53)   NOT NULL,
+    compounding_per_year integer     NOT NULL,
+    max_days             integer,
+    min_days             integer     NOT NULL,
+    plan_type            varchar(32) NOT NULL,
+    PRIMARY KEY (plan_type)
+);
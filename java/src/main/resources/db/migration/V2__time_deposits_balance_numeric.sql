@@ -0,0 +1,5 @@
+-- Store time deposit balances as exact decimals instead of binary floating point.
+-- Existing values are rounded HALF_UP to cents, which is what the application
+-- reads them as since balances are held in whole cents.
+ALTER TABLE time_deposits
+    ALTER COLUMN balance TYPE numeric(19, 2) USING round(balance::numeric, 2);
@@ -0,0 +1,4 @@
+-- Optimistic locking version of time deposits. Interest runs and withdrawals
+-- change balances with atomic deltas and increment it; JPA updates check it.
+ALTER TABLE time_deposits
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Composite index behind the filtered listing (GET /time-deposits/search):
+-- equality on plan_type and a range on days, with id last so keyset pages are
+-- read in id order from the index alone.
+-- CONCURRENTLY keeps the table writable while the index builds; Flyway runs
+-- this migration outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_time_deposits_plan_type_days
+    ON time_deposits (plan_type, days, id);
@@ -0,0 +1,68 @@
+-- Withdrawals range-partitioned by month of their date, so old months can be
+-- detached (WithdrawalPartitionMaintenance) and date-bounded queries only read
+-- the partitions they need. Each partition gets its own time_deposit_id index
+-- from the index on the parent.
+--
+-- Partitions are named withdrawals_yyyy_mm. Rows outside every monthly
+-- partition go to withdrawals_default; create_withdrawal_partition moves them
+-- into a partition created later for their month.
+--
+-- The primary key of a partitioned table must contain the partition key, so
+-- it becomes (id, date); ids still come from the same sequence.
+
+ALTER TABLE withdrawals RENAME TO withdrawals_unpartitioned;
+ALTER INDEX withdrawals_pkey RENAME TO withdrawals_unpartitioned_pkey;
+ALTER INDEX IF EXISTS idx_withdrawals_time_deposit_id RENAME TO idx_withdrawals_unpartitioned_time_deposit_id;
+ALTER SEQUENCE withdrawals_id_seq OWNED BY NONE;
+
+CREATE TABLE withdrawals (
+    amount          numeric(19, 2) NOT NULL,
+    date            date           NOT NULL,
+    id              integer        NOT NULL DEFAULT nextval('withdrawals_id_seq'),
+    time_deposit_id integer        NOT NULL,
+    PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+
+ALTER SEQUENCE withdrawals_id_seq OWNED BY withdrawals.id;
+
+CREATE INDEX idx_withdrawals_time_deposit_id
+    ON withdrawals (time_deposit_id);
+
+CREATE TABLE withdrawals_default PARTITION OF withdrawals DEFAULT;
+
+-- Creates the partition of the month containing month_start unless it exists,
+-- moving that month's rows out of the default partition. Returns whether the
+-- partition was created. Instances maintaining partitions concurrently are
+-- serialized by a transaction advisory lock.
+CREATE FUNCTION create_withdrawal_partition(month_start date) RETURNS boolean
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    first_day      date := date_trunc('month', month_start)::date;
+    next_first_day date := (date_trunc('month', month_start) + interval '1 month')::date;
+    partition_name text := 'withdrawals_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('create_withdrawal_partition'));
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE withdrawals INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM withdrawals_default WHERE date >= %L AND date < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved', first_day, next_first_day, partition_name);
+    EXECUTE format('ALTER TABLE withdrawals ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, first_day, next_first_day);
+    RETURN true;
+END
+$$;
+
+-- One partition per month from the oldest withdrawal to three months ahead
+SELECT create_withdrawal_partition(month::date)
+  FROM generate_series(date_trunc('month', coalesce((SELECT min(date) FROM withdrawals_unpartitioned), current_date)),
+                       date_trunc('month', current_date) + interval '3 months',
+                       interval '1 month') AS month;
+
+INSERT INTO withdrawals (amount, date, id, time_deposit_id)
+SELECT amount, date, id, time_deposit_id
+  FROM withdrawals_unpartitioned;
+
+DROP TABLE withdrawals_unpartitioned;
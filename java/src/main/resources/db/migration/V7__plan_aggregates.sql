@@ -0,0 +1,23 @@
+-- Deposit count, balance and interest accrued per plan type, so portfolio
+-- totals are read from one row per plan instead of summed over every deposit.
+-- Interest run chunks and withdrawals update it in their own transactions
+-- (see InterestAccrualLedger and PlanAggregateRepository); a periodic
+-- reconciliation compares it with a full scan. Accrued interest is the sum of
+-- the ledger entries of the deposits in the book.
+CREATE TABLE plan_aggregates (
+    plan_type        varchar(255)   NOT NULL,
+    deposit_count    bigint         NOT NULL,
+    balance          numeric(19, 2) NOT NULL,
+    accrued_interest numeric(19, 2) NOT NULL,
+    PRIMARY KEY (plan_type)
+);
+
+INSERT INTO plan_aggregates (plan_type, deposit_count, balance, accrued_interest)
+SELECT d.plan_type, d.deposit_count, d.balance, coalesce(i.interest, 0)
+  FROM (SELECT plan_type, count(*) AS deposit_count, sum(balance) AS balance
+          FROM time_deposits
+         GROUP BY plan_type) d
+  LEFT JOIN (SELECT t.plan_type, sum(a.interest) AS interest
+               FROM interest_accruals a
+               JOIN time_deposits t ON t.id = a.time_deposit_id
+              GROUP BY t.plan_type) i ON i.plan_type = d.plan_type;
@@ -0,0 +1,36 @@
+-- Transactional outbox of balance changes, served by GET /time-deposits/changes.
+-- Interest run chunks, withdrawals and snapshot imports insert a row per changed
+-- deposit in their own transaction. Ids follow insertion order, not commit
+-- order, so rows become part of the feed only when the relay gives committed
+-- rows consecutive positions after last_position. Rows up to the lowest
+-- position acknowledged by the consumers are deleted, and pruned_through
+-- records how far the feed has been pruned.
+CREATE TABLE balance_changes (
+    id              bigserial                   NOT NULL,
+    position        bigint,
+    time_deposit_id integer                     NOT NULL,
+    cause           varchar(16)                 NOT NULL CHECK (cause IN ('INTEREST', 'WITHDRAWAL', 'IMPORT')),
+    run_id          bigint,
+    amount          numeric(19, 2),
+    balance         numeric(19, 2)              NOT NULL,
+    changed_at      timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_balance_changes_position UNIQUE (position)
+);
+
+CREATE INDEX idx_balance_changes_unpublished
+    ON balance_changes (id) WHERE position IS NULL;
+
+CREATE TABLE balance_change_feed (
+    last_position  bigint NOT NULL,
+    pruned_through bigint NOT NULL
+);
+
+INSERT INTO balance_change_feed (last_position, pruned_through) VALUES (0, 0);
+
+CREATE TABLE balance_change_consumers (
+    consumer       varchar(128)                NOT NULL,
+    acked_position bigint                      NOT NULL,
+    acked_at       timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (consumer)
+);
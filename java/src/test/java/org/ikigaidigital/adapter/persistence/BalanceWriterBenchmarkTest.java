@@ -0,0 +1,136 @@
+package org.ikigaidigital.adapter.persistence;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.ikigaidigital.application.InterestRules;
+import org.ikigaidigital.application.InterestRunMetrics;
+import org.ikigaidigital.application.InterestRunProperties;
+import org.ikigaidigital.application.InterestRunner;
+import org.ikigaidigital.application.ListingCacheProperties;
+import org.ikigaidigital.application.TimeDepositResponseCache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the balance writer strategies, the columnar engine and a parallel
+ * run on a full interest run.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ * The row count can be changed with {@code -Dbenchmark.rows=...}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.datasource.hikari.maximum-pool-size=8"})
+@Testcontainers
+@ActiveProfiles("test")
+class BalanceWriterBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private InterestRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InterestRunProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void announce() {
+        System.out.printf("Balance writer benchmark over %,d deposits%n", ROWS);
+    }
+
+    @Test
+    void compareWriters() {
+        Map<String, BalanceWriter> writers = new LinkedHashMap<>();
+        writers.put("jpa", new JpaBalanceWriter(timeDepositRepository));
+        writers.put("jdbc-batch", new JdbcBatchBalanceWriter(jdbcTemplate, entityManager));
+        writers.put("set-based", new SetBasedBalanceWriter(new DepositBatchRepository(jdbcTemplate), entityManager));
+
+        writers.forEach((name, writer) -> time(name, writer, properties));
+
+        InterestRunProperties columnar = new InterestRunProperties();
+        columnar.setChunkSize(properties.getChunkSize());
+        columnar.setEngine(InterestRunProperties.Engine.COLUMNAR);
+        time("columnar", writers.get("jdbc-batch"), columnar);
+
+        InterestRunProperties parallel = new InterestRunProperties();
+        parallel.setChunkSize(properties.getChunkSize());
+        parallel.setParallelism(4);
+        time("parallel-4", writers.get("jdbc-batch"), parallel);
+    }
+
+    private void time(String name, BalanceWriter writer, InterestRunProperties runProperties) {
+        seed();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InterestRules interestRules = new InterestRules();
+        InterestRunner runner = new InterestRunner(timeDepositRepository, interestRunRepository, partitionRepository,
+                writer, new DepositBatchRepository(jdbcTemplate),
+                new InterestAccrualLedger(jdbcTemplate), new BalanceChangeOutbox(jdbcTemplate), entityManager,
+                transactionManager, runProperties, interestRules,
+                new TimeDepositResponseCache(new ListingCacheProperties(), meterRegistry, Optional.empty()),
+                new InterestRunMetrics(meterRegistry, interestRules));
+
+        long start = System.nanoTime();
+        runner.run();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-12s %,8d ms  %,10.0f deposits/s%n",
+                name, elapsedMillis, ROWS * 1000.0 / Math.max(elapsedMillis, 1));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM time_deposits WHERE plan_type = 'basic' AND days > 30 AND balance = 1201.0",
+                Long.class)).isPositive();
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE time_deposits, interest_runs, interest_run_partitions, interest_accruals");
+        jdbcTemplate.update("""
+                INSERT INTO time_deposits (id, plan_type, balance, days)
+                SELECT g, (ARRAY['basic', 'student', 'premium'])[1 + g % 3], 1200.0, 20 + g % 400
+                  FROM generate_series(1, ?) AS g""", ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE time_deposits");
+    }
+}
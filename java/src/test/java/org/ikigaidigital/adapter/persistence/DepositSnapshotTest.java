@@ -0,0 +1,150 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.DepositBatch;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DepositSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path writeSample() {
+        Path path = directory.resolve("book.tdsnap");
+        DepositSnapshot.Writer writer = DepositSnapshot.create(path, List.of("basic", "premium", "legacy"), 3, 2,
+                Instant.ofEpochMilli(1_700_000_000_000L));
+        writer.addDeposit(1, 0, 31, 120_000);
+        writer.addDeposit(2, 1, 46, 120_000);
+        writer.addDeposit(5, 2, 400, -15);
+        writer.addWithdrawal(10, 2, 10_050, (int) LocalDate.of(2024, 1, 15).toEpochDay());
+        writer.addWithdrawal(11, 5, 1, 0);
+        writer.finish();
+        return path;
+    }
+
+    @Test
+    @DisplayName("Rows written to a snapshot read back from the mapping")
+    void roundTrip() {
+        DepositSnapshot snapshot = DepositSnapshot.open(writeSample());
+
+        assertThat(snapshot.planTypes()).containsExactly("basic", "premium", "legacy");
+        assertThat(snapshot.depositCount()).isEqualTo(3);
+        assertThat(snapshot.withdrawalCount()).isEqualTo(2);
+        assertThat(snapshot.createdAt()).isEqualTo(Instant.ofEpochMilli(1_700_000_000_000L));
+        assertThat(snapshot.size() % 8).isZero();
+        assertThat(snapshot.depositId(2)).isEqualTo(5);
+        assertThat(snapshot.planTypeIndex(1)).isEqualTo(1);
+        assertThat(snapshot.days(0)).isEqualTo(31);
+        assertThat(snapshot.balanceCents(2)).isEqualTo(-15);
+        assertThat(snapshot.withdrawalDepositId(0)).isEqualTo(2);
+        assertThat(snapshot.withdrawalAmountCents(0)).isEqualTo(10_050);
+        assertThat(LocalDate.ofEpochDay(snapshot.withdrawalEpochDay(0))).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    @DisplayName("Deposits fill a batch with plan types resolved against the rule table")
+    void fillBatch() {
+        DepositSnapshot snapshot = DepositSnapshot.open(writeSample());
+        DepositBatch batch = new DepositBatch(2);
+
+        int next = snapshot.fill(0, InterestRuleTable.DEFAULT, batch);
+
+        assertThat(next).isEqualTo(2);
+        assertThat(batch.planCode(1)).isEqualTo(InterestPlan.PREMIUM.code());
+        assertThat(snapshot.fill(next, InterestRuleTable.DEFAULT, batch)).isEqualTo(3);
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.planCode(0)).isEqualTo(InterestPlan.NONE.code());
+    }
+
+    @Test
+    @DisplayName("Corrupted or incomplete snapshots are rejected")
+    void corruption() throws Exception {
+        Path path = writeSample();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(DepositSnapshot.HEADER_SIZE + 40);
+            int b = file.read();
+            file.seek(DepositSnapshot.HEADER_SIZE + 40);
+            file.write(b ^ 1);
+        }
+        assertThatThrownBy(() -> DepositSnapshot.open(path))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("checksum");
+
+        Path other = directory.resolve("other.tdsnap");
+        Files.writeString(other, "not a snapshot, just some text of sufficient length to pass"
+                + " the header size check");
+        assertThatThrownBy(() -> DepositSnapshot.open(other))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        DepositSnapshot.Writer writer = DepositSnapshot.create(directory.resolve("short.tdsnap"),
+                List.of("basic"), 2, 0, Instant.now());
+        writer.addDeposit(1, 0, 31, 100);
+        assertThatThrownBy(writer::finish).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("A snapshot replaces the previous one only when finished, leaving open mappings intact")
+    void atomicReplace() throws Exception {
+        // Given
+        Path path = writeSample();
+        DepositSnapshot previous = DepositSnapshot.open(path);
+
+        // When - an export fails halfway
+        try (DepositSnapshot.Writer writer = DepositSnapshot.create(path, List.of("basic"), 2, 0, Instant.now())) {
+            writer.addDeposit(1, 0, 31, 100);
+        }
+
+        // Then - the previous snapshot is untouched and no temporary file is left
+        assertThat(DepositSnapshot.open(path).checksum()).isEqualTo(previous.checksum());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+
+        // When - a complete export replaces it
+        try (DepositSnapshot.Writer writer = DepositSnapshot.create(path, List.of("basic"), 1, 0, Instant.now())) {
+            writer.addDeposit(7, 0, 31, 100);
+            writer.finish();
+        }
+
+        // Then - readers of the previous snapshot still see its rows
+        assertThat(DepositSnapshot.open(path).depositId(0)).isEqualTo(7);
+        assertThat(previous.depositCount()).isEqualTo(3);
+        assertThat(previous.depositId(2)).isEqualTo(5);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    @DisplayName("COPY text rows are parsed and written without intermediate strings")
+    void copyText() {
+        DepositSnapshotRepository.CopyText.Row row = new DepositSnapshotRepository.CopyText.Row()
+                .parse("42\tpremium\t-7\t1234567\n".getBytes(StandardCharsets.UTF_8));
+        byte[][] planTypes = {"basic".getBytes(StandardCharsets.UTF_8), "premium".getBytes(StandardCharsets.UTF_8)};
+        assertThat(row.intField(0)).isEqualTo(42);
+        assertThat(row.indexOf(1, planTypes)).isEqualTo(1);
+        assertThat(row.intField(2)).isEqualTo(-7);
+        assertThat(row.longField(3)).isEqualTo(1_234_567L);
+
+        DepositSnapshotRepository.CopyText.Buffer out = new DepositSnapshotRepository.CopyText.Buffer(4);
+        out.appendInt(42).tab().append(DepositSnapshotRepository.CopyText.escape("a\tb\\c")).tab()
+                .appendCents(1_234_567).tab().appendCents(-5).tab().appendDate(0).newline();
+        assertThat(new String(out.bytes(), 0, out.length(), StandardCharsets.UTF_8))
+                .isEqualTo("42\ta\\tb\\\\c\t12345.67\t-0.05\t1970-01-01\n");
+    }
+}
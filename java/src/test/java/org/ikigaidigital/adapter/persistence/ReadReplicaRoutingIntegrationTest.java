@@ -0,0 +1,291 @@
+package org.ikigaidigital.adapter.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.ikigaidigital.application.TimeDepositService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a primary and a hot standby that streams from it, created
+ * with {@code pg_basebackup}. Both configured replicas are pools on that
+ * standby, so round-robin shows up in the pool meters.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final Network network = Network.newNetwork();
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n", 0755),
+                    "/docker-entrypoint-initdb.d/allow-replication.sh");
+
+    @SuppressWarnings("resource")
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:15-alpine")
+            .dependsOn(primary)
+            .withNetwork(network)
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("sh", "-c", """
+                    pg_basebackup -h primary -U test -D "$PGDATA" -R -X stream -c fast \
+                    && chmod 0700 "$PGDATA" && exec postgres"""))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\s", 1));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("read-replicas.urls", () -> replicaUrl() + "," + replicaUrl());
+        registry.add("read-replicas.health-check-interval", () -> "1h");
+        registry.add("read-replicas.max-lag", () -> "1s");
+        registry.add("read-replicas.primary-pin", () -> "2s");
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/testdb";
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private TimeDepositService timeDepositService;
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private InterestAccrualRepository accrualRepository;
+
+    @Autowired
+    private InterestRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HikariDataSource replicaAdmin;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        replicaAdmin = pool(replicaUrl());
+        accrualRepository.deleteAll();
+        partitionRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        withdrawalRepository.deleteAll();
+        timeDepositRepository.deleteAll();
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.0, 45));
+        awaitReplay();
+        routing.checkHealth();
+        awaitUnpinned();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(replicaAdmin).execute("SELECT pg_wal_replay_resume()");
+        replicaAdmin.close();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions run on the replicas, everything else on the primary")
+    void routesByTransactionType() {
+        Boolean readWrite = new TransactionTemplate(transactionManager).execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+
+        assertThat(inReadOnlyTransaction("SELECT pg_is_in_recovery()")).isTrue();
+        assertThat(readWrite).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions alternate between the replica pools")
+    void roundRobin() {
+        double first = acquisitions("replica-1");
+        double second = acquisitions("replica-2");
+        for (int i = 0; i < 10; i++) {
+            assertThat(inReadOnlyTransaction("SELECT pg_is_in_recovery()")).isTrue();
+        }
+
+        assertThat(acquisitions("replica-1") - first).isEqualTo(5);
+        assertThat(acquisitions("replica-2") - second).isEqualTo(5);
+        assertThat(timeDepositService.getAllTimeDeposits()).extracting(TimeDepositResponse::getId).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Reads after a balance update or withdrawal stay on the primary until the pin expires")
+    void primaryPinAfterWrites() throws InterruptedException {
+        pauseReplay();
+
+        timeDepositService.updateAllBalances();
+        assertThat(routing.isPinnedToPrimary()).isTrue();
+        assertThat(timeDepositService.getTimeDeposit(1)).get()
+                .extracting(TimeDepositResponse::getBalance).isEqualTo(1201.0);
+        assertThat(inReadOnlyTransaction("SELECT pg_is_in_recovery()")).isFalse();
+
+        awaitUnpinned();
+        timeDepositService.withdraw(1, new BigDecimal("100.00"), null);
+        assertThat(routing.isPinnedToPrimary()).isTrue();
+        assertThat(timeDepositService.getTimeDeposit(1)).get()
+                .extracting(TimeDepositResponse::getBalance).isEqualTo(1101.0);
+    }
+
+    @Test
+    @DisplayName("A replica whose replay lags behind is taken out of rotation until it catches up")
+    void lagGuard() throws InterruptedException {
+        pauseReplay();
+        timeDepositService.withdraw(1, new BigDecimal("100.00"), null);
+        // the last replayed commit is older than the pin, and the pin longer than max-lag
+        awaitUnpinned();
+
+        routing.checkHealth();
+        assertThat(routing.healthyReplicaCount()).isZero();
+        assertThat(inReadOnlyTransaction("SELECT pg_is_in_recovery()")).isFalse();
+        assertThat(inReadOnlyTransaction("SELECT balance FROM time_deposits WHERE id = 1", BigDecimal.class))
+                .isEqualByComparingTo("1100.00");
+
+        new JdbcTemplate(replicaAdmin).execute("SELECT pg_wal_replay_resume()");
+        awaitReplay();
+        routing.checkHealth();
+        assertThat(routing.healthyReplicaCount()).isEqualTo(2);
+        assertThat(inReadOnlyTransaction("SELECT pg_is_in_recovery()")).isTrue();
+        assertThat(inReadOnlyTransaction("SELECT balance FROM time_deposits WHERE id = 1", BigDecimal.class))
+                .isEqualByComparingTo("1100.00");
+    }
+
+    @Test
+    @DisplayName("An unreachable replica is skipped, and reads fall back to the primary without replicas")
+    void failover() {
+        try (ReplicaRoutingDataSource failover = new ReplicaRoutingDataSource(pool(primary.getJdbcUrl()),
+                List.of(pool("jdbc:postgresql://localhost:1/testdb"), pool(replicaUrl())),
+                Duration.ofMinutes(1), Duration.ZERO)) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(inReadOnlyTransaction(failover)).isTrue();
+            }
+            assertThat(failover.isHealthy(0)).isFalse();
+            assertThat(failover.isHealthy(1)).isTrue();
+            failover.checkHealth();
+            assertThat(failover.healthyReplicaCount()).isEqualTo(1);
+        }
+
+        try (ReplicaRoutingDataSource failover = new ReplicaRoutingDataSource(pool(primary.getJdbcUrl()),
+                List.of(pool("jdbc:postgresql://localhost:1/testdb")), Duration.ofMinutes(1), Duration.ZERO)) {
+            assertThat(inReadOnlyTransaction(failover)).isFalse();
+            assertThat(failover.healthyReplicaCount()).isZero();
+        }
+    }
+
+    private Boolean inReadOnlyTransaction(String sql) {
+        return inReadOnlyTransaction(sql, Boolean.class);
+    }
+
+    private <T> T inReadOnlyTransaction(String sql, Class<T> type) {
+        return readOnly(transactionManager).execute(status -> jdbcTemplate.queryForObject(sql, type));
+    }
+
+    private static Boolean inReadOnlyTransaction(ReplicaRoutingDataSource routing) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        return readOnly(new DataSourceTransactionManager(dataSource)).execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private static TransactionTemplate readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private double acquisitions(String pool) {
+        return meterRegistry.get("hikaricp.connections.acquire").tag("pool", pool).timer().count();
+    }
+
+    private void pauseReplay() {
+        new JdbcTemplate(replicaAdmin).execute("SELECT pg_wal_replay_pause()");
+    }
+
+    /**
+     * Waits until the standby has replayed everything the primary has written.
+     */
+    private void awaitReplay() throws InterruptedException {
+        String lsn = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        JdbcTemplate standby = new JdbcTemplate(replicaAdmin);
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            if (Boolean.TRUE.equals(standby.queryForObject(
+                    "SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn", Boolean.class, lsn))) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Replica did not replay " + lsn + " in time");
+    }
+
+    private void awaitUnpinned() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (routing.isPinnedToPrimary()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Reads were not unpinned from the primary in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static HikariDataSource pool(String url) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername("test");
+        dataSource.setPassword("test");
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+}
@@ -0,0 +1,137 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.domain.Money;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of single-deposit lookups and filtered listings on a large book.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ * The row count can be changed with {@code -Dbenchmark.rows=...}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Testcontainers
+@ActiveProfiles("test")
+class TimeDepositQueryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int WARMUP = 1_000;
+    private static final int ITERATIONS = 5_000;
+    private static final int PAGE_SIZE = 100;
+    private static final List<String> PLAN_TYPES = List.of("basic", "student", "premium");
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "shared_buffers=512MB");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void announce() {
+        System.out.printf("Time deposit query benchmark over %,d deposits%n", ROWS);
+    }
+
+    @Test
+    void lookupsAndFilteredListings() {
+        seed();
+        Random random = new Random(42);
+
+        long[] byId = time("by id", i -> assertThat(timeDepositRepository.findViewsByIdIn(
+                List.of(1 + random.nextInt(ROWS)))).hasSize(1));
+        long[] planAndDay = time("plan + day", i -> timeDepositRepository.findIds(
+                filter(random, 0, null, null), Integer.MIN_VALUE, PAGE_SIZE));
+        time("plan + day, next page", i -> timeDepositRepository.findIds(
+                filter(random, 0, null, null), random.nextInt(ROWS), PAGE_SIZE));
+        time("plan + day + balance + withdrawals", i -> timeDepositRepository.findIds(
+                filter(random, 0, Money.of(1500.0), true), Integer.MIN_VALUE, PAGE_SIZE));
+        time("plan + 10-day range", i -> timeDepositRepository.findIds(
+                filter(random, 9, null, null), Integer.MIN_VALUE, PAGE_SIZE));
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN (ANALYZE, BUFFERS)
+                SELECT id FROM time_deposits
+                 WHERE plan_type = 'basic' AND days >= 100 AND days <= 100 AND id > 0
+                 ORDER BY id LIMIT 100""", String.class));
+        System.out.println(plan);
+
+        assertThat(plan).contains("idx_time_deposits_plan_type_days");
+        assertThat(byId[0]).as("median by id lookup, ns").isLessThan(1_000_000);
+        assertThat(planAndDay[0]).as("median filtered listing, ns").isLessThan(1_000_000);
+    }
+
+    private static TimeDepositFilter filter(Random random, int daySpan, Money minBalance, Boolean hasWithdrawals) {
+        int day = 20 + random.nextInt(400 - daySpan);
+        return new TimeDepositFilter(PLAN_TYPES.get(random.nextInt(PLAN_TYPES.size())), day, day + daySpan,
+                minBalance, null, hasWithdrawals);
+    }
+
+    /**
+     * Runs the query {@link #ITERATIONS} times after a warm-up and prints its
+     * latency percentiles.
+     *
+     * @return the median and 99th percentile in nanoseconds
+     */
+    private static long[] time(String name, IntConsumer query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.accept(i);
+        }
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.accept(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        long median = latencies[ITERATIONS / 2];
+        long p99 = latencies[ITERATIONS * 99 / 100];
+        System.out.printf("%-36s p50 %,8.1f us  p99 %,8.1f us%n", name, median / 1000.0, p99 / 1000.0);
+        return new long[] {median, p99};
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("TRUNCATE time_deposits, withdrawals");
+        jdbcTemplate.update("""
+                INSERT INTO time_deposits (id, plan_type, balance, days)
+                SELECT g, (ARRAY['basic', 'student', 'premium'])[1 + g % 3], 1000 + g % 1000, 20 + g % 400
+                  FROM generate_series(1, ?) AS g""", ROWS);
+        jdbcTemplate.update("""
+                INSERT INTO withdrawals (time_deposit_id, amount, date)
+                SELECT g, 10.00, DATE '2024-01-15'
+                  FROM generate_series(1, ?, 10) AS g""", ROWS);
+        jdbcTemplate.execute("VACUUM ANALYZE time_deposits");
+        jdbcTemplate.execute("VACUUM ANALYZE withdrawals");
+    }
+}
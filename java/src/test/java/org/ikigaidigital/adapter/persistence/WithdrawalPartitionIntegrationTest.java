@@ -0,0 +1,171 @@
+package org.ikigaidigital.adapter.persistence;
+
+import org.ikigaidigital.application.TimeDepositResponseCache;
+import org.ikigaidigital.application.WithdrawalPartitionMaintenance;
+import org.ikigaidigital.application.WithdrawalPartitionProperties;
+import org.ikigaidigital.domain.Withdrawal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class WithdrawalPartitionIntegrationTest {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private WithdrawalPartitionRepository partitionRepository;
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private TimeDepositResponseCache responseCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        withdrawalRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Migrations partition withdrawals, set the fillfactor and create the partitions ahead")
+    void migratedSchema() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7", "8");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE relname = 'withdrawals'", String.class)).isEqualTo("p");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT array_to_string(reloptions, ',') FROM pg_class WHERE relname = 'time_deposits'",
+                String.class)).contains("fillfactor=80");
+
+        YearMonth current = YearMonth.now();
+        assertThat(partitionRepository.findPartitionMonths())
+                .contains(current, current.plusMonths(1), current.plusMonths(3));
+        // every partition has its own time_deposit_id index
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM pg_indexes
+                 WHERE tablename = ? AND indexdef LIKE '%(time_deposit_id)%'""",
+                Long.class, WithdrawalPartitionRepository.partitionName(current))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Date-bounded queries only scan the partitions of their months")
+    void partitionPruning() {
+        for (int month = 1; month <= 3; month++) {
+            partitionRepository.createPartition(YearMonth.of(2024, month));
+            withdrawalRepository.save(new Withdrawal(1, new BigDecimal("10.00"), LocalDate.of(2024, month, 15)));
+        }
+        withdrawalRepository.save(new Withdrawal(1, new BigDecimal("10.00"), LocalDate.of(2010, 6, 1)));
+
+        // Pruned when planning
+        String plan = explain("""
+                EXPLAIN SELECT * FROM withdrawals
+                 WHERE time_deposit_id = 1 AND date >= DATE '2024-02-01' AND date < DATE '2024-03-01'""");
+        assertThat(plan).contains("withdrawals_2024_02")
+                .doesNotContain("withdrawals_2024_01", "withdrawals_2024_03", "withdrawals_default");
+
+        // Pruned when executing a generic plan with bound parameters, as JDBC clients run it
+        String genericPlan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE by_month(date, date) AS"
+                        + " SELECT * FROM withdrawals WHERE date >= $1 AND date < $2");
+                List<String> lines = new ArrayList<>();
+                try (ResultSet rows = statement.executeQuery(
+                        "EXPLAIN (ANALYZE, COSTS OFF) EXECUTE by_month('2024-03-01', '2024-04-01')")) {
+                    while (rows.next()) {
+                        lines.add(rows.getString(1));
+                    }
+                }
+                statement.execute("DEALLOCATE by_month");
+                statement.execute("RESET plan_cache_mode");
+                return String.join("\n", lines);
+            }
+        });
+        assertThat(genericPlan).contains("Subplans Removed")
+                .contains("withdrawals_2024_03")
+                .doesNotContain("withdrawals_2024_01", "withdrawals_2024_02");
+    }
+
+    @Test
+    @DisplayName("A partition created later takes over its month's rows from the default partition")
+    void createPartitionMovesDefaultRows() {
+        Withdrawal withdrawal = withdrawalRepository.save(
+                new Withdrawal(1, new BigDecimal("25.00"), LocalDate.of(2031, 5, 10)));
+        assertThat(partitionOf(withdrawal)).isEqualTo("withdrawals_default");
+
+        assertThat(partitionRepository.createPartition(YearMonth.of(2031, 5))).isTrue();
+        assertThat(partitionRepository.createPartition(YearMonth.of(2031, 5))).isFalse();
+
+        assertThat(partitionOf(withdrawal)).isEqualTo("withdrawals_2031_05");
+        assertThat(withdrawalRepository.findByTimeDepositId(1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Retention detaches partitions of expired months and keeps their rows in a standalone table")
+    void retentionDetachesOldPartitions() {
+        partitionRepository.createPartition(YearMonth.of(2001, 1));
+        withdrawalRepository.save(new Withdrawal(7, new BigDecimal("5.00"), LocalDate.of(2001, 1, 20)));
+        withdrawalRepository.save(new Withdrawal(7, new BigDecimal("6.00"), LocalDate.now()));
+        WithdrawalPartitionProperties properties = new WithdrawalPartitionProperties();
+        properties.setRetentionMonths(120);
+        WithdrawalPartitionMaintenance maintenance =
+                new WithdrawalPartitionMaintenance(partitionRepository, responseCache, properties);
+
+        List<YearMonth> detached = maintenance.maintain();
+
+        assertThat(detached).contains(YearMonth.of(2001, 1)).doesNotContain(YearMonth.now());
+        assertThat(partitionRepository.findPartitionMonths()).doesNotContain(YearMonth.of(2001, 1));
+        assertThat(withdrawalRepository.findByTimeDepositId(7)).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM withdrawals_2001_01", Long.class))
+                .isEqualTo(1);
+        jdbcTemplate.execute("DROP TABLE withdrawals_2001_01");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList(sql, String.class));
+    }
+
+    private String partitionOf(Withdrawal withdrawal) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM withdrawals WHERE id = ?",
+                String.class, withdrawal.getId());
+    }
+}
@@ -0,0 +1,140 @@
+package org.ikigaidigital.adapter.web;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness for GET /time-deposits: many concurrent clients each issue a
+ * series of requests against a real server and Postgres, and the latency
+ * distribution is reported. Subclasses choose the request threading model.
+ * Run with {@code mvn test -Pload-test}; sizes can be changed with
+ * {@code -Dload.clients=...} and {@code -Dload.requests=...}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "spring.datasource.hikari.maximum-pool-size=32"})
+abstract class AbstractListingLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requests", 10);
+    private static final int DEPOSITS = 200;
+
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    static {
+        postgres.start();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @BeforeEach
+    void setUp() {
+        timeDepositRepository.deleteAll();
+        List<TimeDeposit> deposits = new ArrayList<>();
+        for (int id = 1; id <= DEPOSITS; id++) {
+            deposits.add(new TimeDeposit(id, "basic", 1000.00 + id, 31));
+        }
+        timeDepositRepository.saveAll(deposits);
+    }
+
+    /**
+     * Name of the threading model, used in the report.
+     */
+    abstract String mode();
+
+    @Test
+    void concurrentListingLatency() {
+        ExecutorService callbacks = Executors.newFixedThreadPool(16);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/time-deposits"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                chain = chain.thenCompose(ignored -> {
+                    long sent = System.nanoTime();
+                    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .handle((response, error) -> {
+                                if (error != null || response.statusCode() != 200) {
+                                    failures.incrementAndGet();
+                                }
+                                latencies[recorded.getAndIncrement()] = System.nanoTime() - sent;
+                                return null;
+                            });
+                });
+            }
+            clients.add(chain);
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture<?>[0])).join();
+        long elapsed = System.nanoTime() - start;
+        callbacks.shutdown();
+
+        long[] sorted = Arrays.copyOf(latencies, recorded.get());
+        Arrays.sort(sorted);
+        System.out.printf("%s: %d clients x %d requests in %,d ms (%,.0f req/s), p50 %,.1f ms, p99 %,.1f ms, max %,.1f ms, %d failures%n",
+                mode(), CLIENTS, REQUESTS_PER_CLIENT, elapsed / 1_000_000,
+                sorted.length * 1e9 / elapsed,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6,
+                failures.get());
+
+        assertThat(sorted).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+        assertThat(failures.get()).isZero();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,391 @@
+package org.ikigaidigital.adapter.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.persistence.BalanceChange;
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.persistence.InterestAccrualRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunPartitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.ikigaidigital.adapter.persistence.WithdrawalRepository;
+import org.ikigaidigital.application.BalanceChangeRelay;
+import org.ikigaidigital.application.TimeDepositService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+class BalanceChangeFeedIntegrationTest {
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        // the tests relay explicitly
+        registry.add("change-feed.relay-interval", () -> "1h");
+        registry.add("change-feed.batch-size", () -> "2");
+        registry.add("change-feed.max-subscribers", () -> "2");
+        registry.add("change-feed.heartbeat-interval", () -> "200ms");
+        registry.add("change-feed.stream-duration", () -> "3s");
+        registry.add("spring.mvc.async.request-timeout", () -> "5s");
+    }
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TimeDepositService timeDepositService;
+
+    @Autowired
+    private BalanceChangeRelay relay;
+
+    @Autowired
+    private BalanceChangeOutbox changeOutbox;
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private InterestAccrualRepository accrualRepository;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private InterestRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        accrualRepository.deleteAll();
+        partitionRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        withdrawalRepository.deleteAll();
+        timeDepositRepository.deleteAll();
+        jdbcTemplate.execute("TRUNCATE balance_changes, balance_change_consumers");
+        jdbcTemplate.update("UPDATE balance_change_feed SET last_position = 0, pruned_through = 0");
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 2400.00, 46));
+        timeDepositRepository.save(new TimeDeposit(3, "student", 1000.00, 10));
+    }
+
+    @AfterEach
+    void awaitStreamsClosed() throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (meterRegistry.get("change.feed.subscribers").gauge().value() > 0) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Change streams were not closed in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Interest runs and withdrawals record their changes, streamed in batches once relayed")
+    void recordsAndStreamsChanges() throws Exception {
+        // Given
+        timeDepositService.updateAllBalances();
+        timeDepositService.withdraw(1, new BigDecimal("100.00"), null);
+        assertThat(changeOutbox.findAfter(0, 10)).isEmpty();
+
+        // When
+        assertThat(relay.publish()).isEqualTo(3);
+
+        // Then - the student deposit is credited nothing, so it has no change
+        List<String> lines = readEvents(0, 2);
+        assertThat(lines).filteredOn(line -> line.startsWith("id:")).containsExactly("id: 2", "id: 3");
+        List<JsonNode> changes = changes(lines);
+        assertThat(changes).extracting(change -> change.get("offset").asLong()).containsExactly(1L, 2L, 3L);
+        assertThat(changes).extracting(change -> change.get("depositId").asInt()).containsExactly(1, 2, 1);
+        assertThat(changes).extracting(change -> change.get("cause").asText())
+                .containsExactly("INTEREST", "INTEREST", "WITHDRAWAL");
+        assertThat(changes).extracting(change -> change.get("amount").decimalValue())
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("1.00"), new BigDecimal("10.00"), new BigDecimal("-100.00"));
+        assertThat(changes).extracting(change -> change.get("balance").decimalValue())
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("1201.00"), new BigDecimal("2410.00"), new BigDecimal("1101.00"));
+        assertThat(changes.get(0).get("runId").isNull()).isFalse();
+        assertThat(changes.get(2).get("runId").isNull()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A stream serves the backlog, then changes as they are published, and resumes from Last-Event-ID")
+    void streamsLiveChanges() throws Exception {
+        // Given
+        timeDepositService.withdraw(1, new BigDecimal("1.00"), null);
+        timeDepositService.withdraw(2, new BigDecimal("2.00"), null);
+        relay.publish();
+
+        HttpResponse<Stream<String>> response = httpClient.send(
+                HttpRequest.newBuilder(changesUri(0)).build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).get().asString().startsWith("text/event-stream");
+        try (Stream<String> body = response.body()) {
+            Iterator<String> lines = body.iterator();
+            assertThat(nextData(lines)).extracting(change -> change.get("depositId").asInt()).containsExactly(1, 2);
+
+            // When - a change is published while the client waits
+            timeDepositService.withdraw(3, new BigDecimal("3.00"), null);
+            relay.publish();
+
+            // Then
+            assertThat(nextData(lines)).extracting(change -> change.get("offset").asLong()).containsExactly(3L);
+        }
+
+        HttpResponse<Stream<String>> resumed = httpClient.send(
+                HttpRequest.newBuilder(changesUri(0)).header("Last-Event-ID", "2").build(),
+                HttpResponse.BodyHandlers.ofLines());
+        try (Stream<String> body = resumed.body()) {
+            assertThat(nextData(body.iterator())).extracting(change -> change.get("offset").asLong())
+                    .containsExactly(3L);
+        }
+    }
+
+    @Test
+    @DisplayName("A change committed after a later one is published after it, so offsets never skip it")
+    void publishesInCommitOrder() throws Exception {
+        // Given - a withdrawal recorded first but committed last
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    timeDepositService.withdraw(1, new BigDecimal("10.00"), null);
+                    recorded.countDown();
+                    await(commit);
+                }));
+        assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+        timeDepositService.withdraw(2, new BigDecimal("20.00"), null);
+
+        // When / Then
+        assertThat(relay.publish()).isEqualTo(1);
+        assertThat(changeOutbox.findAfter(0, 10)).extracting(BalanceChange::depositId).containsExactly(2);
+
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        assertThat(relay.publish()).isEqualTo(1);
+        assertThat(changeOutbox.findAfter(0, 10)).extracting(BalanceChange::position, BalanceChange::depositId)
+                .containsExactly(tuple(1L, 2), tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("Changes acknowledged by every consumer are pruned, and streams from before them are gone")
+    void prunesAcknowledgedChanges() throws Exception {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            timeDepositService.withdraw(1, new BigDecimal("1.00"), null);
+        }
+        relay.publish();
+
+        // When / Then - the slowest consumer holds back pruning
+        assertThat(acknowledge("billing", 3)).isEqualTo(204);
+        assertThat(acknowledge("ledger", 1)).isEqualTo(204);
+        assertThat(relay.prune()).isEqualTo(1);
+        assertThat(acknowledge("ledger", 4)).isEqualTo(204);
+        assertThat(relay.prune()).isEqualTo(2);
+        assertThat(changeOutbox.findFeedState().prunedThrough()).isEqualTo(3);
+        assertThat(changeOutbox.findAfter(0, 10)).extracting(BalanceChange::position).containsExactly(4L);
+
+        HttpResponse<String> gone = httpClient.send(
+                HttpRequest.newBuilder(changesUri(2)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(gone.statusCode()).isEqualTo(410);
+        assertThat(changes(readEvents(3, 1))).extracting(change -> change.get("offset").asLong())
+                .containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("Invalid offsets, acknowledgements and streams beyond the maximum are rejected")
+    void rejectsInvalidRequests() throws Exception {
+        HttpResponse<String> ahead = httpClient.send(
+                HttpRequest.newBuilder(changesUri(5)).build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(ahead.statusCode()).isEqualTo(400);
+        assertThat(acknowledge("billing", 1)).isEqualTo(400);
+        assertThat(acknowledge("bad name", 0)).isEqualTo(400);
+
+        List<Stream<String>> open = new ArrayList<>();
+        try {
+            for (int i = 0; i < 2; i++) {
+                HttpResponse<Stream<String>> response = httpClient.send(
+                        HttpRequest.newBuilder(changesUri(0)).build(), HttpResponse.BodyHandlers.ofLines());
+                assertThat(response.statusCode()).isEqualTo(200);
+                open.add(response.body());
+            }
+            HttpResponse<String> busy = httpClient.send(
+                    HttpRequest.newBuilder(changesUri(0)).build(), HttpResponse.BodyHandlers.ofString());
+            assertThat(busy.statusCode()).isEqualTo(503);
+        } finally {
+            open.forEach(Stream::close);
+        }
+    }
+
+    @Test
+    @DisplayName("A request aborted before its stream starts gives back its place when the request times out")
+    void abortedRequestReleasesSubscription() throws Exception {
+        // Given - streams are stuck before reading their first batch
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch unlock = new CountDownLatch(1);
+        CompletableFuture<Void> lock = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.execute("LOCK TABLE balance_changes IN ACCESS EXCLUSIVE MODE");
+                    locked.countDown();
+                    await(unlock);
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When - the client goes away before any response
+            for (int i = 0; i < 2; i++) {
+                try (Socket socket = new Socket("localhost", port)) {
+                    socket.getOutputStream().write(("GET /time-deposits/changes?since=0 HTTP/1.1\r\n"
+                            + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                            .getBytes(StandardCharsets.US_ASCII));
+                    socket.getOutputStream().flush();
+                    awaitSubscribers(i + 1);
+                }
+            }
+
+            // Then - both places are free again while the streams are still stuck
+            awaitSubscribers(0);
+            assertThat(lock).isNotDone();
+        } finally {
+            unlock.countDown();
+            lock.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitSubscribers(int subscribers) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (meterRegistry.get("change.feed.subscribers").gauge().value() != subscribers) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Expected " + subscribers + " change streams, found "
+                        + meterRegistry.get("change.feed.subscribers").gauge().value());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private URI changesUri(long since) {
+        return URI.create("http://localhost:" + port + "/time-deposits/changes?since=" + since);
+    }
+
+    /**
+     * Reads the stream from {@code since} until it has delivered the given
+     * number of events, and returns its lines.
+     */
+    private List<String> readEvents(long since, int events) throws IOException, InterruptedException {
+        HttpResponse<Stream<String>> response = httpClient.send(
+                HttpRequest.newBuilder(changesUri(since)).build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<String> lines = new ArrayList<>();
+        try (Stream<String> body = response.body()) {
+            Iterator<String> iterator = body.iterator();
+            int received = 0;
+            while (received < events && iterator.hasNext()) {
+                String line = iterator.next();
+                lines.add(line);
+                if (line.startsWith("data:")) {
+                    received++;
+                }
+            }
+        }
+        return lines;
+    }
+
+    private List<JsonNode> nextData(Iterator<String> lines) throws IOException {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("data:")) {
+                return changes(List.of(line));
+            }
+        }
+        throw new AssertionError("The stream ended without another event");
+    }
+
+    private List<JsonNode> changes(List<String> lines) throws IOException {
+        List<JsonNode> changes = new ArrayList<>();
+        for (String line : lines) {
+            if (line.startsWith("data:")) {
+                objectMapper.readTree(line.substring("data:".length())).forEach(changes::add);
+            }
+        }
+        return changes;
+    }
+
+    private int acknowledge(String consumer, long offset) throws IOException, InterruptedException {
+        String body = "{\"consumer\": \"" + consumer + "\", \"offset\": " + offset + "}";
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/time-deposits/changes/acks"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
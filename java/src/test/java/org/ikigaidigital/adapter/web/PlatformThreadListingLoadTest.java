@@ -0,0 +1,15 @@
+package org.ikigaidigital.adapter.web;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * GET /time-deposits under load with Tomcat's default platform thread pool.
+ */
+@ActiveProfiles("test")
+class PlatformThreadListingLoadTest extends AbstractListingLoadTest {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -1,8 +1,24 @@
 package org.ikigaidigital.adapter.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.adapter.persistence.InterestAccrualRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunLock;
+import org.ikigaidigital.adapter.persistence.InterestRunPartitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.persistence.PlanAggregateRepository;
 import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
 import org.ikigaidigital.adapter.persistence.WithdrawalRepository;
+import org.ikigaidigital.application.PortfolioSummaryService;
+import org.ikigaidigital.application.TimeDepositResponseCache;
 import org.ikigaidigital.domain.Withdrawal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,18 +26,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,11 +65,14 @@ class TimeDepositControllerIntegrationTest {
             .withUsername("test")
             .withPassword("test");
 
+    private static final Path SNAPSHOT_DIRECTORY = createSnapshotDirectory();
+
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("snapshot.directory", SNAPSHOT_DIRECTORY::toString);
     }
 
     @Autowired
@@ -55,10 +84,44 @@ class TimeDepositControllerIntegrationTest {
     @Autowired
     private WithdrawalRepository withdrawalRepository;
 
+    @Autowired
+    private InterestAccrualRepository accrualRepository;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private InterestRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private InterestRunLock runLock;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PortfolioSummaryService summaryService;
+
+    @Autowired
+    private PlanAggregateRepository planAggregateRepository;
+
+    @Autowired
+    private TimeDepositResponseCache responseCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
+        accrualRepository.deleteAll();
+        partitionRepository.deleteAll();
+        interestRunRepository.deleteAll();
         withdrawalRepository.deleteAll();
         timeDepositRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM plan_aggregates");
     }
 
     @Test
@@ -106,6 +169,669 @@ class TimeDepositControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].withdrawals", hasSize(0)));
     }
 
+    @Test
+    @DisplayName("GET /time-deposits loads withdrawals in bulk instead of once per deposit")
+    void getTimeDeposits_constantQueryCount() throws Exception {
+        // Given
+        for (int id = 1; id <= 10; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1000.00, 31));
+            withdrawalRepository.save(new Withdrawal(id, new BigDecimal("10.00"), LocalDate.of(2024, 1, 15)));
+            withdrawalRepository.save(new Withdrawal(id, new BigDecimal("20.00"), LocalDate.of(2024, 2, 15)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)))
+                .andExpect(jsonPath("$[*].withdrawals", everyItem(hasSize(2))));
+
+        // Then - one query for the ids, one for the deposits and one for all of their withdrawals
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        // When - a second request is served from the listing cache
+        statistics.clear();
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(10)));
+
+        // Then - only the ids are read
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits records the Hibernate statements of each request")
+    void getTimeDeposits_statementMetrics() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.00, 31));
+        mockMvc.perform(get("/time-deposits"));
+        DistributionSummary statements = meterRegistry.summary("http.server.requests.hibernate.statements",
+                "method", "GET", "uri", "/time-deposits");
+        long countBefore = statements.count();
+        double totalBefore = statements.totalAmount();
+
+        // When - served from the listing cache
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(status().isOk());
+
+        // Then - only the id query was executed
+        assertThat(statements.count() - countBefore).isEqualTo(1);
+        assertThat(statements.totalAmount() - totalBefore).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits reflects withdrawals and interest runs committed after caching")
+    void getTimeDeposits_cacheInvalidation() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$[0].withdrawals", hasSize(0)));
+
+        // When/Then - a saved withdrawal evicts its deposit
+        withdrawalRepository.save(new Withdrawal(1, new BigDecimal("50.00"), LocalDate.of(2024, 3, 1)));
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$[0].withdrawals", hasSize(1)));
+
+        // When/Then - a completed interest run invalidates the cache
+        updateBalancesAndWait();
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$[0].balance", is(1201.00)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/cache-stats reports listing cache hits and misses")
+    void getCacheStats() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.00, 31));
+        mockMvc.perform(get("/time-deposits"));
+        mockMvc.perform(get("/time-deposits"));
+
+        // When/Then
+        mockMvc.perform(get("/time-deposits/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size", is(1)))
+                .andExpect(jsonPath("$.hitCount", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.missCount", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.evictionCount", greaterThanOrEqualTo(0)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits?limit pages through deposits by id")
+    void getTimeDeposits_keysetPages() throws Exception {
+        // Given
+        for (int id = 1; id <= 3; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1000.00, 31));
+        }
+
+        // When/Then
+        mockMvc.perform(get("/time-deposits").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(1, 2)))
+                .andExpect(jsonPath("$.nextCursor", is(2)));
+
+        mockMvc.perform(get("/time-deposits").param("limit", "2").param("after", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(3)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits?limit serves pages from the listing cache, consistent with the full listing")
+    void getTimeDeposits_keysetPagesCached() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 1000.00, 31));
+        mockMvc.perform(get("/time-deposits"));
+        long hits = responseCache.stats().hitCount();
+
+        // When/Then - the page is served from the entries of the full listing
+        mockMvc.perform(get("/time-deposits").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].balance", contains(1200.00, 1000.00)));
+        assertThat(responseCache.stats().hitCount() - hits).isEqualTo(2);
+
+        // When/Then - after a withdrawal, both listings show the new balance
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json")
+                        .content("{\"amount\": 100.00}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/time-deposits").param("limit", "2"))
+                .andExpect(jsonPath("$.items[0].balance", is(1100.00)));
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$[0].balance", is(1100.00)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits?limit rejects limits outside the allowed range")
+    void getTimeDeposits_invalidLimit() throws Exception {
+        mockMvc.perform(get("/time-deposits").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits negotiates CBOR and Smile encodings of the same content as JSON")
+    void getTimeDeposits_binaryEncodings() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.50, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 2500.25, 60));
+        withdrawalRepository.save(new Withdrawal(1, new BigDecimal("100.25"), LocalDate.of(2024, 1, 15)));
+        ObjectMapper json = new ObjectMapper();
+        Map<String, ObjectMapper> decoders = Map.of(
+                "application/cbor", new ObjectMapper(new CBORFactory()),
+                "application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+
+        for (String path : new String[] {"/time-deposits", "/time-deposits/1", "/time-deposits/search"}) {
+            String expected = mockMvc.perform(get(path))
+                    .andExpect(content().contentType("application/json"))
+                    .andReturn().getResponse().getContentAsString();
+
+            // When/Then
+            for (Map.Entry<String, ObjectMapper> decoder : decoders.entrySet()) {
+                byte[] body = mockMvc.perform(get(path).accept(decoder.getKey()))
+                        .andExpect(status().isOk())
+                        .andExpect(content().contentType(decoder.getKey()))
+                        .andReturn().getResponse().getContentAsByteArray();
+
+                assertThat(json.writeValueAsString(decoder.getValue().readTree(body))).isEqualTo(expected);
+                assertThat(body.length).isLessThan(expected.length());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/{id} returns one deposit with its withdrawals")
+    void getTimeDeposit_byId() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 2500.50, 60));
+        withdrawalRepository.save(new Withdrawal(2, new BigDecimal("100.00"), LocalDate.of(2024, 1, 15)));
+
+        // When/Then
+        mockMvc.perform(get("/time-deposits/{id}", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(2)))
+                .andExpect(jsonPath("$.planType", is("premium")))
+                .andExpect(jsonPath("$.balance", is(2500.50)))
+                .andExpect(jsonPath("$.days", is(60)))
+                .andExpect(jsonPath("$.withdrawals", hasSize(1)))
+                .andExpect(jsonPath("$.withdrawals[0].amount", is(100.00)));
+
+        mockMvc.perform(get("/time-deposits/{id}", 3))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/search combines plan type, day, balance and withdrawal filters")
+    void searchTimeDeposits_filters() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 5000.00, 90));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 2000.00, 50));
+        timeDepositRepository.save(new TimeDeposit(4, "basic", 3000.00, 60));
+        timeDepositRepository.save(new TimeDeposit(5, "student", 500.00, 40));
+        withdrawalRepository.save(new Withdrawal(2, new BigDecimal("10.00"), LocalDate.of(2024, 1, 15)));
+        withdrawalRepository.save(new Withdrawal(2, new BigDecimal("20.00"), LocalDate.of(2024, 2, 15)));
+        withdrawalRepository.save(new Withdrawal(3, new BigDecimal("30.00"), LocalDate.of(2024, 1, 15)));
+
+        // When/Then
+        mockMvc.perform(get("/time-deposits/search").param("planType", "basic"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].id", contains(1, 2, 4)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+        mockMvc.perform(get("/time-deposits/search").param("planType", "basic")
+                        .param("minDays", "31").param("maxDays", "60"))
+                .andExpect(jsonPath("$.items[*].id", contains(1, 4)));
+        mockMvc.perform(get("/time-deposits/search").param("minBalance", "1000.00").param("maxBalance", "3000"))
+                .andExpect(jsonPath("$.items[*].id", contains(1, 3, 4)));
+        mockMvc.perform(get("/time-deposits/search").param("hasWithdrawals", "true"))
+                .andExpect(jsonPath("$.items[*].id", contains(2, 3)))
+                .andExpect(jsonPath("$.items[0].withdrawals", hasSize(2)));
+        mockMvc.perform(get("/time-deposits/search").param("hasWithdrawals", "false").param("maxDays", "45"))
+                .andExpect(jsonPath("$.items[*].id", contains(1, 5)));
+        mockMvc.perform(get("/time-deposits/search").param("planType", "legacy"))
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        // Keyset pages over the filtered deposits
+        mockMvc.perform(get("/time-deposits/search").param("planType", "basic").param("limit", "2"))
+                .andExpect(jsonPath("$.items[*].id", contains(1, 2)))
+                .andExpect(jsonPath("$.nextCursor", is(2)));
+        mockMvc.perform(get("/time-deposits/search").param("planType", "basic").param("limit", "2")
+                        .param("after", "2"))
+                .andExpect(jsonPath("$.items[*].id", contains(4)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/search rejects empty ranges and limits outside the allowed range")
+    void searchTimeDeposits_invalidRequests() throws Exception {
+        mockMvc.perform(get("/time-deposits/search").param("minDays", "60").param("maxDays", "30"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/time-deposits/search").param("minBalance", "10").param("maxBalance", "9.99"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/time-deposits/search").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/time-deposits/search").param("limit", "1001"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/stream writes one JSON document per line")
+    void streamTimeDeposits_ndjson() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1000.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 5000.00, 60));
+        withdrawalRepository.save(new Withdrawal(2, new BigDecimal("100.00"), LocalDate.of(2024, 1, 15)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/time-deposits/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"withdrawals\":[]");
+        assertThat(lines[1]).contains("\"id\":2").contains("\"amount\":100.00");
+    }
+
+    @Test
+    @DisplayName("POST /time-deposits/update-balances starts a job whose status can be polled")
+    void updateBalances_jobStatus() throws Exception {
+        // Given
+        for (int id = 1; id <= 3; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1200.00, 31));
+        }
+
+        // When
+        MvcResult accepted = mockMvc.perform(post("/time-deposits/update-balances"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", containsString("/time-deposits/update-balances/")))
+                .andExpect(jsonPath("$.jobId", notNullValue()))
+                .andExpect(jsonPath("$.totalCount", is(3)))
+                .andReturn();
+        Number jobId = JsonPath.read(accepted.getResponse().getContentAsString(), "$.jobId");
+        awaitCompletion(jobId.longValue());
+
+        // Then
+        mockMvc.perform(get("/time-deposits/update-balances/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.processedCount", is(3)))
+                .andExpect(jsonPath("$.etaSeconds", is(0)))
+                .andExpect(jsonPath("$.throughput", greaterThanOrEqualTo(0.0)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/update-balances/{jobId} returns 404 for unknown jobs")
+    void updateBalances_unknownJob() throws Exception {
+        mockMvc.perform(get("/time-deposits/update-balances/{jobId}", 999_999))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /time-deposits/update-balances returns 409 while another run holds the lock")
+    void updateBalances_conflictWhileLocked() throws Exception {
+        try (InterestRunLock.Lease lease = runLock.tryAcquire().orElseThrow()) {
+            mockMvc.perform(post("/time-deposits/update-balances"))
+                    .andExpect(status().isConflict());
+        }
+        assertThat(interestRunRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /time-deposits/{id}/withdrawals debits the balance and records the withdrawal")
+    void withdraw_debitsBalance() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        mockMvc.perform(get("/time-deposits")).andExpect(jsonPath("$[0].balance", is(1200.00)));
+
+        // When / Then
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json")
+                        .content("{\"amount\": 200.05, \"date\": \"2024-03-01\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(999.95)))
+                .andExpect(jsonPath("$.withdrawals", hasSize(1)))
+                .andExpect(jsonPath("$.withdrawals[0].amount", is(200.05)))
+                .andExpect(jsonPath("$.withdrawals[0].date", is("2024-03-01")));
+
+        // The cached listing entry is evicted
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$[0].balance", is(999.95)));
+    }
+
+    @Test
+    @DisplayName("POST /time-deposits/{id}/withdrawals rejects overdrafts, unknown deposits and invalid amounts")
+    void withdraw_invalidRequests() throws Exception {
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 100.00, 31));
+
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json").content("{\"amount\": 100.01}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 2)
+                        .contentType("application/json").content("{\"amount\": 1.00}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json").content("{\"amount\": 0}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json").content("{\"amount\": 0.001}"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(timeDepositRepository.findById(1).orElseThrow().getBalance()).isEqualTo(100.00);
+        assertThat(withdrawalRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/update-balances/dry-run reports the next run without writing anything")
+    void dryRun_report() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "student", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 1200.00, 46));
+        timeDepositRepository.save(new TimeDeposit(4, "basic", 999.50, 31));
+        timeDepositRepository.save(new TimeDeposit(5, "premium", 1200.00, 10));
+
+        // When / Then - 999.50 * 0.01 / 12 = 0.83 moves deposit 4 above 1000
+        mockMvc.perform(get("/time-deposits/update-balances/dry-run")
+                        .param("top", "2")
+                        .param("threshold", "1000", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depositCount", is(5)))
+                .andExpect(jsonPath("$.creditedCount", is(4)))
+                .andExpect(jsonPath("$.balance", is(5799.50)))
+                .andExpect(jsonPath("$.interest", is(9.83)))
+                .andExpect(jsonPath("$.newBalance", is(5809.33)))
+                .andExpect(jsonPath("$.plans[*].planType", contains("basic", "student", "premium")))
+                .andExpect(jsonPath("$.plans[0].interest", is(1.83)))
+                .andExpect(jsonPath("$.plans[2].depositCount", is(2)))
+                .andExpect(jsonPath("$.plans[2].creditedCount", is(1)))
+                .andExpect(jsonPath("$.plans[2].largestInterest", is(5.00)))
+                .andExpect(jsonPath("$.largestChanges[*].id", contains(3, 2)))
+                .andExpect(jsonPath("$.largestChanges[0].newBalance", is(1205.00)))
+                .andExpect(jsonPath("$.thresholds[0].depositCount", is(1)))
+                .andExpect(jsonPath("$.thresholds[1].depositCount", is(0)));
+
+        assertThat(timeDepositRepository.findById(3).orElseThrow().getBalance()).isEqualTo(1200.00);
+        assertThat(accrualRepository.count()).isZero();
+        assertThat(interestRunRepository.count()).isZero();
+
+        // Deposits the run already processed this month are left out, like the run itself does
+        updateBalancesAndWait();
+        mockMvc.perform(get("/time-deposits/update-balances/dry-run"))
+                .andExpect(jsonPath("$.depositCount", is(0)))
+                .andExpect(jsonPath("$.creditedCount", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/update-balances/dry-run streams every change as NDJSON, then the report")
+    void dryRun_ndjson() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 1200.00, 10));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 1200.00, 46));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/time-deposits/update-balances/dry-run")
+                        .accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).contains("\"id\":1").contains("\"newBalance\":1201.00");
+        assertThat(lines[1]).contains("\"id\":3").contains("\"interest\":5.00");
+        assertThat(lines[2]).contains("\"depositCount\":3").contains("\"creditedCount\":2");
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/update-balances/dry-run returns 400 for invalid limits")
+    void dryRun_invalidLimits() throws Exception {
+        mockMvc.perform(get("/time-deposits/update-balances/dry-run").param("top", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/time-deposits/update-balances/dry-run").param("top", "1001")
+                        .accept("application/x-ndjson"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/{id}/projection returns the balance at the end of each month")
+    void projection_singleDeposit() throws Exception {
+        // Given - student plan accrues from month 2 (age 40) to month 12 (age 340)
+        timeDepositRepository.save(new TimeDeposit(1, "student", 1200.00, 10));
+
+        // When / Then
+        mockMvc.perform(get("/time-deposits/{id}/projection", 1).param("months", "24"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance", is(1200.00)))
+                .andExpect(jsonPath("$.schedule", hasSize(24)))
+                .andExpect(jsonPath("$.schedule[0]", is(1200.00)))
+                .andExpect(jsonPath("$.schedule[1]", is(1203.00)))
+                .andExpect(jsonPath("$.projectedBalance", is(1233.43)))
+                .andExpect(jsonPath("$.interest", is(33.43)));
+
+        // The projection does not touch the stored balance
+        assertThat(timeDepositRepository.findById(1).orElseThrow().getBalance()).isEqualTo(1200.00);
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/{id}/projection returns 404 for unknown deposits and 400 for invalid months")
+    void projection_invalidRequests() throws Exception {
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+
+        mockMvc.perform(get("/time-deposits/{id}/projection", 2).param("months", "12"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/time-deposits/{id}/projection", 1).param("months", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/time-deposits/projection").param("months", "1201"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/projection sums current and projected balances per plan")
+    void projection_portfolio() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 1200.00, 10));
+
+        // When / Then - premium starts accruing in month 3 (age 70)
+        mockMvc.perform(get("/time-deposits/projection").param("months", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depositCount", is(3)))
+                .andExpect(jsonPath("$.balance", is(3600.00)))
+                .andExpect(jsonPath("$.projectedBalance", is(3604.00)))
+                .andExpect(jsonPath("$.plans[0].planType", is("basic")))
+                .andExpect(jsonPath("$.plans[0].depositCount", is(2)))
+                .andExpect(jsonPath("$.plans[0].interest", is(4.00)))
+                .andExpect(jsonPath("$.plans[1].planType", is("premium")))
+                .andExpect(jsonPath("$.plans[1].interest", is(0.00)));
+    }
+
+    @Test
+    @DisplayName("GET /time-deposits/summary follows interest runs and withdrawals without a full scan")
+    void summary_followsRunsAndWithdrawals() throws Exception {
+        // Given - deposits saved directly are picked up by reconciliation
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 600.00, 31));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 2400.00, 46));
+        assertThat(summaryService.reconcile()).containsExactly("basic", "premium");
+
+        // When
+        updateBalancesAndWait();
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 1)
+                        .contentType("application/json")
+                        .content("{\"amount\": 100.25}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/time-deposits/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depositCount", is(3)))
+                .andExpect(jsonPath("$.balance", is(4111.25)))
+                .andExpect(jsonPath("$.accruedInterest", is(11.50)))
+                .andExpect(jsonPath("$.plans[*].planType", contains("basic", "premium")))
+                .andExpect(jsonPath("$.plans[0].depositCount", is(2)))
+                .andExpect(jsonPath("$.plans[0].balance", is(1701.25)))
+                .andExpect(jsonPath("$.plans[0].accruedInterest", is(1.50)))
+                .andExpect(jsonPath("$.plans[1].balance", is(2410.00)))
+                .andExpect(jsonPath("$.plans[1].accruedInterest", is(10.00)));
+        assertThat(planAggregateRepository.findAll()).isEqualTo(planAggregateRepository.scan());
+        assertThat(summaryService.reconcile()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An interest run creates missing plan aggregates with the plan's full totals")
+    void summary_runCreatesMissingAggregates() throws Exception {
+        // Given - deposits without aggregate rows, one of them withdrawn from
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "basic", 600.00, 31));
+        timeDepositRepository.save(new TimeDeposit(3, "premium", 2400.00, 46));
+        mockMvc.perform(post("/time-deposits/{id}/withdrawals", 2)
+                        .contentType("application/json")
+                        .content("{\"amount\": 100.00}"))
+                .andExpect(status().isOk());
+        assertThat(planAggregateRepository.findAll()).isEmpty();
+        double driftBefore = drift("basic") + drift("premium");
+
+        // When
+        updateBalancesAndWait();
+
+        // Then
+        mockMvc.perform(get("/time-deposits/summary"))
+                .andExpect(jsonPath("$.plans[0].depositCount", is(2)))
+                .andExpect(jsonPath("$.plans[0].balance", is(1701.42)))
+                .andExpect(jsonPath("$.plans[0].accruedInterest", is(1.42)))
+                .andExpect(jsonPath("$.plans[1].depositCount", is(1)))
+                .andExpect(jsonPath("$.plans[1].balance", is(2410.00)));
+        assertThat(planAggregateRepository.findAll()).isEqualTo(planAggregateRepository.scan());
+        assertThat(summaryService.reconcile()).isEmpty();
+        assertThat(drift("basic") + drift("premium")).isEqualTo(driftBefore);
+    }
+
+    @Test
+    @DisplayName("Reconciliation repairs aggregates that drifted from the deposits and counts the drift")
+    void summary_reconciliationRepairsDrift() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "student", 800.00, 31));
+        summaryService.reconcile();
+        double driftBefore = drift("basic");
+
+        // When - one plan is off and one no longer has deposits
+        jdbcTemplate.update("UPDATE plan_aggregates SET balance = 0 WHERE plan_type = 'basic'");
+        jdbcTemplate.update("INSERT INTO plan_aggregates VALUES ('legacy', 1, 10.00, 0)");
+
+        // Then
+        assertThat(summaryService.reconcile()).containsExactly("basic", "legacy");
+        assertThat(drift("basic") - driftBefore).isEqualTo(1.0);
+        assertThat(summaryService.reconcile()).isEmpty();
+        mockMvc.perform(get("/time-deposits/summary"))
+                .andExpect(jsonPath("$.depositCount", is(2)))
+                .andExpect(jsonPath("$.balance", is(2000.00)))
+                .andExpect(jsonPath("$.plans[*].planType", contains("basic", "student")));
+    }
+
+    @Test
+    @DisplayName("GET /interest-rules lists the compiled plans and POST /interest-rules/reload installs a new version")
+    void interestRules_listAndReload() throws Exception {
+        MvcResult current = mockMvc.perform(get("/interest-rules"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plans[*].planType", contains("basic", "student", "premium")))
+                .andExpect(jsonPath("$.plans[1].code", is(2)))
+                .andExpect(jsonPath("$.plans[1].maxDays", is(365)))
+                .andExpect(jsonPath("$.plans[0].maxDays", nullValue()))
+                .andReturn();
+        Number version = JsonPath.read(current.getResponse().getContentAsString(), "$.version");
+
+        mockMvc.perform(post("/interest-rules/reload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(version.intValue() + 1)))
+                .andExpect(jsonPath("$.plans", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("POST /snapshots/{name} exports the book and POST /snapshots/{name}/import restores it")
+    void snapshots_exportAndImport() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 1234.56, 46));
+        withdrawalRepository.save(new Withdrawal(2, new BigDecimal("100.05"), LocalDate.of(2024, 1, 15)));
+
+        mockMvc.perform(post("/snapshots/{name}", "book"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.depositCount", is(2)))
+                .andExpect(jsonPath("$.withdrawalCount", is(1)))
+                .andExpect(jsonPath("$.checksum", matchesPattern("[0-9a-f]{8}")));
+
+        // When - the book changes after the export
+        updateBalancesAndWait();
+        timeDepositRepository.save(new TimeDeposit(3, "student", 500.00, 10));
+        withdrawalRepository.deleteAll();
+
+        mockMvc.perform(post("/snapshots/{name}/import", "book"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depositCount", is(2)));
+
+        // Then
+        mockMvc.perform(get("/time-deposits"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[?(@.id == 1)].balance", contains(1200.00)))
+                .andExpect(jsonPath("$[?(@.id == 2)].balance", contains(1234.56)))
+                .andExpect(jsonPath("$[?(@.id == 2)].withdrawals[0].amount", contains(100.05)));
+        mockMvc.perform(get("/time-deposits/summary"))
+                .andExpect(jsonPath("$.depositCount", is(2)))
+                .andExpect(jsonPath("$.balance", is(2434.56)))
+                .andExpect(jsonPath("$.plans[*].planType", contains("basic", "premium")));
+        // New withdrawals are numbered after the imported ones
+        Integer imported = withdrawalRepository.findAll().get(0).getId();
+        Withdrawal added = withdrawalRepository.save(new Withdrawal(1, new BigDecimal("1.00"), LocalDate.of(2024, 2, 1)));
+        assertThat(added.getId()).isGreaterThan(imported);
+    }
+
+    @Test
+    @DisplayName("POST /snapshots/{name}/dry-run simulates interest runs without touching the database")
+    void snapshots_dryRun() throws Exception {
+        // Given
+        timeDepositRepository.save(new TimeDeposit(1, "basic", 1200.00, 31));
+        timeDepositRepository.save(new TimeDeposit(2, "premium", 1200.00, 10));
+        mockMvc.perform(post("/snapshots/{name}", "dry")).andExpect(status().isCreated());
+
+        // When / Then - premium starts accruing in month 3 (age 70)
+        mockMvc.perform(post("/snapshots/{name}/dry-run", "dry").param("months", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.depositCount", is(2)))
+                .andExpect(jsonPath("$.creditedCount", is(1)))
+                .andExpect(jsonPath("$.balance", is(2400.00)))
+                .andExpect(jsonPath("$.projectedBalance", is(2402.00)))
+                .andExpect(jsonPath("$.interest", is(2.00)));
+        assertThat(timeDepositRepository.findById(1).orElseThrow().getBalance()).isEqualTo(1200.00);
+    }
+
+    @Test
+    @DisplayName("Snapshot endpoints return 404 for unknown snapshots and 400 for invalid names")
+    void snapshots_invalidRequests() throws Exception {
+        mockMvc.perform(get("/snapshots/{name}", "missing"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/snapshots/{name}/import", "missing"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/snapshots/{name}", ".hidden"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /time-deposits/update-balances applies interest to basic plan")
     void updateBalances_basicPlan() throws Exception {
@@ -114,8 +840,7 @@ class TimeDepositControllerIntegrationTest {
         timeDepositRepository.save(deposit);
 
         // When
-        mockMvc.perform(post("/time-deposits/update-balances"))
-                .andExpect(status().isOk());
+        updateBalancesAndWait();
 
         // Then - 1200 * 0.01 / 12 = 1.00
         mockMvc.perform(get("/time-deposits"))
@@ -130,8 +855,7 @@ class TimeDepositControllerIntegrationTest {
         timeDepositRepository.save(deposit);
 
         // When
-        mockMvc.perform(post("/time-deposits/update-balances"))
-                .andExpect(status().isOk());
+        updateBalancesAndWait();
 
         // Then - 1200 * 0.03 / 12 = 3.00
         mockMvc.perform(get("/time-deposits"))
@@ -146,8 +870,7 @@ class TimeDepositControllerIntegrationTest {
         timeDepositRepository.save(deposit);
 
         // When
-        mockMvc.perform(post("/time-deposits/update-balances"))
-                .andExpect(status().isOk());
+        updateBalancesAndWait();
 
         // Then - 1200 * 0.05 / 12 = 5.00
         mockMvc.perform(get("/time-deposits"))
@@ -162,8 +885,7 @@ class TimeDepositControllerIntegrationTest {
         timeDepositRepository.save(deposit);
 
         // When
-        mockMvc.perform(post("/time-deposits/update-balances"))
-                .andExpect(status().isOk());
+        updateBalancesAndWait();
 
         // Then - no interest applied
         mockMvc.perform(get("/time-deposits"))
@@ -179,8 +901,7 @@ class TimeDepositControllerIntegrationTest {
         timeDepositRepository.save(new TimeDeposit(3, "premium", 1200.00, 46));
 
         // When
-        mockMvc.perform(post("/time-deposits/update-balances"))
-                .andExpect(status().isOk());
+        updateBalancesAndWait();
 
         // Then
         mockMvc.perform(get("/time-deposits"))
@@ -188,4 +909,56 @@ class TimeDepositControllerIntegrationTest {
                 .andExpect(jsonPath("$[?(@.id == 2)].balance", contains(1203.00)))
                 .andExpect(jsonPath("$[?(@.id == 3)].balance", contains(1205.00)));
     }
-}
\ No newline at end of file
+
+    private static Path createSnapshotDirectory() {
+        try {
+            return Files.createTempDirectory("snapshots");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private double drift(String planType) {
+        return meterRegistry.counter("portfolio.aggregates.drift", "plan", planType).count();
+    }
+
+    private void updateBalancesAndWait() throws Exception {
+        MvcResult accepted = mockMvc.perform(post("/time-deposits/update-balances"))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        Number jobId = JsonPath.read(accepted.getResponse().getContentAsString(), "$.jobId");
+        awaitCompletion(jobId.longValue());
+    }
+
+    private void awaitCompletion(long jobId) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            MvcResult result = mockMvc.perform(get("/time-deposits/update-balances/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String status = JsonPath.read(result.getResponse().getContentAsString(), "$.status");
+            if ("COMPLETED".equals(status)) {
+                awaitLockReleased(deadline);
+                return;
+            }
+            assertThat(status).isEqualTo("RUNNING");
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Interest run " + jobId + " did not complete in time");
+    }
+
+    /**
+     * The job releases the run lock just after committing its completion.
+     */
+    private void awaitLockReleased(long deadline) throws InterruptedException {
+        while (System.nanoTime() < deadline) {
+            Optional<InterestRunLock.Lease> lease = runLock.tryAcquire();
+            if (lease.isPresent()) {
+                lease.get().close();
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Interest run lock was not released in time");
+    }
+}
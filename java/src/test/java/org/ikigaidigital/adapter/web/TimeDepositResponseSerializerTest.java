@@ -0,0 +1,68 @@
+package org.ikigaidigital.adapter.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeDepositResponseSerializerTest {
+
+    private static final List<TimeDepositResponse> RESPONSES = List.of(
+            new TimeDepositResponse(1, "basic", 1000.5, 31, List.of(
+                    new WithdrawalResponse(10, new BigDecimal("12.34"), LocalDate.of(2024, 1, 15)),
+                    new WithdrawalResponse(11, new BigDecimal("0.5"), LocalDate.of(2024, 12, 31)))),
+            new TimeDepositResponse(2, "premium", 0.01, 0, List.of()),
+            new TimeDepositResponse(3, null, null, -1, null),
+            new TimeDepositResponse(4, "student", 12.5, 400, Arrays.asList(
+                    new WithdrawalResponse(null, null, null))));
+
+    /**
+     * Spring Boot's JSON defaults, with and without the serializer.
+     */
+    private static ObjectMapper mapper(boolean serializer) {
+        return mapper(new JsonFactory(), serializer);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory, boolean serializer) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (serializer) {
+            builder.serializerByType(TimeDepositResponse.class, new TimeDepositResponseSerializer());
+        }
+        return builder.build();
+    }
+
+    @Test
+    @DisplayName("JSON output is identical to the reflective bean serialization")
+    void sameJsonAsBeanSerialization() throws Exception {
+        assertThat(mapper(true).writeValueAsString(RESPONSES))
+                .isEqualTo(mapper(false).writeValueAsString(RESPONSES))
+                .contains("\"amount\":12.34,\"date\":\"2024-01-15\"");
+    }
+
+    @Test
+    @DisplayName("CBOR and Smile encode the same document in fewer bytes")
+    void binaryEncodings() throws Exception {
+        ObjectMapper json = mapper(false);
+        String expected = json.writeValueAsString(RESPONSES);
+
+        for (ObjectMapper binary : List.of(mapper(new CBORFactory(), true), mapper(new SmileFactory(), true))) {
+            byte[] encoded = binary.writeValueAsBytes(RESPONSES);
+
+            assertThat(json.writeValueAsString(binary.readTree(encoded))).isEqualTo(expected);
+            assertThat(encoded.length).isLessThan(expected.length());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.ikigaidigital.adapter.web;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * GET /time-deposits under load with virtual-thread request handling.
+ * Requires Java 21: {@code mvn test -Pload-test,java21}.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadListingLoadTest extends AbstractListingLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
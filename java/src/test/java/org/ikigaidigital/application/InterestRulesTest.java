@@ -0,0 +1,45 @@
+package org.ikigaidigital.application;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.domain.InterestPlan;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InterestRulesTest {
+
+    private static final InterestRuleTable.Definition GOLD =
+            new InterestRuleTable.Definition("gold", 0.12, 0, Integer.MAX_VALUE, InterestPlan.MONTHLY);
+
+    private final InterestRules rules = new InterestRules();
+
+    @Test
+    @DisplayName("Installing a table leaves earlier snapshots unchanged")
+    void hotReload() {
+        InterestRuleTable snapshot = rules.current();
+
+        rules.install(InterestRuleTable.compile(snapshot.version() + 1, List.of(GOLD)));
+
+        assertThat(rules.current().resolve("gold").getAnnualRate()).isEqualTo(0.12);
+        assertThat(rules.current().resolve("basic")).isEqualTo(InterestPlan.NONE);
+        assertThat(snapshot).isSameAs(InterestRuleTable.DEFAULT);
+        assertThat(snapshot.resolve("basic")).isEqualTo(InterestPlan.BASIC);
+        assertThat(snapshot.resolve("gold")).isEqualTo(InterestPlan.NONE);
+    }
+
+    @Test
+    @DisplayName("Installing a table does not change the default calculator")
+    void defaultCalculatorKeepsDefaultRules() {
+        rules.install(InterestRuleTable.compile(1, List.of(GOLD)));
+        List<TimeDeposit> deposits = List.of(new TimeDeposit(1, "basic", 1200.00, 31));
+
+        new TimeDepositCalculator().updateBalance(deposits);
+
+        assertThat(deposits.get(0).getBalance()).isEqualTo(1201.00);
+    }
+}
@@ -0,0 +1,473 @@
+package org.ikigaidigital.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.ikigaidigital.adapter.persistence.BalanceChangeOutbox;
+import org.ikigaidigital.adapter.persistence.BalanceWriter;
+import org.ikigaidigital.adapter.persistence.DepositBatchRepository;
+import org.ikigaidigital.adapter.persistence.InterestAccrualLedger;
+import org.ikigaidigital.adapter.persistence.InterestAccrualRepository;
+import org.ikigaidigital.adapter.persistence.InterestPlanDefinitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunPartitionRepository;
+import org.ikigaidigital.adapter.persistence.InterestRunRepository;
+import org.ikigaidigital.adapter.persistence.JdbcBatchBalanceWriter;
+import org.ikigaidigital.adapter.persistence.JpaBalanceWriter;
+import org.ikigaidigital.adapter.persistence.PlanAggregateRepository;
+import org.ikigaidigital.adapter.persistence.SetBasedBalanceWriter;
+import org.ikigaidigital.adapter.persistence.TimeDepositRepository;
+import org.ikigaidigital.adapter.persistence.WithdrawalRepository;
+import org.ikigaidigital.domain.InterestAccrual;
+import org.ikigaidigital.domain.InterestPlanDefinition;
+import org.ikigaidigital.domain.InterestRuleTable;
+import org.ikigaidigital.domain.InterestRun;
+import org.ikigaidigital.domain.InterestRunPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest(properties = "interest-run.chunk-size=2")
+@Testcontainers
+@ActiveProfiles("test")
+class InterestRunnerIntegrationTest {
+
+    private static final int STRESS_DEPOSITS = 200;
+
+    private static final int WITHDRAWERS = 4;
+
+    @SuppressWarnings("resource")
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private InterestRunner interestRunner;
+
+    @Autowired
+    private TimeDepositRepository timeDepositRepository;
+
+    @Autowired
+    private InterestRunRepository interestRunRepository;
+
+    @Autowired
+    private InterestRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private InterestAccrualRepository accrualRepository;
+
+    @Autowired
+    private InterestRunProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private InterestPlanDefinitionRepository planDefinitionRepository;
+
+    @Autowired
+    private InterestRuleService interestRuleService;
+
+    @Autowired
+    private InterestRules interestRules;
+
+    @Autowired
+    private TimeDepositService timeDepositService;
+
+    @Autowired
+    private WithdrawalRepository withdrawalRepository;
+
+    @Autowired
+    private DepositBatchRepository depositBatchRepository;
+
+    @Autowired
+    private InterestAccrualLedger accrualLedger;
+
+    @Autowired
+    private BalanceChangeOutbox changeOutbox;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeDepositResponseCache responseCache;
+
+    @Autowired
+    private InterestRunMetrics metrics;
+
+    @Autowired
+    private PlanAggregateRepository planAggregateRepository;
+
+    @BeforeEach
+    void setUp() {
+        properties.setParallelism(1);
+        accrualRepository.deleteAll();
+        partitionRepository.deleteAll();
+        interestRunRepository.deleteAll();
+        withdrawalRepository.deleteAll();
+        timeDepositRepository.deleteAll();
+        for (int id = 1; id <= 5; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1200.00, 31));
+        }
+    }
+
+    @AfterEach
+    void restoreRules() {
+        planDefinitionRepository.deleteAll();
+        interestRuleService.reload();
+    }
+
+    @Test
+    @DisplayName("Run processes every deposit across several chunks")
+    void runProcessesAllChunks() {
+        Long runId = interestRunner.run();
+
+        assertThat(timeDepositRepository.findAll())
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1201.00);
+
+        InterestRun run = interestRunRepository.findById(runId).orElseThrow();
+        assertThat(run.getStatus()).isEqualTo(InterestRun.Status.COMPLETED);
+        assertThat(run.getProcessedCount()).isEqualTo(5);
+        assertThat(run.getCompletedAt()).isNotNull();
+        assertThat(partitionRepository.findByRunIdOrderByPartitionIndex(runId))
+                .singleElement()
+                .satisfies(partition -> {
+                    assertThat(partition.getLastProcessedId()).isEqualTo(5);
+                    assertThat(partition.getStatus()).isEqualTo(InterestRun.Status.COMPLETED);
+                });
+    }
+
+    @Test
+    @DisplayName("Run records phase timings, deposits per plan and interest paid")
+    void runRecordsMetrics() {
+        timeDepositRepository.save(new TimeDeposit(6, "premium", 1200.00, 46));
+        double basicBefore = meterRegistry.counter("interest.run.deposits", "plan", "basic").count();
+        double premiumBefore = meterRegistry.counter("interest.run.deposits", "plan", "premium").count();
+        double interestBefore = meterRegistry.counter("interest.run.interest.paid").count();
+        long loadsBefore = meterRegistry.timer("interest.run.phase", "phase", "load").count();
+
+        interestRunner.run();
+
+        // 5 basic deposits earn 1.00 each, the premium deposit earns 5.00
+        assertThat(meterRegistry.counter("interest.run.deposits", "plan", "basic").count() - basicBefore)
+                .isEqualTo(5);
+        assertThat(meterRegistry.counter("interest.run.deposits", "plan", "premium").count() - premiumBefore)
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("interest.run.interest.paid").count() - interestBefore)
+                .isCloseTo(10.00, within(1e-9));
+        assertThat(meterRegistry.timer("interest.run.phase", "phase", "load").count() - loadsBefore)
+                .isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Parallel run splits the id space and matches a sequential run")
+    void parallelRunMatchesSequential() {
+        for (int id = 6; id <= 50; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, id % 2 == 0 ? "student" : "premium", 1000.00 + id, 20 + id * 7));
+        }
+        properties.setParallelism(4);
+
+        Long runId = interestRunner.run();
+
+        List<InterestRunPartition> partitions = partitionRepository.findByRunIdOrderByPartitionIndex(runId);
+        assertThat(partitions).hasSize(4)
+                .allSatisfy(partition -> assertThat(partition.getStatus()).isEqualTo(InterestRun.Status.COMPLETED));
+        assertThat(partitions.get(0).getStartAfterId()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(partitions.get(3).getEndId()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(interestRunRepository.findById(runId).orElseThrow().getProcessedCount()).isEqualTo(50);
+
+        List<TimeDeposit> expected = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            expected.add(new TimeDeposit(id, "basic", 1200.00, 31));
+        }
+        for (int id = 6; id <= 50; id++) {
+            expected.add(new TimeDeposit(id, id % 2 == 0 ? "student" : "premium", 1000.00 + id, 20 + id * 7));
+        }
+        new TimeDepositCalculator().updateBalance(expected);
+
+        assertThat(timeDepositRepository.findAll(Sort.by("id")))
+                .extracting(TimeDeposit::getBalance)
+                .containsExactlyElementsOf(expected.stream().map(TimeDeposit::getBalance).toList());
+    }
+
+    @Test
+    @DisplayName("Unfinished run resumes after its last committed id")
+    void unfinishedRunResumes() {
+        InterestRun crashed = interestRunRepository.save(new InterestRun(currentPeriod(), 5, Instant.now()));
+        InterestRunPartition partition = new InterestRunPartition(crashed.getId(), 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        partition.advance(3, 3);
+        partitionRepository.save(partition);
+
+        Long runId = interestRunner.run();
+
+        assertThat(runId).isEqualTo(crashed.getId());
+        assertThat(timeDepositRepository.findAllById(List.of(1, 2, 3)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1200.00);
+        assertThat(timeDepositRepository.findAllById(List.of(4, 5)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1201.00);
+        assertThat(interestRunRepository.findById(runId).orElseThrow().getProcessedCount()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Run records one accrual per deposit and a second run in the same period is a no-op")
+    void runIsIdempotentPerPeriod() {
+        Long runId = interestRunner.run();
+
+        assertThat(accrualRepository.countByRunId(runId)).isEqualTo(5);
+        assertThat(accrualRepository.findByTimeDepositIdOrderByPeriod(1))
+                .singleElement()
+                .satisfies(accrual -> {
+                    assertThat(accrual.getPeriod()).isEqualTo(currentPeriod());
+                    assertThat(accrual.getInterest()).isEqualByComparingTo("1.00");
+                });
+
+        Long secondRunId = interestRunner.run();
+
+        assertThat(secondRunId).isNotEqualTo(runId);
+        assertThat(interestRunRepository.findById(secondRunId).orElseThrow().getProcessedCount()).isZero();
+        assertThat(timeDepositRepository.findAll())
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1201.00);
+    }
+
+    @Test
+    @DisplayName("Run skips deposits that already accrued for the period")
+    void runSkipsAccruedDeposits() {
+        InterestRun earlier = interestRunRepository.save(new InterestRun(currentPeriod(), 5, Instant.now()));
+        for (int id = 1; id <= 3; id++) {
+            accrualRepository.save(new InterestAccrual(earlier.getId(), id, currentPeriod(),
+                    new BigDecimal("1.00"), Instant.now()));
+        }
+        earlier.complete(3, Instant.now());
+        interestRunRepository.save(earlier);
+
+        Long runId = interestRunner.run();
+
+        assertThat(interestRunRepository.findById(runId).orElseThrow().getProcessedCount()).isEqualTo(2);
+        assertThat(accrualRepository.countByRunId(runId)).isEqualTo(2);
+        assertThat(timeDepositRepository.findAllById(List.of(1, 2, 3)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1200.00);
+        assertThat(timeDepositRepository.findAllById(List.of(4, 5)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1201.00);
+    }
+
+    @Test
+    @DisplayName("A deposit accrued after its chunk loaded it is not credited again")
+    void runNeverCreditsTwice() {
+        InterestRun earlier = new InterestRun(currentPeriod(), 1, Instant.now());
+        earlier.complete(1, Instant.now());
+        interestRunRepository.save(earlier);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        BalanceWriter jdbcBatch = new JdbcBatchBalanceWriter(jdbcTemplate, entityManager);
+        AtomicBoolean seeded = new AtomicBoolean();
+        BalanceWriter racing = (deposits, interestCents) -> {
+            // another run accrues deposit 1 and commits while this chunk holds its stale read
+            if (seeded.compareAndSet(false, true)) {
+                concurrent.executeWithoutResult(status -> accrualRepository.save(new InterestAccrual(
+                        earlier.getId(), 1, currentPeriod(), new BigDecimal("1.00"), Instant.now())));
+            }
+            jdbcBatch.write(deposits, interestCents);
+        };
+
+        Long runId = runnerWith(racing, properties).run();
+
+        assertThat(interestRunRepository.findById(runId).orElseThrow().getProcessedCount()).isEqualTo(4);
+        assertThat(accrualRepository.countByRunId(runId)).isEqualTo(4);
+        assertThat(accrualRepository.findByTimeDepositIdOrderByPeriod(1)).singleElement()
+                .extracting(InterestAccrual::getRunId).isEqualTo(earlier.getId());
+        assertThat(timeDepositRepository.findById(1).orElseThrow().getBalance()).isEqualTo(1200.00);
+        assertThat(timeDepositRepository.findAllById(List.of(2, 3, 4, 5)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1201.00);
+    }
+
+    @Test
+    @DisplayName("Plans stored in the database replace the configured plans after a reload")
+    void runUsesReloadedRules() {
+        timeDepositRepository.save(new TimeDeposit(6, "gold", 1000.00, 1));
+        planDefinitionRepository.save(new InterestPlanDefinition("gold", 0.12, 0, null, 12));
+        long version = interestRuleService.current().version();
+
+        InterestRuleTable rules = interestRuleService.reload();
+        interestRunner.run();
+
+        assertThat(rules.version()).isEqualTo(version + 1);
+        assertThat(timeDepositRepository.findById(6).orElseThrow().getBalance()).isEqualTo(1010.00);
+        assertThat(timeDepositRepository.findAllById(List.of(1, 2, 3, 4, 5)))
+                .extracting(TimeDeposit::getBalance)
+                .containsOnly(1200.00);
+    }
+
+    @Test
+    @DisplayName("A failing partition stops the other workers before the run is marked failed")
+    void failedPartitionStopsWorkers() throws Exception {
+        for (int id = 6; id <= 50; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1200.00, 31));
+        }
+        InterestRunProperties parallel = new InterestRunProperties();
+        parallel.setChunkSize(properties.getChunkSize());
+        parallel.setParallelism(2);
+        BalanceWriter jdbcBatch = new JdbcBatchBalanceWriter(jdbcTemplate, entityManager);
+        AtomicInteger secondPartitionWrites = new AtomicInteger();
+        BalanceWriter failing = (deposits, interestCents) -> {
+            if (deposits.get(0).getId() == 1) {
+                throw new IllegalStateException("disk full");
+            }
+            // like any JDBC call, not interruptible
+            jdbcTemplate.execute("SELECT pg_sleep(0.1)");
+            jdbcBatch.write(deposits, interestCents);
+            secondPartitionWrites.incrementAndGet();
+        };
+
+        assertThatThrownBy(() -> runnerWith(failing, parallel).run())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("disk full");
+
+        // no worker writes after the run failed, and the second partition stopped early
+        int writes = secondPartitionWrites.get();
+        Thread.sleep(500);
+        assertThat(secondPartitionWrites).hasValue(writes);
+        assertThat(writes).isLessThan(12);
+        InterestRun run = interestRunRepository.findAll().get(0);
+        assertThat(run.getStatus()).isEqualTo(InterestRun.Status.FAILED);
+        assertThat(run.getProcessedCount()).isEqualTo(writes * 2L);
+        assertThat(accrualRepository.count()).isEqualTo(writes * 2L);
+    }
+
+    @Test
+    @DisplayName("Withdrawals committed during a run are never lost, with every balance writer and engine")
+    void concurrentWithdrawalsAreNotLost() throws Exception {
+        for (int id = 6; id <= STRESS_DEPOSITS; id++) {
+            timeDepositRepository.save(new TimeDeposit(id, "basic", 1200.00, 31));
+        }
+        properties.setParallelism(4);
+        InterestRunProperties columnar = new InterestRunProperties();
+        columnar.setChunkSize(properties.getChunkSize());
+        columnar.setParallelism(4);
+        columnar.setEngine(InterestRunProperties.Engine.COLUMNAR);
+
+        Map<String, InterestRunner> runners = new LinkedHashMap<>();
+        runners.put("jdbc-batch", interestRunner);
+        runners.put("set-based", runnerWith(new SetBasedBalanceWriter(new DepositBatchRepository(jdbcTemplate), entityManager), properties));
+        runners.put("jpa", runnerWith(new JpaBalanceWriter(timeDepositRepository), properties));
+        runners.put("columnar", runnerWith(new JdbcBatchBalanceWriter(jdbcTemplate, entityManager), columnar));
+
+        for (Map.Entry<String, InterestRunner> runner : runners.entrySet()) {
+            jdbcTemplate.execute(
+                    "TRUNCATE interest_accruals, interest_run_partitions, interest_runs, withdrawals");
+            jdbcTemplate.update("UPDATE time_deposits SET balance = 1200.00");
+            planAggregateRepository.rebuild();
+
+            ExecutorService withdrawers = Executors.newFixedThreadPool(WITHDRAWERS);
+            AtomicBoolean running = new AtomicBoolean(true);
+            CountDownLatch started = new CountDownLatch(WITHDRAWERS);
+            List<Future<Integer>> results = new ArrayList<>();
+            try {
+                for (int thread = 0; thread < WITHDRAWERS; thread++) {
+                    results.add(withdrawers.submit(() -> {
+                        int count = 0;
+                        do {
+                            int id = ThreadLocalRandom.current().nextInt(1, STRESS_DEPOSITS + 1);
+                            timeDepositService.withdraw(id, new BigDecimal("1.00"), null);
+                            if (count++ == 0) {
+                                started.countDown();
+                            }
+                        } while (running.get());
+                        return count;
+                    }));
+                }
+                assertThat(started.await(30, TimeUnit.SECONDS)).isTrue();
+                runner.getValue().run();
+            } finally {
+                running.set(false);
+                withdrawers.shutdown();
+            }
+            int withdrawals = 0;
+            for (Future<Integer> result : results) {
+                withdrawals += result.get(30, TimeUnit.SECONDS);
+            }
+
+            // Every balance is its start plus the interest the ledger recorded minus its withdrawals
+            Map<Integer, Long> expected = new HashMap<>();
+            accrualRepository.findAll().forEach(accrual -> expected.merge(accrual.getTimeDepositId(),
+                    accrual.getInterest().movePointRight(2).longValueExact(), Long::sum));
+            withdrawalRepository.findAll().forEach(withdrawal -> expected.merge(withdrawal.getTimeDepositId(),
+                    -withdrawal.getAmount().movePointRight(2).longValueExact(), Long::sum));
+            assertThat(withdrawalRepository.count()).as(runner.getKey()).isEqualTo(withdrawals);
+            assertThat(accrualRepository.count()).as(runner.getKey()).isEqualTo(STRESS_DEPOSITS);
+            assertThat(timeDepositRepository.findAll()).as(runner.getKey()).allSatisfy(deposit ->
+                    assertThat(deposit.getBalanceCents())
+                            .isEqualTo(120_000 + expected.getOrDefault(deposit.getId(), 0L)));
+            // and the plan aggregates kept up with both
+            assertThat(planAggregateRepository.findAll()).as(runner.getKey())
+                    .isEqualTo(planAggregateRepository.scan());
+        }
+    }
+
+    private InterestRunner runnerWith(BalanceWriter writer, InterestRunProperties runProperties) {
+        return new InterestRunner(timeDepositRepository, interestRunRepository, partitionRepository, writer,
+                depositBatchRepository, accrualLedger, changeOutbox, entityManager, transactionManager,
+                runProperties, interestRules, responseCache, metrics);
+    }
+
+    private static String currentPeriod() {
+        return YearMonth.now(ZoneOffset.UTC).toString();
+    }
+}
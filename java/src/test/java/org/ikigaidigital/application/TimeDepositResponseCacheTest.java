@@ -0,0 +1,100 @@
+package org.ikigaidigital.application;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.ikigaidigital.adapter.web.TimeDepositResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeDepositResponseCacheTest {
+
+    private final TimeDepositResponseCache cache = cache(Duration.ofMinutes(5));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("Loaded responses are served from the cache until evicted")
+    void cachesLoads() {
+        Function<Set<? extends Integer>, Map<Integer, TimeDepositResponse>> loader = loader(1200.0, null);
+
+        assertThat(cache.getAll(List.of(1, 2), loader)).extracting(TimeDepositResponse::getId).containsExactly(1, 2);
+        assertThat(cache.getAll(List.of(2, 1), loader)).extracting(TimeDepositResponse::getId).containsExactly(2, 1);
+        assertThat(loads).hasValue(1);
+
+        cache.evict(1);
+        cache.getAll(List.of(1, 2), loader);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A load that read a deposit before a change committed is not kept after the change's eviction")
+    void dropsLoadsOverlappingEviction() {
+        // Given - the change commits and evicts while the load is running
+        List<TimeDepositResponse> first = cache.getAll(List.of(1, 2), loader(1200.0, () -> cache.evict(1)));
+
+        // Then - the caller still gets what was read, but only the unchanged deposit stays cached
+        assertThat(first).extracting(TimeDepositResponse::getBalance).containsExactly(1200.0, 1200.0);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getAll(List.of(1, 2), loader(1100.0, null)))
+                .extracting(TimeDepositResponse::getBalance).containsExactly(1100.0, 1200.0);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Loads overlapping a chunk eviction or a full invalidation are not kept")
+    void dropsLoadsOverlappingBulkEviction() {
+        cache.getAll(List.of(1, 2), loader(1200.0, () -> cache.evictAll(List.of(2))));
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.getAll(List.of(3, 4), loader(1200.0, cache::invalidateAll));
+        assertThat(cache.size()).isZero();
+
+        cache.getAll(List.of(3, 4), loader(1200.0, null));
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Entries expire after the configured time even without an eviction")
+    void expiresEntries() {
+        TimeDepositResponseCache expiring = cache(Duration.ZERO);
+
+        expiring.getAll(List.of(1), loader(1200.0, null));
+        expiring.getAll(List.of(1), loader(1200.0, null));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * Returns a loader of responses with the given balance that runs
+     * {@code duringLoad}, if any, after reading them.
+     */
+    private Function<Set<? extends Integer>, Map<Integer, TimeDepositResponse>> loader(double balance,
+                                                                                      Runnable duringLoad) {
+        return ids -> {
+            loads.incrementAndGet();
+            Map<Integer, TimeDepositResponse> responses = new HashMap<>();
+            ids.forEach(id -> responses.put(id, new TimeDepositResponse(id, "basic", balance, 31, List.of())));
+            if (duringLoad != null) {
+                duringLoad.run();
+            }
+            return responses;
+        };
+    }
+
+    private static TimeDepositResponseCache cache(Duration expireAfterWrite) {
+        ListingCacheProperties properties = new ListingCacheProperties();
+        properties.setExpireAfterWrite(expireAfterWrite);
+        return new TimeDepositResponseCache(properties, new SimpleMeterRegistry(), Optional.empty());
+    }
+}
@@ -0,0 +1,224 @@
+package org.ikigaidigital.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Characterization tests proving that InterestEngine reproduces the original
+ * TimeDepositCalculator arithmetic bit for bit on randomized inputs.
+ */
+class InterestEngineTest {
+
+    private static final int SAMPLES = 1_000_000;
+
+    private static final String[] PLAN_TYPES = {"basic", "student", "premium", "unknown"};
+
+    /**
+     * The original per-deposit calculation, kept verbatim as the reference.
+     */
+    private static double legacyUpdate(String planType, double balance, int days) {
+        double interest = 0;
+
+        if (days > 30) {
+            if (planType.equals("student")) {
+                if (days < 366) {
+                    interest += balance * 0.03 / 12;
+                }
+            } else if (planType.equals("premium")) {
+                if (days > 45) {
+                    interest += balance * 0.05 / 12;
+                }
+            } else if (planType.equals("basic")) {
+                interest += balance * 0.01 / 12;
+            }
+        }
+
+        return balance + (new BigDecimal(interest).setScale(2, RoundingMode.HALF_UP)).doubleValue();
+    }
+
+    private static double legacyRound(double amount) {
+        return new BigDecimal(amount).setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static void assertSameBits(double actual, double expected, Object input) {
+        assertThat(Double.doubleToRawLongBits(actual))
+                .as("input %s: expected %s but was %s", input, expected, actual)
+                .isEqualTo(Double.doubleToRawLongBits(expected));
+    }
+
+    @Nested
+    @DisplayName("roundToCents matches BigDecimal HALF_UP rounding")
+    class RoundingTests {
+
+        @Test
+        @DisplayName("Random amounts across many magnitudes")
+        void randomAmounts() {
+            SplittableRandom random = new SplittableRandom(1);
+            for (int i = 0; i < SAMPLES; i++) {
+                double amount = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(-4, 12));
+                assertSameBits(InterestEngine.roundToCents(amount), legacyRound(amount), amount);
+            }
+        }
+
+        @Test
+        @DisplayName("Amounts on and next to half-cent boundaries")
+        void halfCentBoundaries() {
+            SplittableRandom random = new SplittableRandom(2);
+            for (int i = 0; i < SAMPLES; i++) {
+                double tie = (random.nextLong(0, 10_000_000_000L) * 10 + 5) / 1000.0;
+                for (double amount : new double[]{tie, Math.nextUp(tie), Math.nextDown(tie), -tie}) {
+                    assertSameBits(InterestEngine.roundToCents(amount), legacyRound(amount), amount);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Exactly representable ties round away from zero")
+        void exactTies() {
+            for (double amount : new double[]{0.125, 0.375, 0.625, 0.875, 1.005, 2.675, -0.125, 0.005}) {
+                assertSameBits(InterestEngine.roundToCents(amount), legacyRound(amount), amount);
+            }
+        }
+
+        @Test
+        @DisplayName("Zeros, tiny and very large amounts")
+        void specialValues() {
+            for (double amount : new double[]{0.0, -0.0, Double.MIN_VALUE, -Double.MIN_VALUE, 0.004999999,
+                    1e13, 9e13, 1e15, 1e300, -1e300, Double.MAX_VALUE}) {
+                assertSameBits(InterestEngine.roundToCents(amount), legacyRound(amount), amount);
+            }
+        }
+
+        @Test
+        @DisplayName("Non-finite amounts fail like BigDecimal")
+        void nonFinite() {
+            assertThatThrownBy(() -> InterestEngine.roundToCents(Double.NaN))
+                    .isInstanceOf(NumberFormatException.class);
+            assertThatThrownBy(() -> InterestEngine.roundToCents(Double.POSITIVE_INFINITY))
+                    .isInstanceOf(NumberFormatException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("applyMonthlyInterest matches the original calculator")
+    class MonthlyInterestTests {
+
+        @Test
+        @DisplayName("Random plans, ages and cent balances")
+        void randomCentBalances() {
+            SplittableRandom random = new SplittableRandom(3);
+            for (int i = 0; i < SAMPLES; i++) {
+                String planType = PLAN_TYPES[random.nextInt(PLAN_TYPES.length)];
+                double balance = random.nextLong(0, 100_000_000_000L) / 100.0;
+                int days = random.nextInt(0, 800);
+                assertMatchesLegacy(planType, balance, days);
+            }
+        }
+
+        @Test
+        @DisplayName("Random plans with arbitrary double balances")
+        void randomDoubleBalances() {
+            SplittableRandom random = new SplittableRandom(4);
+            for (int i = 0; i < SAMPLES; i++) {
+                String planType = PLAN_TYPES[random.nextInt(PLAN_TYPES.length)];
+                double balance = (random.nextDouble() - 0.1) * Math.pow(10, random.nextInt(0, 10));
+                int days = random.nextInt(-10, 800);
+                assertMatchesLegacy(planType, balance, days);
+            }
+        }
+
+        @Test
+        @DisplayName("Day thresholds of every plan")
+        void dayThresholds() {
+            for (String planType : PLAN_TYPES) {
+                for (int days : new int[]{0, 30, 31, 45, 46, 365, 366, Integer.MAX_VALUE}) {
+                    assertMatchesLegacy(planType, 1234.56, days);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Cent path matches the original calculator on cent balances")
+        void randomCents() {
+            SplittableRandom random = new SplittableRandom(6);
+            for (int i = 0; i < SAMPLES; i++) {
+                String planType = PLAN_TYPES[random.nextInt(PLAN_TYPES.length)];
+                long cents = random.nextLong(0, 100_000_000_000L);
+                int days = random.nextInt(0, 800);
+                long actual = InterestEngine.applyMonthlyInterestCents(InterestRuleTable.DEFAULT.resolve(planType), cents, days);
+                assertThat(actual)
+                        .as("input %s/%d/%d", planType, cents, days)
+                        .isEqualTo(Math.round(legacyUpdate(planType, cents / 100.0, days) * 100));
+            }
+        }
+
+        private void assertMatchesLegacy(String planType, double balance, int days) {
+            double actual = InterestEngine.applyMonthlyInterest(InterestRuleTable.DEFAULT.resolve(planType), balance, days);
+            assertSameBits(actual, legacyUpdate(planType, balance, days), planType + "/" + balance + "/" + days);
+        }
+    }
+
+    @Nested
+    @DisplayName("applyMonthlyInterest(DepositBatch, InterestRuleTable) matches the entity path in cents")
+    class DepositBatchTests {
+
+        @Test
+        @DisplayName("Random plans, ages and cent balances")
+        void randomBatch() {
+            SplittableRandom random = new SplittableRandom(5);
+            int size = 100_000;
+            DepositBatch batch = new DepositBatch(size);
+            double[] expected = new double[size];
+            for (int i = 0; i < size; i++) {
+                String planType = PLAN_TYPES[random.nextInt(PLAN_TYPES.length)];
+                long cents = random.nextLong(0, 100_000_000_000L);
+                int days = random.nextInt(0, 800);
+                batch.add(i, InterestRuleTable.DEFAULT.resolve(planType), days, cents);
+                expected[i] = legacyUpdate(planType, cents / 100.0, days);
+            }
+
+            InterestEngine.applyMonthlyInterest(batch, InterestRuleTable.DEFAULT);
+
+            for (int i = 0; i < size; i++) {
+                assertThat(batch.balanceCents(i)).as("deposit %d", i).isEqualTo(Math.round(expected[i] * 100));
+            }
+        }
+
+        @Test
+        @DisplayName("Batch keeps ids, plans and ages and rejects overflow")
+        void batchContents() {
+            DepositBatch batch = new DepositBatch(2);
+            batch.add(7, InterestPlan.PREMIUM, 46, 120_000);
+            batch.add(9, InterestPlan.BASIC, 10, 50_000);
+
+            InterestEngine.applyMonthlyInterest(batch, InterestRuleTable.DEFAULT);
+
+            assertThat(batch.size()).isEqualTo(2);
+            assertThat(batch.lastId()).isEqualTo(9);
+            assertThat(batch.planCode(0)).isEqualTo(InterestPlan.PREMIUM.code());
+            assertThat(batch.balanceCents(0)).isEqualTo(120_500);
+            assertThat(batch.balanceCents(1)).isEqualTo(50_000);
+            assertThatThrownBy(() -> batch.add(10, InterestPlan.BASIC, 31, 1))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Plan types resolve to their rules")
+    void planResolution() {
+        InterestRuleTable rules = InterestRuleTable.DEFAULT;
+        assertThat(rules.resolve("basic")).isEqualTo(InterestPlan.BASIC);
+        assertThat(rules.resolve("student")).isEqualTo(InterestPlan.STUDENT);
+        assertThat(rules.resolve("premium")).isEqualTo(InterestPlan.PREMIUM);
+        assertThat(rules.resolve("Premium")).isEqualTo(InterestPlan.NONE);
+        assertThat(rules.resolve(null)).isEqualTo(InterestPlan.NONE);
+    }
+}
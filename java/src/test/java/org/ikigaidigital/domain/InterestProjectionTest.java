@@ -0,0 +1,101 @@
+package org.ikigaidigital.domain;
+
+import org.ikigaidigital.TimeDeposit;
+import org.ikigaidigital.TimeDepositCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks projections against running the calculator month after month.
+ */
+class InterestProjectionTest {
+
+    private static final String[] PLAN_TYPES = {"basic", "student", "premium", "unknown"};
+
+    private final TimeDepositCalculator calculator = new TimeDepositCalculator(InterestRuleTable.DEFAULT);
+
+    /**
+     * Balances at the end of each month, applying the calculator and ageing the deposit by 30 days.
+     */
+    private long[] simulate(String planType, long balanceCents, int days, int months) {
+        long[] balances = new long[months];
+        for (int month = 0; month < months; month++) {
+            TimeDeposit deposit = new TimeDeposit(1, planType, 0.0, days + month * InterestProjection.DAYS_PER_MONTH);
+            deposit.setBalanceCents(month == 0 ? balanceCents : balances[month - 1]);
+            calculator.updateBalance(List.of(deposit));
+            balances[month] = deposit.getBalanceCents();
+        }
+        return balances;
+    }
+
+    @Test
+    @DisplayName("Projections match the month-by-month calculation on random deposits")
+    void matchesMonthlySimulation() {
+        SplittableRandom random = new SplittableRandom(16);
+        for (int i = 0; i < 20_000; i++) {
+            String planType = PLAN_TYPES[random.nextInt(PLAN_TYPES.length)];
+            long cents = random.nextLong(0, 10_000_000_000L);
+            int days = random.nextInt(0, 500);
+            int months = random.nextInt(1, 61);
+            InterestPlan plan = InterestRuleTable.DEFAULT.resolve(planType);
+
+            long[] expected = simulate(planType, cents, days, months);
+
+            assertThat(InterestProjection.scheduleCents(plan, cents, days, months))
+                    .as("%s, %d cents, %d days", planType, cents, days)
+                    .containsExactly(expected);
+            assertThat(InterestProjection.projectCents(plan, cents, days, months)).isEqualTo(expected[months - 1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Day windows become piecewise compounding")
+    void piecewiseWindows() {
+        // Student: starts accruing in month 2 (age 40) and stops after age 365 (month 12, age 340)
+        long[] student = InterestProjection.scheduleCents(InterestPlan.STUDENT, 120_000, 10, 24);
+        assertThat(student[0]).isEqualTo(120_000);
+        assertThat(student[1]).isEqualTo(120_300);
+        assertThat(student[11]).isGreaterThan(student[10]);
+        assertThat(student[12]).isEqualTo(student[11]);
+        assertThat(student[23]).isEqualTo(student[11]);
+
+        assertThat(InterestProjection.projectCents(InterestPlan.NONE, 120_000, 400, 60)).isEqualTo(120_000);
+        assertThat(InterestProjection.projectCents(InterestPlan.BASIC, 120_000, 31, 1)).isEqualTo(120_100);
+    }
+
+    @Test
+    @DisplayName("Batch projection matches single deposits")
+    void batchProjection() {
+        SplittableRandom random = new SplittableRandom(61);
+        DepositBatch batch = new DepositBatch(1000);
+        long[] expected = new long[batch.capacity()];
+        for (int i = 0; i < batch.capacity(); i++) {
+            InterestPlan plan = InterestRuleTable.DEFAULT.resolve(PLAN_TYPES[random.nextInt(PLAN_TYPES.length)]);
+            long cents = random.nextLong(0, 10_000_000_000L);
+            int days = random.nextInt(0, 500);
+            batch.add(i, plan, days, cents);
+            expected[i] = InterestProjection.projectCents(plan, cents, days, 60);
+        }
+
+        InterestProjection.project(batch, InterestRuleTable.DEFAULT, 60);
+
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(batch.balanceCents(i)).as("deposit %d", i).isEqualTo(expected[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Month counts outside 1..1200 are rejected")
+    void invalidMonths() {
+        assertThatThrownBy(() -> InterestProjection.projectCents(InterestPlan.BASIC, 100, 31, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InterestProjection.scheduleCents(InterestPlan.BASIC, 100, 31, 1201))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package org.ikigaidigital.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterestRuleTableTest {
+
+    private static final InterestRuleTable.Definition GOLD =
+            new InterestRuleTable.Definition("gold", 0.12, 0, Integer.MAX_VALUE, InterestPlan.MONTHLY);
+
+    @Test
+    @DisplayName("Compiling the default plans reproduces the built-in table")
+    void compileDefaults() {
+        InterestRuleTable table = InterestRuleTable.compile(1, InterestRuleTable.DEFAULT.plans().stream()
+                .map(InterestRuleTable.Definition::of)
+                .toList());
+
+        assertThat(table.plans()).containsExactlyElementsOf(InterestRuleTable.DEFAULT.plans());
+        assertThat(table.size()).isEqualTo(4);
+        assertThat(table.plan(0)).isEqualTo(InterestPlan.NONE);
+        assertThat(table.code("premium")).isEqualTo(InterestPlan.PREMIUM.code());
+        assertThat(table.resolve("gold")).isEqualTo(InterestPlan.NONE);
+    }
+
+    @Test
+    @DisplayName("New plans get their own code and apply in the batch kernel")
+    void customPlan() {
+        InterestRuleTable table = InterestRuleTable.compile(1, List.of(
+                GOLD,
+                new InterestRuleTable.Definition("quarterly", 0.04, 10, 400, 4)));
+        DepositBatch batch = new DepositBatch(3);
+        batch.add(1, table.resolve("gold"), 1, 100_000);
+        batch.add(2, table.resolve("quarterly"), 11, 100_000);
+        batch.add(3, table.resolve("basic"), 100, 100_000);
+
+        InterestEngine.applyMonthlyInterest(batch, table);
+
+        assertThat(batch.planCode(0)).isEqualTo((byte) 1);
+        assertThat(batch.planCode(2)).isEqualTo((byte) 0);
+        // 1000.00 * 0.12 / 12
+        assertThat(batch.balanceCents(0)).isEqualTo(101_000);
+        // 1000.00 * ((1 + 0.04 / 4)^(1 / 3) - 1) = 3.3223
+        assertThat(batch.balanceCents(1)).isEqualTo(100_332);
+        assertThat(batch.balanceCents(2)).isEqualTo(100_000);
+        assertThat(InterestEngine.applyMonthlyInterestCents(table.resolve("quarterly"), 100_000, 11))
+                .isEqualTo(100_332);
+    }
+
+    @Test
+    @DisplayName("Invalid plans are rejected")
+    void validation() {
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, List.of(GOLD, GOLD)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("defined twice");
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, List.of(
+                new InterestRuleTable.Definition(" ", 0.01, 0, 10, 12))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, List.of(
+                new InterestRuleTable.Definition("bad", Double.NaN, 0, 10, 12))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, List.of(
+                new InterestRuleTable.Definition("bad", 0.01, 20, 10, 12))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, List.of(
+                new InterestRuleTable.Definition("bad", 0.01, 0, 10, 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<InterestRuleTable.Definition> tooMany = new ArrayList<>();
+        for (int i = 0; i <= InterestRuleTable.MAX_PLANS; i++) {
+            tooMany.add(new InterestRuleTable.Definition("plan-" + i, 0.01, 0, 10, 12));
+        }
+        assertThatThrownBy(() -> InterestRuleTable.compile(1, tooMany))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
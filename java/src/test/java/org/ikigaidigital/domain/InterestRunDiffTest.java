@@ -0,0 +1,95 @@
+package org.ikigaidigital.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterestRunDiffTest {
+
+    private static final InterestRuleTable RULES = InterestRuleTable.DEFAULT;
+
+    @Test
+    @DisplayName("Totals, largest interest and credited counts are kept per plan")
+    void totalsPerPlan() {
+        DepositBatch batch = new DepositBatch(4);
+        batch.add(1, InterestPlan.BASIC, 31, 120_000);
+        batch.add(2, InterestPlan.BASIC, 10, 120_000);
+        batch.add(3, InterestPlan.PREMIUM, 46, 240_000);
+        batch.add(4, InterestPlan.NONE, 400, 50_000);
+        long[] before = {120_000, 120_000, 240_000, 50_000};
+        InterestEngine.applyMonthlyInterest(batch, RULES);
+
+        InterestRunDiff diff = new InterestRunDiff(RULES, 10);
+        diff.add(batch, before);
+
+        int basic = InterestPlan.BASIC.code();
+        assertThat(diff.depositCount(basic)).isEqualTo(2);
+        assertThat(diff.creditedCount(basic)).isEqualTo(1);
+        assertThat(diff.balanceCents(basic)).isEqualTo(240_000);
+        assertThat(diff.interestCents(basic)).isEqualTo(100);
+        assertThat(diff.largestInterestCents(InterestPlan.PREMIUM.code())).isEqualTo(1_000);
+        assertThat(diff.depositCount(InterestPlan.NONE.code())).isEqualTo(1);
+        assertThat(diff.depositCount()).isEqualTo(4);
+        assertThat(diff.creditedCount()).isEqualTo(2);
+        assertThat(diff.balanceCents()).isEqualTo(530_000);
+        assertThat(diff.interestCents()).isEqualTo(1_100);
+        assertThat(diff.largestChanges()).extracting(InterestRunDiff.Change::id).containsExactly(3, 1);
+    }
+
+    @Test
+    @DisplayName("The bounded heap keeps the same largest changes as sorting every change")
+    void largestChangesMatchFullSort() {
+        Random random = new Random(42);
+        InterestRunDiff diff = new InterestRunDiff(RULES, 25);
+        List<InterestRunDiff.Change> all = new ArrayList<>();
+        for (int id = 1; id <= 5_000; id++) {
+            long before = random.nextInt(1_000_000) - 10_000;
+            // Few distinct magnitudes, so ties are ordered by id
+            long after = before + (random.nextInt(41) - 20) * 5L;
+            diff.add(id, InterestPlan.BASIC.code(), 31, before, after);
+            if (after != before) {
+                all.add(new InterestRunDiff.Change(id, InterestPlan.BASIC.code(), 31, before, after));
+            }
+        }
+        all.sort(Comparator.comparingLong((InterestRunDiff.Change change) -> Math.abs(change.interestCents()))
+                .reversed()
+                .thenComparingInt(InterestRunDiff.Change::id));
+
+        assertThat(diff.largestChanges()).containsExactlyElementsOf(all.subList(0, 25));
+        assertThat(diff.creditedCount()).isEqualTo(all.size());
+        assertThat(new InterestRunDiff(RULES, 0).largestChanges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Crossings count balances that move across each threshold")
+    void thresholdCrossings() {
+        InterestRunDiff diff = new InterestRunDiff(RULES, 0, 100_000, 1_000, 100_000);
+        diff.add(1, InterestPlan.BASIC.code(), 31, 99_950, 100_000);
+        diff.add(2, InterestPlan.BASIC.code(), 31, 99_000, 99_500);
+        diff.add(3, InterestPlan.BASIC.code(), 31, 500, 1_500);
+        diff.add(4, InterestPlan.BASIC.code(), 31, 1_000, 1_001);
+        diff.add(5, InterestPlan.BASIC.code(), 31, 100_050, 99_990);
+
+        assertThat(diff.thresholdCents()).containsExactly(1_000, 100_000);
+        assertThat(diff.crossings(0)).isEqualTo(1);
+        assertThat(diff.crossings(1)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Out-of-range limits are rejected")
+    void limits() {
+        assertThatThrownBy(() -> new InterestRunDiff(RULES, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InterestRunDiff(RULES, InterestRunDiff.MAX_TOP + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InterestRunDiff(RULES, 1, new long[InterestRunDiff.MAX_THRESHOLDS + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
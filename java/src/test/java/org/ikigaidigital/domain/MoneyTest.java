@@ -0,0 +1,61 @@
+package org.ikigaidigital.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final MoneyConverter converter = new MoneyConverter();
+
+    @Test
+    @DisplayName("Decimal amounts round HALF_UP to cents")
+    void fromBigDecimal() {
+        assertThat(Money.of(new BigDecimal("1000.83")).cents()).isEqualTo(100_083);
+        assertThat(Money.of(new BigDecimal("0.005")).cents()).isEqualTo(1);
+        assertThat(Money.of(new BigDecimal("-0.005")).cents()).isEqualTo(-1);
+        assertThat(Money.of(new BigDecimal("12"))).isEqualTo(Money.ofCents(1200));
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e30")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Double amounts round their exact binary value HALF_UP to cents")
+    void fromDouble() {
+        assertThat(Money.of(1200.00).cents()).isEqualTo(120_000);
+        assertThat(Money.of(1000.83).cents()).isEqualTo(100_083);
+        // 1.005 is stored as 1.00499999999999989...
+        assertThat(Money.of(1.005).cents()).isEqualTo(100);
+        assertThat(Money.of(0.125).cents()).isEqualTo(13);
+        assertThat(Money.of(1.0e15).cents()).isEqualTo(100_000_000_000_000_000L);
+        assertThatThrownBy(() -> Money.of(Double.NaN))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Conversions to double and BigDecimal are exact to the cent")
+    void toEdgeTypes() {
+        Money money = Money.ofCents(100_083);
+
+        assertThat(money.toDouble()).isEqualTo(1000.83);
+        assertThat(money.toBigDecimal()).isEqualTo(new BigDecimal("1000.83"));
+        assertThat(money).hasToString("1000.83");
+        assertThat(money.plus(Money.ofCents(17))).isEqualTo(Money.ofCents(100_100));
+        assertThat(money.minus(money)).isSameAs(Money.ZERO);
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Converter maps to and from numeric(19,2) values")
+    void converter() {
+        assertThat(converter.convertToDatabaseColumn(Money.ofCents(-250))).isEqualTo(new BigDecimal("-2.50"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("1201.00"))).isEqualTo(Money.ofCents(120_100));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}